@@ -0,0 +1,36 @@
+package benchmark;
+
+/**
+ * Timing of one benchmark. Stored as JSON by {@link BenchmarkRunner}.
+ */
+public class BenchmarkResult {
+
+	public String name;
+
+	/**
+	 * Mean time per operation over the measurement iterations
+	 */
+	public double nanosPerOperation;
+
+	/**
+	 * Standard deviation of the time per operation between measurement iterations
+	 */
+	public double error;
+
+	public long operations;
+
+	public BenchmarkResult() {
+	}
+
+	public BenchmarkResult(String name, double nanosPerOperation, double error, long operations) {
+		this.name = name;
+		this.nanosPerOperation = nanosPerOperation;
+		this.error = error;
+		this.operations = operations;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%-45s %12.1f ns/op  +- %8.1f  (%d ops)", name, nanosPerOperation, error, operations);
+	}
+}
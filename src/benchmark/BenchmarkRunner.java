@@ -0,0 +1,180 @@
+package benchmark;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+/**
+ * Times {@link IBenchmark}s the way JMH does: warmup iterations that are thrown away,
+ * then measurement iterations of fixed duration, with every result consumed. Results
+ * are written as JSON and can be compared against the results of an earlier build.
+ */
+public class BenchmarkRunner {
+
+	public static final int DEFAULT_WARMUP_ITERATIONS = 5;
+	public static final int DEFAULT_MEASUREMENT_ITERATIONS = 10;
+	public static final long DEFAULT_ITERATION_NANOS = 200_000_000L;
+	public static final int BATCH_SIZE = 1000;
+
+	/**
+	 * Relative slowdown from the baseline reported as a regression
+	 */
+	public static final double DEFAULT_REGRESSION_THRESHOLD = 0.10;
+
+	protected int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+	protected int measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+	protected long iterationNanos = DEFAULT_ITERATION_NANOS;
+
+	/**
+	 * Receives the value of every operation so none can be eliminated as dead code
+	 */
+	private int sink;
+
+	public void setIterations(int warmupIterations, int measurementIterations, long iterationNanos) {
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.iterationNanos = iterationNanos;
+	}
+
+	public List<BenchmarkResult> run(List<IBenchmark> benchmarks) {
+		List<BenchmarkResult> results = new ArrayList<BenchmarkResult>();
+		for (IBenchmark benchmark : benchmarks) {
+			results.add(measure(benchmark));
+		}
+		return results;
+	}
+
+	public BenchmarkResult measure(IBenchmark benchmark) {
+		for (int i = 0; i < warmupIterations; i++) {
+			runIteration(benchmark, new long[1]);
+		}
+
+		double[] nanosPerOperation = new double[measurementIterations];
+		long operations = 0;
+		for (int i = 0; i < measurementIterations; i++) {
+			long[] iterationOperations = new long[1];
+			nanosPerOperation[i] = runIteration(benchmark, iterationOperations);
+			operations += iterationOperations[0];
+		}
+
+		double mean = Arrays.stream(nanosPerOperation).average().orElse(0);
+		double variance = Arrays.stream(nanosPerOperation).map(value -> (value - mean) * (value - mean)).sum() / Math.max(1, measurementIterations - 1);
+
+		return new BenchmarkResult(benchmark.getName(), mean, Math.sqrt(variance), operations);
+	}
+
+	/**
+	 * Runs prepared batches until the timed part reaches the iteration duration.
+	 *
+	 * @return time per operation in nanoseconds
+	 * @throws IllegalStateException if the benchmark prepares no operations
+	 */
+	private double runIteration(IBenchmark benchmark, long[] operations) {
+		long elapsed = 0;
+		long count = 0;
+
+		while (elapsed < iterationNanos) {
+			int prepared = benchmark.prepare(BATCH_SIZE);
+			if (prepared < 1) throw new IllegalStateException(benchmark.getName() + " prepared no operations");
+			int value = 0;
+
+			long start = System.nanoTime();
+			for (int i = 0; i < prepared; i++) {
+				value += benchmark.run(i);
+			}
+			elapsed += System.nanoTime() - start;
+
+			sink += value;
+			count += prepared;
+		}
+
+		operations[0] = count;
+		return (double) elapsed / count;
+	}
+
+	/**
+	 * @return value of all operations run, only exists so the results are used
+	 */
+	public int getSink() {
+		return sink;
+	}
+
+	public static void write(List<BenchmarkResult> results, File file) throws IOException {
+		Gson gson = new GsonBuilder().setPrettyPrinting().create();
+		try (Writer writer = new FileWriter(file)) {
+			gson.toJson(results.toArray(new BenchmarkResult[results.size()]), writer);
+		}
+	}
+
+	public static List<BenchmarkResult> read(File file) throws IOException {
+		Gson gson = new Gson();
+		try (Reader reader = new FileReader(file)) {
+			return Arrays.asList(gson.fromJson(reader, BenchmarkResult[].class));
+		}
+	}
+
+	/**
+	 * Lists the benchmarks that became slower than the baseline by more than the
+	 * threshold, beyond the error of both measurements.
+	 *
+	 * @param baseline results of an earlier build
+	 * @param current
+	 * @param threshold relative slowdown, e.g. 0.1 for 10%
+	 * @return a description of each regression
+	 */
+	public static List<String> findRegressions(List<BenchmarkResult> baseline, List<BenchmarkResult> current, double threshold) {
+		Map<String, BenchmarkResult> baselineByName = new HashMap<String, BenchmarkResult>();
+		for (BenchmarkResult result : baseline) {
+			baselineByName.put(result.name, result);
+		}
+
+		List<String> regressions = new ArrayList<String>();
+		for (BenchmarkResult result : current) {
+			BenchmarkResult previous = baselineByName.get(result.name);
+			if (previous == null) continue;
+
+			double slowdown = result.nanosPerOperation - previous.nanosPerOperation;
+			if (slowdown > previous.nanosPerOperation * threshold && slowdown > result.error + previous.error) {
+				regressions.add(String.format("%s: %.1f ns/op -> %.1f ns/op (+%.0f%%)", result.name,
+						previous.nanosPerOperation, result.nanosPerOperation, 100 * slowdown / previous.nanosPerOperation));
+			}
+		}
+		return regressions;
+	}
+
+	/**
+	 * Runs all engine benchmarks from the command line:
+	 * <code>BenchmarkRunner [results file] [baseline file]</code>. Results are written
+	 * to the results file (default benchmark-results.json). If a baseline file from an
+	 * earlier build is given, regressions are printed and the exit code is 1.
+	 *
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		File resultsFile = new File(args.length > 0 ? args[0] : "benchmark-results.json");
+		File baselineFile = args.length > 1 ? new File(args[1]) : null;
+
+		BenchmarkRunner runner = new BenchmarkRunner();
+		List<BenchmarkResult> results = runner.run(EngineBenchmarks.all());
+		results.forEach(System.out::println);
+		write(results, resultsFile);
+
+		if (baselineFile != null) {
+			List<String> regressions = findRegressions(read(baselineFile), results, DEFAULT_REGRESSION_THRESHOLD);
+			regressions.forEach(regression -> System.out.println("REGRESSION " + regression));
+			if (!regressions.isEmpty()) System.exit(1);
+		}
+	}
+}
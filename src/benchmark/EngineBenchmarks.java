@@ -0,0 +1,296 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import controller.EndGameChecker;
+import controller.IdiotGameEngine;
+import controller.MoveExecutor;
+import controller.record.GameRecord;
+import controller.record.GameRecorder;
+import controller.record.GameReplayer;
+import controller.simulation.GameSimulator;
+import controller.simulation.IBotPolicy;
+import controller.simulation.LowestCardBotPolicy;
+import controller.simulation.RandomBotPolicy;
+import controller.simulation.SimulationReport;
+import controller.validators.MoveValidator;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.PlayerZone;
+import model.card.Card;
+import model.card.CardDeck;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveUndo;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Benchmarks of the engine's hot paths: move validation for every move type, move
+ * execution including both ways of burning the pile, making and unmaking moves, the
+ * end game check, dealing a deck, complete games between random bots and replaying a
+ * recorded game.
+ */
+public final class EngineBenchmarks {
+
+	static final IdiotGameConfiguration config = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	private EngineBenchmarks() {
+	}
+
+	public static List<IBenchmark> all() {
+		return Arrays.asList(
+				validate("MoveValidator.TakePileMove", new TakePileMove("pile", "hand")),
+				validate("MoveValidator.PlayTopOfDeck", new PlayTopOfDeck("drawCards", "pile")),
+				validate("MoveValidator.PlayOneCardMove", new PlayOneCardMove("p1Hand", "pile", GameCard.of("9H"))),
+				validate("MoveValidator.PlayMultipleCardsMove", new PlayMultipleCardsMove("p1Hand", "pile", Arrays.<Card>asList(GameCard.of("7C"), GameCard.of("7S")))),
+				execute("MoveExecutor.PlayOneCardMove", "7C 7S 9H KC", "3C 4D", new PlayOneCardMove("p1Hand", "pile", GameCard.of("9H"))),
+				execute("MoveExecutor.PlayOneCardMove.burnCard", "7C 10S 9H", "3C 4D", new PlayOneCardMove("p1Hand", "pile", GameCard.of("10S"))),
+				execute("MoveExecutor.PlayOneCardMove.fourOfAKind", "7D 9H KC", "3C 7C 7S 7H", new PlayOneCardMove("p1Hand", "pile", GameCard.of("7D"))),
+				execute("MoveExecutor.PlayTopOfDeck", "7C 9H KC", "3C 4D", new PlayTopOfDeck("drawCards", "pile")),
+				execute("MoveExecutor.TakePileMove", "7C 9H KC", "3C 4D 8S JD", new TakePileMove("pile", "hand")),
+				makeAndUndo("MoveExecutor.makeMove+undoMove.PlayOneCardMove", "7C 7S 9H KC", "3C 4D", new PlayOneCardMove("p1Hand", "pile", GameCard.of("9H"))),
+				makeAndUndo("MoveExecutor.makeMove+undoMove.burnCard", "7C 10S 9H", "3C 4D", new PlayOneCardMove("p1Hand", "pile", GameCard.of("10S"))),
+				endGameCheck(),
+				createAndShuffleDeck(),
+				randomGame(),
+				replay());
+	}
+
+	static IBenchmark validate(String name, Move move) {
+		MoveValidator validator = new MoveValidator();
+		validator.setState(createState("7C 7S 9H KC", "3C 4D"));
+		validator.setConfig(config);
+
+		return new Benchmark(name) {
+			@Override
+			public int run(int index) {
+				return validator.IsValidMove(move).Success ? 1 : 0;
+			}
+		};
+	}
+
+	/**
+	 * Executing changes the state, so every operation gets its own copy of the state.
+	 */
+	static IBenchmark execute(String name, String player1Hand, String pile, Move move) {
+		IdiotGameState template = createState(player1Hand, pile);
+		EndGameChecker endGameChecker = new EndGameChecker();
+		MoveExecutor executor = new MoveExecutor(endGameChecker);
+		executor.setConfig(config);
+
+		return new Benchmark(name) {
+			IdiotGameState[] states = new IdiotGameState[0];
+
+			@Override
+			public int prepare(int batchSize) {
+				if (states.length != batchSize) states = new IdiotGameState[batchSize];
+				for (int i = 0; i < batchSize; i++) {
+					states[i] = copyOf(template);
+				}
+				return batchSize;
+			}
+
+			@Override
+			public int run(int index) {
+				endGameChecker.setState(states[index]);
+				executor.setState(states[index]);
+				return executor.executeMove(move).isSuccess() ? 1 : 0;
+			}
+		};
+	}
+
+	/**
+	 * Unmaking the move restores the state, so one state serves every operation.
+	 */
+	static IBenchmark makeAndUndo(String name, String player1Hand, String pile, Move move) {
+		IdiotGameState state = createState(player1Hand, pile);
+		EndGameChecker endGameChecker = new EndGameChecker();
+		endGameChecker.setState(state);
+		MoveExecutor executor = new MoveExecutor(endGameChecker);
+		executor.setConfig(config);
+		executor.setState(state);
+		MoveUndo undo = new MoveUndo();
+
+		return new Benchmark(name) {
+			@Override
+			public int run(int index) {
+				executor.makeMove(move, undo);
+				executor.undoMove(undo);
+				return undo.result.isSuccess() ? 1 : 0;
+			}
+		};
+	}
+
+	static IBenchmark endGameCheck() {
+		EndGameChecker endGameChecker = new EndGameChecker();
+		endGameChecker.setState(createState("7C 7S 9H KC", "3C 4D"));
+
+		return new Benchmark("EndGameChecker.endGameConditionReached") {
+			@Override
+			public int run(int index) {
+				return endGameChecker.endGameConditionReached() ? 1 : 0;
+			}
+		};
+	}
+
+	static IBenchmark createAndShuffleDeck() {
+		return new Benchmark("CardDeck.createGameCardDeck+shuffle") {
+			@Override
+			public int run(int index) {
+				CardDeck deck = CardDeck.createGameCardDeck();
+				deck.shuffle();
+				return deck.getTopCard().getOrdinal();
+			}
+		};
+	}
+
+	static IBenchmark randomGame() {
+		List<IBotPolicy> policies = Arrays.<IBotPolicy>asList(new RandomBotPolicy(), new RandomBotPolicy());
+		GameSimulator simulator = new GameSimulator(policies);
+		IdiotGameEngine engine = GameSimulator.createEngine();
+
+		return new Benchmark("GameSimulator.playGame.random") {
+			@Override
+			public int prepare(int batchSize) {
+				return 1;
+			}
+
+			@Override
+			public int run(int index) {
+				SimulationReport report = new SimulationReport(config, policies.size());
+				simulator.playGame(engine, () -> config, report);
+				return (int) report.getGamesPlayed();
+			}
+		};
+	}
+
+	/**
+	 * Replays a recorded game between greedy bots, including the swaps before play.
+	 */
+	static IBenchmark replay() {
+		GameRecorder recorder = new GameRecorder(GameSimulator.createEngine());
+		new GameSimulator(Arrays.<IBotPolicy>asList(new LowestCardBotPolicy(), new LowestCardBotPolicy()))
+				.playGame(recorder, () -> config, new SimulationReport(config, 2), new Random(1));
+		GameRecord record = recorder.getRecord();
+		GameReplayer replayer = new GameReplayer();
+
+		return new Benchmark("GameReplayer.replay") {
+			@Override
+			public int prepare(int batchSize) {
+				return 1;
+			}
+
+			@Override
+			public int run(int index) {
+				return replayer.replay(record) > 0 ? 1 : 0;
+			}
+		};
+	}
+
+	/**
+	 * Creates a two player state in play where player 1 is to move, holding the given
+	 * hand over the given pile. Both players have two cards on each table stack and the
+	 * rest of the deck is left to draw.
+	 *
+	 * @param player1Hand space separated short card ids
+	 * @param pile space separated short card ids, bottom card first
+	 * @return
+	 */
+	static IdiotGameState createState(String player1Hand, String pile) {
+		CardDeck deck = CardDeck.createGameCardDeck();
+		IdiotGameState state = new IdiotGameState(2);
+		state.idDrawCards = "drawCards";
+		state.idPile = "pile";
+		state.idDiscardedCards = "discardedCards";
+
+		state.PlayerPlaces.get(0).hand = take(deck, player1Hand.split(" "));
+		state.pile = take(deck, pile.split(" "));
+
+		for (PlayerZone place : state.PlayerPlaces) {
+			place.initializePileIDs();
+			place.tableCards1 = take(deck, 2);
+			place.tableCards2 = take(deck, 2);
+			place.tableCards3 = take(deck, 2);
+		}
+		state.PlayerPlaces.get(1).hand = take(deck, 3);
+
+		state.drawCards = new ArrayList<Card>(deck.getCards());
+		state.CurrentGamePhase = IdiotGameState.GamePhases.GamePlay;
+		state.currentPlayerTurn = 1;
+		return state;
+	}
+
+	/**
+	 * Copies the card lists of a state; the cards themselves are shared.
+	 */
+	static IdiotGameState copyOf(IdiotGameState template) {
+		IdiotGameState state = new IdiotGameState(template.PlayerPlaces.size());
+		state.idDrawCards = template.idDrawCards;
+		state.idPile = template.idPile;
+		state.idDiscardedCards = template.idDiscardedCards;
+		state.drawCards = new ArrayList<Card>(template.drawCards);
+		state.pile = new ArrayList<Card>(template.pile);
+		state.discardedCards = new ArrayList<Card>(template.discardedCards);
+
+		for (int i = 0; i < template.PlayerPlaces.size(); i++) {
+			PlayerZone from = template.PlayerPlaces.get(i);
+			PlayerZone to = state.PlayerPlaces.get(i);
+			to.initializePileIDs();
+			to.hand = new ArrayList<Card>(from.hand);
+			to.tableCards1 = new ArrayList<Card>(from.tableCards1);
+			to.tableCards2 = new ArrayList<Card>(from.tableCards2);
+			to.tableCards3 = new ArrayList<Card>(from.tableCards3);
+		}
+
+		state.CurrentGamePhase = template.CurrentGamePhase;
+		state.currentPlayerTurn = template.currentPlayerTurn;
+		return state;
+	}
+
+	private static List<Card> take(CardDeck deck, String[] ids) {
+		List<Card> cards = new ArrayList<Card>();
+		for (String id : ids) {
+			Card card = deck.getById(id);
+			deck.getCards().remove(card);
+			cards.add(card);
+		}
+		return cards;
+	}
+
+	private static List<Card> take(CardDeck deck, int count) {
+		List<Card> cards = new ArrayList<Card>();
+		for (int i = 0; i < count; i++) {
+			cards.add(deck.getCards().remove(0));
+		}
+		return cards;
+	}
+
+	/**
+	 * Benchmark whose operations need no preparation.
+	 */
+	private static abstract class Benchmark implements IBenchmark {
+
+		private final String name;
+
+		Benchmark(String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String getName() {
+			return name;
+		}
+
+		@Override
+		public int prepare(int batchSize) {
+			return batchSize;
+		}
+	}
+}
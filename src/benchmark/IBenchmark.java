@@ -0,0 +1,27 @@
+package benchmark;
+
+/**
+ * One operation to be timed by {@link BenchmarkRunner}. Operations that change state
+ * work on a batch of inputs prepared up front, so preparing is never timed.
+ */
+public interface IBenchmark {
+
+	String getName();
+
+	/**
+	 * Prepares inputs for up to batchSize operations. Not timed.
+	 *
+	 * @param batchSize
+	 * @return number of operations prepared, at least one
+	 */
+	int prepare(int batchSize);
+
+	/**
+	 * Runs one prepared operation.
+	 *
+	 * @param index index of the operation in the prepared batch
+	 * @return any value derived from the operation, consumed by the runner so the
+	 *         work cannot be optimized away
+	 */
+	int run(int index);
+}
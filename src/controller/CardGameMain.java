@@ -122,7 +122,8 @@ public class CardGameMain extends Application {
 
 		mouseUtility = new InputManager(gameEngine, gameBoard, statusBar);
 		gameBoard.setInputManager(mouseUtility);
-		gameEngine.initializeNewGame(2, new RuleConfigurationLoader("/configurationfiles/idiotRules.json"));
+		gameEngine.addStateChangeListener(gameBoard);
+		gameEngine.initializeNewGame(gameBoard.getNumberOfPlayers(), new RuleConfigurationLoader("/configurationfiles/idiotRules.json"));
 		gameBoard.updateCurrentState(gameEngine.getCurrentGameState());
 		gameBoard.drawDeck();
 		gameBoard.setupGameBoard();
@@ -140,40 +141,33 @@ public class CardGameMain extends Application {
 	private void setReadyButtonEventHandlers() {
 
 		/**
-		 * Hide ready button when clicked and start game if other player is
-		 * ready
+		 * Hide ready button when clicked and pass swapping on to the next
+		 * player, or start the game once the last player is ready
 		 */
-		gameBoard.getP1_ReadyButton().setOnMouseClicked(
-				new EventHandler<Event>() {
-					@Override
-					public void handle(Event e) {
-						gameBoard.setButtonVisibility(
-								gameBoard.getP1_ReadyButton(), false);
-						gameBoard.setButtonVisibility(
-								gameBoard.getP2_ReadyButton(), true);
-						gameEngine.playerOneDoneSwapping();
-						gameBoard.setActivePlayer(2);
-
-					}
-				});
-
-		/**
-		 * Hide ready button when clicked and start game if other player is
-		 * ready
-		 */
-		gameBoard.getP2_ReadyButton().setOnMouseClicked(
-				new EventHandler<Event>() {
-					@Override
-					public void handle(Event e) {
-						gameBoard.setButtonVisibility(
-								gameBoard.getP2_ReadyButton(), false);
-						gameBoard.setActivePlayer(1);
-
-						mouseUtility.makeClickable(gameBoard.getDeckView()
-								.getTopCardView());
-						gameEngine.beginPlay();
-					}
-				});
+		for (int player = 1; player <= gameBoard.getNumberOfPlayers(); player++) {
+			final int playerNumber = player;
+			gameBoard.getReadyButton(playerNumber).setOnMouseClicked(
+					new EventHandler<Event>() {
+						@Override
+						public void handle(Event e) {
+							gameBoard.setButtonVisibility(
+									gameBoard.getReadyButton(playerNumber), false);
+
+							if (playerNumber < gameBoard.getNumberOfPlayers()) {
+								gameBoard.setButtonVisibility(
+										gameBoard.getReadyButton(playerNumber + 1), true);
+								gameEngine.playerDoneSwapping(playerNumber);
+								gameBoard.setActivePlayer(playerNumber + 1);
+							} else {
+								gameBoard.setActivePlayer(1);
+
+								mouseUtility.makeClickable(gameBoard.getDeckView()
+										.getTopCardView());
+								gameEngine.beginPlay();
+							}
+						}
+					});
+		}
 	}
 
 	public InputManager getMouseUtility() {
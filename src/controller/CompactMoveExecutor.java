@@ -0,0 +1,176 @@
+package controller;
+
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.PlayabilityTable;
+
+/**
+ * Plays moves on a {@link CompactGameState} with the same outcome as {@link MoveExecutor}
+ * has on the equivalent {@link model.IdiotGameState}. Moves are expected to have been
+ * validated first. Nothing is allocated while executing.
+ */
+public class CompactMoveExecutor {
+
+	protected IdiotGameConfiguration config;
+	protected PlayabilityTable playability;
+
+	/**
+	 * Moves the whole pile into the current player's hand.
+	 *
+	 * @param state
+	 * @return true if the game has ended
+	 */
+	public boolean takePile(CompactGameState state) {
+		if (state.pileCount > 0) movePileToHand(state);
+
+		return finishTurn(state, false);
+	}
+
+	/**
+	 * Plays the top card of the draw pile, or picks up the pile along with it if the card
+	 * cannot be played.
+	 *
+	 * @param state
+	 * @return true if the game has ended
+	 */
+	public boolean playTopOfDeck(CompactGameState state) {
+		boolean skipAdvanceTurn = false;
+
+		if (state.drawCount > 0) {
+			int card = state.drawCards[--state.drawCount];
+
+			if (state.pileCount == 0) {
+				state.pile[state.pileCount++] = (byte) card;
+				skipAdvanceTurn = burnIfTopIsBurnCard(state);
+			}
+			else if (cardCanBePlayedOnPile(CompactGameState.rankOf(card), CompactGameState.rankOf(state.pileTop()))) {
+				state.pile[state.pileCount++] = (byte) card;
+				skipAdvanceTurn = burnIfTopIsBurnCard(state);
+				skipAdvanceTurn = burnIfTopFourPileCardsAreSameRank(state);
+			}
+			else {
+				state.hands[state.currentPlayerTurn - 1] |= 1L << card;
+				movePileToHand(state);
+			}
+		}
+
+		return finishTurn(state, skipAdvanceTurn);
+	}
+
+	/**
+	 * Plays one or more cards of the same rank from the current player's hand or face up
+	 * table cards. Cards are placed on the pile in ascending ordinal order.
+	 *
+	 * @param state
+	 * @param cards mask of card ordinals
+	 * @return true if the game has ended
+	 */
+	public boolean playCards(CompactGameState state, long cards) {
+		if (state.pileCount > 0 && !cardCanBePlayedOnPile(CompactGameState.rankOf(Long.numberOfTrailingZeros(cards)), CompactGameState.rankOf(state.pileTop())))
+			throw new IllegalStateException("Validator should have prevented an invalid pile card play from occurring.");
+
+		int player = state.currentPlayerTurn;
+
+		for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+			int card = Long.numberOfTrailingZeros(remaining);
+			state.pile[state.pileCount++] = (byte) card;
+			state.hands[player - 1] &= ~(1L << card);
+			removeFromTableStacks(state, player, card);
+		}
+
+		boolean skipAdvanceTurn = burnIfTopIsBurnCard(state);
+		skipAdvanceTurn = burnIfTopFourPileCardsAreSameRank(state);
+		drawUpToThreeCards(state, player);
+
+		return finishTurn(state, skipAdvanceTurn);
+	}
+
+	/**
+	 * Plays a single card, see {@link #playCards(CompactGameState, long)}.
+	 */
+	public boolean playCard(CompactGameState state, int card) {
+		return playCards(state, 1L << card);
+	}
+
+	private boolean finishTurn(CompactGameState state, boolean skipAdvanceTurn) {
+		int player = state.currentPlayerTurn;
+
+		if (state.drawCount == 0 && state.hands[player - 1] == 0 && state.tableStacksEmpty(player)) return true;
+
+		if (!skipAdvanceTurn) advancePlayerTurn(state);
+		return false;
+	}
+
+	private boolean cardCanBePlayedOnPile(int candidateCardRank, int topOfPileCardRank) {
+		return playability.canPlay(candidateCardRank, topOfPileCardRank);
+	}
+
+	private void movePileToHand(CompactGameState state) {
+		long hand = state.hands[state.currentPlayerTurn - 1];
+		for (int i = 0; i < state.pileCount; i++) {
+			hand |= 1L << state.pile[i];
+		}
+		state.hands[state.currentPlayerTurn - 1] = hand;
+		state.pileCount = 0;
+	}
+
+	private void discardPile(CompactGameState state) {
+		for (int i = 0; i < state.pileCount; i++) {
+			state.discardedCards |= 1L << state.pile[i];
+		}
+		state.pileCount = 0;
+	}
+
+	private boolean burnIfTopIsBurnCard(CompactGameState state) {
+		if (CompactGameState.rankOf(state.pileTop()) == config.burnCard.ordinal()) {
+			discardPile(state);
+			return true;
+		}
+		return false;
+	}
+
+	private boolean burnIfTopFourPileCardsAreSameRank(CompactGameState state) {
+		int count = state.pileCount;
+		if (count >= 4) {
+			int topCardRank = CompactGameState.rankOf(state.pile[count - 1]);
+			if (topCardRank == CompactGameState.rankOf(state.pile[count - 2])
+					&& topCardRank == CompactGameState.rankOf(state.pile[count - 3])
+					&& topCardRank == CompactGameState.rankOf(state.pile[count - 4])) {
+				discardPile(state);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void removeFromTableStacks(CompactGameState state, int player, int card) {
+		for (int stack = 1; stack <= CompactGameState.TABLE_STACKS; stack++) {
+			int index = CompactGameState.stackIndex(player, stack);
+			int base = index * CompactGameState.TABLE_STACK_CAPACITY;
+			int count = state.tableCounts[index];
+
+			for (int i = 0; i < count; i++) {
+				if (state.tableCards[base + i] == card) {
+					System.arraycopy(state.tableCards, base + i + 1, state.tableCards, base + i, count - i - 1);
+					state.tableCounts[index]--;
+					break;
+				}
+			}
+		}
+	}
+
+	private void drawUpToThreeCards(CompactGameState state, int player) {
+		while (Long.bitCount(state.hands[player - 1]) < 3 && state.drawCount > 0) {
+			state.hands[player - 1] |= 1L << state.drawCards[--state.drawCount];
+		}
+	}
+
+	private void advancePlayerTurn(CompactGameState state) {
+		TurnScheduler.advance(state);
+	}
+
+	public void setConfig(IdiotGameConfiguration config) {
+		this.config = config;
+		this.playability = config.getPlayability();
+	}
+}
@@ -0,0 +1,12 @@
+package controller;
+
+import model.move.GameStateChange;
+
+/**
+ * Notified by the game engine after each move or table card swap that changed
+ * the game state.
+ */
+public interface IGameStateChangeListener {
+
+	void stateChanged(GameStateChange change);
+}
@@ -1,6 +1,7 @@
 package controller;
 
 import java.util.List;
+import java.util.Random;
 
 import model.*;
 import model.card.Card;
@@ -10,18 +11,27 @@ import model.move.MoveResult;
 public interface IIdiotGameEngine {
 
 	/***
-	 * Returns an immutable copy of the current game state with the values of face down cards hidden
+	 * Returns an immutable snapshot of the current game state with the values of face down cards hidden.
+	 * The same snapshot is returned until the state changes, and it may be read from any thread.
 	 * @return
 	 */
 	
 	IdiotGameStateFacade getCurrentGameState();
 	
 	/**
-	 * Invoked to request a new game be started, shuffle deck, and distribute cards. 
+	 * Invoked to request a new game be started, shuffle deck, and distribute cards. Throws
+	 * IllegalArgumentException for fewer than two players or more than one deck can deal to.
 	 */
 	
 	void initializeNewGame(int numberOfPlayers, IRuleConfigurationLoader configLoader);
 	
+	/**
+	 * Sets the random number generator used to shuffle the deck of new games. A seeded
+	 * generator deals the same games every time; null uses the current thread's generator.
+	 */
+	
+	void setRandom(Random random);
+	
 	/**
 	 * Before play begins, called to request a swap of a hand card with a table card
 	 */
@@ -29,13 +39,13 @@ public interface IIdiotGameEngine {
 	MoveResult requestHandToTableCardSwap(int playerRequesting, Card handCard, Card tableCard);
 	
 	/**
-	 * Report to the game engine that player one is done swapping
+	 * Report to the game engine that a player is done swapping, passing the turn to the next player
 	 */
 	
-	void playerOneDoneSwapping();
+	void playerDoneSwapping(int playerNumber);
 	
 	/**
-	 * Invoked by the UI when both players have finished swapping hand cards with table cards and are
+	 * Invoked by the UI when all players have finished swapping hand cards with table cards and are
 	 * ready to start the game
 	 */
 	
@@ -50,5 +60,20 @@ public interface IIdiotGameEngine {
 	
 	MoveResult submitMove(int playerReuqesting, Move move);
 	
+	/**
+	 * Lists every move the player could submit now, e.g. for bots or to hint at a move
+	 * @param playerNumber
+	 * @return the legal moves, empty if it is not the player's turn
+	 */
+	List<Move> getLegalMoves(int playerNumber);
+	
 	List<Card> getPileById(String shortID);
+	
+	/**
+	 * Registers a listener that is told which cards moved after every successful move
+	 * or table card swap
+	 * @param listener
+	 */
+	
+	void addStateChangeListener(IGameStateChangeListener listener);
 }
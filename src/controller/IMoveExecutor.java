@@ -2,13 +2,41 @@ package controller;
 
 import model.IdiotGameConfiguration;
 import model.IdiotGameState;
+import model.move.GameStateChange;
 import model.move.Move;
 import model.move.MoveResult;
+import model.move.MoveUndo;
 
 public interface IMoveExecutor {
 	
 	MoveResult executeMove(Move move);
+
+	/**
+	 * Executes a move and records how to unmake it.
+	 *
+	 * @return the record, holding the result of the move
+	 */
+	MoveUndo makeMove(Move move);
+
+	/**
+	 * Executes a move, recording how to unmake it in a reused record.
+	 *
+	 * @return the given record, holding the result of the move
+	 */
+	MoveUndo makeMove(Move move, MoveUndo undo);
+
+	/**
+	 * Restores the state from before the move of the record. Later moves must be
+	 * undone first.
+	 */
+	void undoMove(MoveUndo undo);
 	void setState(IdiotGameState state);
 	void setConfig(IdiotGameConfiguration config);
 	
+	/**
+	 * Sets where the next executed moves record the cards they move, or null to
+	 * not record them.
+	 */
+	void setChangeSet(GameStateChange changes);
+	
 }
@@ -1,25 +1,52 @@
 package controller;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 import model.*;
 import model.IdiotGameState.GamePhases;
 import model.card.Card;
 import model.card.CardDeck;
+import model.move.GameStateChange;
 import model.move.Move;
 import model.move.MoveResult;
+import controller.log.GameEventLevel;
+import controller.log.GameEventLog;
+import controller.log.IGameEventLog;
 import controller.validators.*;
 
 public class IdiotGameEngine implements IIdiotGameEngine {
 
+	public static final int CARDS_DEALT_PER_PLAYER = 9;
+	public static final int MIN_PLAYERS = 2;
+	public static final int MAX_PLAYERS = CompactGameState.DECK_SIZE / CARDS_DEALT_PER_PLAYER;
+
+	/*
+	 * Shared results for requests rejected before validation
+	 */
+	public static final MoveResult SWAPPING_NOT_ALLOWED = new MoveResult(false, "Swapping table cards is not valid in this state of the game.", false, false);
+	public static final MoveResult PLAY_NOT_STARTED = new MoveResult(false, "Game play has not yet started", false, false);
+	public static final MoveResult NOT_PLAYERS_TURN = new MoveResult(false, "It is not the turn of the player requesting move", false, false);
+	
 	protected IdiotGameState state = new IdiotGameState();
+	
+	/**
+	 * Snapshot of the state after its last change, read by any thread
+	 */
+	protected volatile IdiotGameStateFacade snapshot = new IdiotGameStateFacade(state);
 	protected ITableSwapValidator tableSwapValidator;
 	protected IMoveValidator moveValidator;
 	protected IRuleConfigurationLoader ruleConfigLoader;
 	protected IdiotGameConfiguration gameConfig;
 	protected IEndGameChecker gameEndedChecker;
 	protected IMoveExecutor moveExecutor;
+	protected LegalMoveGenerator moveGenerator = new LegalMoveGenerator();
+	protected IGameEventLog eventLog = GameEventLog.DISABLED;
+	protected List<IGameStateChangeListener> changeListeners = new ArrayList<IGameStateChangeListener>();
+	protected Random random;
 	
 	public IdiotGameEngine(ITableSwapValidator tableSwapValidator, IMoveValidator moveValidator, IEndGameChecker gameEndedChecker, IMoveExecutor executor) {
 		this.tableSwapValidator = tableSwapValidator;
@@ -28,19 +55,47 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 		this.moveExecutor = executor;
 	}
 	
+	/**
+	 * Sets where game events are recorded. By default nothing is recorded.
+	 * 
+	 * @param eventLog
+	 */
+	public void setEventLog(IGameEventLog eventLog) {
+		this.eventLog = eventLog;
+	}
+	
+	@Override
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+	
+	@Override
+	public void addStateChangeListener(IGameStateChangeListener listener) {
+		changeListeners.add(listener);
+	}
+	
 	@Override
 	public IdiotGameStateFacade getCurrentGameState() {
-		return new IdiotGameStateFacade(state);
+		return snapshot;
+	}
+	
+	/**
+	 * Publishes a snapshot of the state; called once after every change to the state.
+	 */
+	protected void publishSnapshot() {
+		snapshot = IdiotGameStateFacade.snapshot(state, snapshot);
 	}
 	
 	@Override
 	public void initializeNewGame(int numberOfPlayers, IRuleConfigurationLoader configLoader) {
 		
+		if (numberOfPlayers < MIN_PLAYERS || numberOfPlayers > MAX_PLAYERS)
+			throw new IllegalArgumentException("A game needs " + MIN_PLAYERS + " to " + MAX_PLAYERS + " players, not " + numberOfPlayers);
+		
 		//Load Rules
 		//TODO Prompt user for configuration file location?
 		ruleConfigLoader = configLoader; //new RuleConfigurationLoader("/configuration/idiotRules.json");
 		gameConfig = ruleConfigLoader.loadRules();
-		System.out.println(gameConfig.toString());
 		
 		state = new IdiotGameState(numberOfPlayers);
 		tableSwapValidator.setState(state);
@@ -49,6 +104,7 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 		gameEndedChecker.setState(state);
 		moveExecutor.setState(state);
 		moveExecutor.setConfig(gameConfig);
+		moveGenerator.setConfig(gameConfig);
 		
 		state.CurrentGamePhase = IdiotGameState.GamePhases.ResettingGame;
 		state.discardedCards = new ArrayList<Card>();
@@ -58,26 +114,27 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 		// create original deck of cards to be used by the InputManager
 		state.fullDeck = deck;
 		
-		deck.shuffle();
+		deck.shuffle(random != null ? random : ThreadLocalRandom.current());
 
 		state.drawCards = deck.getCards();
 		state.idDrawCards = "drawCards";
 		
 		state.pile = new ArrayList<Card>();
 		state.idPile = "pile";
+		state.idDiscardedCards = "discardedCards";
 		
 		state.discardedCards = new ArrayList<Card>();
 		
 		for (PlayerZone playerPlace: state.PlayerPlaces ) {
-			playerPlace.tableCards1.add(state.drawCards.remove(0));
-			playerPlace.tableCards1.add(state.drawCards.remove(0));
-			playerPlace.tableCards2.add(state.drawCards.remove(0));
-			playerPlace.tableCards2.add(state.drawCards.remove(0));
-			playerPlace.tableCards3.add(state.drawCards.remove(0));
-			playerPlace.tableCards3.add(state.drawCards.remove(0));
-			playerPlace.hand.add(state.drawCards.remove(0));
-			playerPlace.hand.add(state.drawCards.remove(0));
-			playerPlace.hand.add(state.drawCards.remove(0));
+			playerPlace.tableCards1.add(dealCard());
+			playerPlace.tableCards1.add(dealCard());
+			playerPlace.tableCards2.add(dealCard());
+			playerPlace.tableCards2.add(dealCard());
+			playerPlace.tableCards3.add(dealCard());
+			playerPlace.tableCards3.add(dealCard());
+			playerPlace.hand.add(dealCard());
+			playerPlace.hand.add(dealCard());
+			playerPlace.hand.add(dealCard());
 			
 			//flip the top card in each pile and in the hands
 			playerPlace.tableCards1.get(playerPlace.tableCards1.size()-1).flip();
@@ -92,16 +149,24 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 			playerPlace.initializePileIDs();
 		}
 		
-		System.out.println(state.toString());
-		
 		state.CurrentGamePhase = IdiotGameState.GamePhases.CardSwapping;
+		publishSnapshot();
+		
+		if (eventLog.isEnabled(GameEventLevel.Info)) eventLog.gameStarted(state, gameConfig);
 	}
 
+	/**
+	 * Deals the top card of the deck, which is the last one so no cards are shifted.
+	 */
+	private Card dealCard() {
+		return state.drawCards.remove(state.drawCards.size() - 1);
+	}
+	
 	@Override
 	public MoveResult requestHandToTableCardSwap(int playerRequesting, Card handCard, Card tableCard) {
 		
 		if (state.CurrentGamePhase != IdiotGameState.GamePhases.CardSwapping) {
-			return new MoveResult() {{ success = false; message = "Swapping table cards is not valid in this state of the game."; }};
+			return SWAPPING_NOT_ALLOWED;
 		}
 
 		TableSwapValidationResult validationResult = tableSwapValidator.isValidSwap(playerRequesting, handCard, tableCard);
@@ -109,75 +174,115 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 		if (validationResult.Success) {
 			
 			updateStateForTableSwap(playerRequesting, handCard, tableCard, validationResult.targetTableStack);
+			publishSnapshot();
 			
+			if (!changeListeners.isEmpty()) publishTableSwap(playerRequesting, handCard, tableCard, validationResult.targetTableStack);
 			
-			System.out.println("Game engine state after successful table card swap: -----");
-			System.out.println(state.toString());
+			if (eventLog.isEnabled(GameEventLevel.Debug)) eventLog.tableCardSwapped(state, playerRequesting, handCard, tableCard);
 			
-			return new MoveResult() {{ success = true; }};
+			return MoveResult.SUCCESSFUL;
 		} 
 		else {
-			return new MoveResult() {{ success = false; message = validationResult.ErrorMessage; }};
+			return validationResult.toFailedMoveResult();
 		}
 	}
 
-	private synchronized void updateStateForTableSwap(int playerRequesting, Card handCard, Card tableCard, int targetTableStack) {
+	private void updateStateForTableSwap(int playerRequesting, Card handCard, Card tableCard, int targetTableStack) {
 		
-		int playerPlaceIndex = playerRequesting - 1;
+		PlayerZone playerPlace = state.PlayerPlaces.get(playerRequesting - 1);
+		List<Card> tableCards = targetTableStack == 1 ? playerPlace.tableCards1 : targetTableStack == 2 ? playerPlace.tableCards2 : playerPlace.tableCards3;
 		
-		state.PlayerPlaces.get(playerPlaceIndex).hand.remove(handCard);
+		// swap the game's own card instances rather than the ones passed in
+		int handIndex = playerPlace.hand.indexOf(handCard);
+		int tableIndex = tableCards.indexOf(tableCard);
+		Card ownHandCard = playerPlace.hand.remove(handIndex);
+		Card ownTableCard = tableCards.remove(tableIndex);
 		
-		if (targetTableStack == 1) {
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards1.remove(tableCard);
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards1.add(handCard);
-		}
-		if (targetTableStack == 2) {
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards2.remove(tableCard);
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards2.add(handCard);
-		}
-		if (targetTableStack == 3) {
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards3.remove(tableCard);
-			state.PlayerPlaces.get(playerPlaceIndex).tableCards3.add(handCard);
-		}
+		tableCards.add(ownHandCard);
+		playerPlace.hand.add(ownTableCard);
+	}
+	
+	private void publishTableSwap(int playerRequesting, Card handCard, Card tableCard, int targetTableStack) {
+		
+		PlayerZone playerPlace = state.PlayerPlaces.get(playerRequesting - 1);
+		String tableId = targetTableStack == 1 ? playerPlace.idTableCards1 : targetTableStack == 2 ? playerPlace.idTableCards2 : playerPlace.idTableCards3;
 		
-		state.PlayerPlaces.get(playerPlaceIndex).hand.add(tableCard);
+		GameStateChange changes = new GameStateChange(playerRequesting);
+		changes.addTransfer(handCard, playerPlace.idHand, tableId);
+		changes.addTransfer(tableCard, tableId, playerPlace.idHand);
+		changes.nextPlayerTurn = state.currentPlayerTurn;
+		publish(changes);
+	}
+	
+	private void publish(GameStateChange changes) {
+		for (IGameStateChangeListener listener : changeListeners) {
+			listener.stateChanged(changes);
+		}
 	}
 	
 	@Override
 	public void beginPlay() {
 		state.CurrentGamePhase = IdiotGameState.GamePhases.GamePlay;
 		state.currentPlayerTurn = 1;
+		publishSnapshot();
+	}
+
+	/**
+	 * @param winner number of the player who won
+	 * @return message of the result of the move that ends the game
+	 */
+	public static String gameOverMessage(int winner) {
+		return "Game over.. Player " + winner + " is the winner! ";
 	}
 
 	@Override
 	public MoveResult submitMove(int playerRequesting, Move move) {
 		
 		if (state.CurrentGamePhase != IdiotGameState.GamePhases.GamePlay) {
-			return new MoveResult() {{ success = false; message = "Game play has not yet started"; }};
+			return PLAY_NOT_STARTED;
 		}
 		
 		if (state.currentPlayerTurn != playerRequesting) {
-			return new MoveResult() {{ success = false; message = "It is not the turn of the player requesting move"; }};
+			return NOT_PLAYERS_TURN;
 		}
 		
 		ValidationResult moveValidationResult = moveValidator.IsValidMove(move);
 		
-		if (! moveValidationResult.Success) return new MoveResult() {{ success = false; message = moveValidationResult.ErrorMessage; }}; 
+		if (! moveValidationResult.Success) return moveValidationResult.toFailedMoveResult(); 
 
+		GameStateChange changes = changeListeners.isEmpty() ? null : new GameStateChange(playerRequesting);
+		moveExecutor.setChangeSet(changes);
+		
 		MoveResult result = moveExecutor.executeMove(move);
 		
 		if (result.isSuccess()) {
 			if (gameEndedChecker.endGameConditionReached()) {
-				result.setGameEnded(true);
-			    result.setMessage("Game over.. Player " + state.currentPlayerTurn + " is the winner! ");
+				// once per game, so a new result rather than changing a possibly shared one
+				result = new MoveResult(true, gameOverMessage(state.currentPlayerTurn), result.isStateChanged(), true);
 			    state.CurrentGamePhase = GamePhases.GameCompleted;
-			    return result;
 			}
+			publishSnapshot();
+		}
+		
+		if (eventLog.isEnabled(GameEventLevel.Info)) eventLog.moveExecuted(state, playerRequesting, move, result);
+		
+		if (changes != null && result.isSuccess()) {
+			changes.nextPlayerTurn = state.currentPlayerTurn;
+			changes.gameEnded = result.isGameEnded();
+			publish(changes);
 		}
 		
 		return result;
 	}
 	
+	@Override
+	public List<Move> getLegalMoves(int playerNumber) {
+		if (state.CurrentGamePhase != IdiotGameState.GamePhases.GamePlay || state.currentPlayerTurn != playerNumber)
+			return Collections.emptyList();
+		
+		return moveGenerator.generateMoves(state);
+	}
+	
 	/**
 	 * Looks up a List<Card> by its id
 	 * Returns the List<Card> with a matching id
@@ -209,8 +314,9 @@ public class IdiotGameEngine implements IIdiotGameEngine {
 	}
 
 	@Override
-	public void playerOneDoneSwapping() {
-		state.currentPlayerTurn = 2;
+	public void playerDoneSwapping(int playerNumber) {
+		state.currentPlayerTurn = TurnScheduler.nextPlayer(playerNumber, state.PlayerPlaces.size(), TurnScheduler.CLOCKWISE, 0);
+		publishSnapshot();
 	}
 	
 }
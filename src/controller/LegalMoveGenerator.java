@@ -0,0 +1,114 @@
+package controller;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.PlayabilityTable;
+import model.PlayerZone;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Lists every legal move of a player in one pass over their playable cards. The cards
+ * are grouped by rank and each rank is looked up in the configuration's
+ * {@link PlayabilityTable}. Moves are listed by rank, every card on its own and then
+ * every combination of two or more cards of that rank, followed by playing the top of
+ * the deck and taking the pile.
+ */
+public class LegalMoveGenerator {
+
+	private static final int RANKS = GameCardRank.values().length;
+
+	protected IdiotGameConfiguration config;
+
+	protected PlayabilityTable playability;
+
+	public void setConfig(IdiotGameConfiguration config) {
+		this.config = config;
+		this.playability = config.getPlayability();
+	}
+
+	/**
+	 * @param rank
+	 * @param topOfPile rank of the top card of the pile, or null if the pile is empty
+	 * @return whether cards of the rank may be played on the pile
+	 */
+	public boolean canPlay(GameCardRank rank, GameCardRank topOfPile) {
+		return playability.canPlay(rank, topOfPile);
+	}
+
+	/**
+	 * @return the legal moves of the player whose turn it is
+	 */
+	public List<Move> generateMoves(IdiotGameState state) {
+		PlayerZone place = state.PlayerPlaces.get(state.currentPlayerTurn - 1);
+		List<Card> playableCards = place.hand;
+
+		if (playableCards.isEmpty()) {
+			playableCards = new ArrayList<Card>(3);
+			for (int stack = 1; stack <= 3; stack++) {
+				List<Card> tableCards = place.getStack(stack);
+				if (tableCards.size() > 0) playableCards.add(tableCards.get(tableCards.size() - 1));
+			}
+		}
+
+		Card topOfPile = state.pile.isEmpty() ? null : state.pile.get(state.pile.size() - 1);
+		return generateMoves(playableCards, topOfPile, state.drawCards.size() > 0);
+	}
+
+	/**
+	 * @return the legal moves of the player, as if it were their turn
+	 */
+	public List<Move> generateMoves(IdiotGameStateFacade state, int playerNumber) {
+		IdiotPlayerZoneFacade place = state.getPlayerPlaces().get(playerNumber - 1);
+		List<Card> pile = state.GetPile().getCards();
+
+		Card topOfPile = pile.isEmpty() ? null : pile.get(pile.size() - 1);
+		return generateMoves(place.getPlayableCards(), topOfPile, state.GetDeck().size() > 0);
+	}
+
+	private List<Move> generateMoves(List<Card> playableCards, Card topOfPile, boolean deckHasCards) {
+		Card[][] cardsByRank = new Card[RANKS][];
+		int[] counts = new int[RANKS];
+
+		for (Card card : playableCards) {
+			int rank = card.getRank().ordinal();
+			if (cardsByRank[rank] == null) cardsByRank[rank] = new Card[4];
+			cardsByRank[rank][counts[rank]++] = card;
+		}
+
+		List<Move> moves = new ArrayList<Move>();
+		int playableRanks = playability.playableRanks(topOfPile == null ? PlayabilityTable.EMPTY_PILE : topOfPile.getRank().ordinal());
+
+		for (int rank = 0; rank < RANKS; rank++) {
+			if (counts[rank] == 0 || (playableRanks & 1 << rank) == 0) continue;
+
+			Card[] cards = cardsByRank[rank];
+			for (int i = 0; i < counts[rank]; i++) {
+				moves.add(new PlayOneCardMove(cards[i].getId(), "pile", cards[i]));
+			}
+			for (int combination = 1; combination < 1 << counts[rank]; combination++) {
+				if (Integer.bitCount(combination) < 2) continue;
+
+				List<Card> combined = new ArrayList<Card>(Integer.bitCount(combination));
+				for (int i = 0; i < counts[rank]; i++) {
+					if ((combination & 1 << i) != 0) combined.add(cards[i]);
+				}
+				moves.add(new PlayMultipleCardsMove(combined.toString(), "pile", combined));
+			}
+		}
+
+		if (deckHasCards) moves.add(new PlayTopOfDeck("drawCards", "pile"));
+		if (topOfPile != null) moves.add(new TakePileMove("pile", "hand"));
+		return moves;
+	}
+}
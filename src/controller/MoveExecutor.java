@@ -1,13 +1,17 @@
 package controller;
 
-import java.util.ArrayList;
+import java.util.List;
 
 import model.IdiotGameConfiguration;
 import model.IdiotGameState;
+import model.PlayabilityTable;
+import model.PlayerZone;
 import model.card.Card;
 import model.card.GameCardRank;
+import model.move.GameStateChange;
 import model.move.Move;
 import model.move.MoveResult;
+import model.move.MoveUndo;
 import model.move.PlayMultipleCardsMove;
 import model.move.PlayOneCardMove;
 import model.move.PlayTopOfDeck;
@@ -18,6 +22,13 @@ public class MoveExecutor implements IMoveExecutor {
 	protected IEndGameChecker endGameChecker;
 	protected IdiotGameState state;
 	protected IdiotGameConfiguration config;
+	protected PlayabilityTable playability;
+	protected GameStateChange changes;
+
+	/**
+	 * Where the move being executed records how to unmake it, or null
+	 */
+	protected MoveUndo undo;
 
 	public MoveExecutor(IEndGameChecker endGameChecker) {
 		this.endGameChecker = endGameChecker;
@@ -25,20 +36,71 @@ public class MoveExecutor implements IMoveExecutor {
 
 	@Override
 	public MoveResult executeMove(Move move) {
+		undo = null;
+		return applyMove(move);
+	}
+
+	@Override
+	public MoveUndo makeMove(Move move) {
+		return makeMove(move, new MoveUndo());
+	}
+
+	@Override
+	public MoveUndo makeMove(Move move, MoveUndo undo) {
+		undo.clear();
+		undo.previousPlayerTurn = state.currentPlayerTurn;
+		undo.previousTurnDirection = state.turnDirection;
+		undo.previousSkippedPlayers = state.skippedPlayers;
+		undo.previousGamePhase = state.CurrentGamePhase;
+
+		this.undo = undo;
+		try {
+			undo.result = applyMove(move);
+		} finally {
+			this.undo = null;
+		}
+		return undo;
+	}
+
+	/**
+	 * Takes every transferred card back, last transfer first, and restores the turn
+	 * and game phase from before the move. Moves made after this one must have been
+	 * undone already.
+	 */
+	@Override
+	public void undoMove(MoveUndo undo) {
+		for (int i = undo.transferCount - 1; i >= 0; i--) {
+			int transfer = undo.transfers[i];
+			List<Card> to = zone(MoveUndo.toZone(transfer));
+			Card card = to.remove(to.size() - 1);
+			if (card == undo.flippedCopy) card = undo.flippedCard;
+			zone(MoveUndo.fromZone(transfer)).add(MoveUndo.fromIndex(transfer), card);
+		}
+
+		state.currentPlayerTurn = undo.previousPlayerTurn;
+		state.turnDirection = undo.previousTurnDirection;
+		state.skippedPlayers = undo.previousSkippedPlayers;
+		state.CurrentGamePhase = undo.previousGamePhase;
+	}
+
+	private MoveResult applyMove(Move move) {
 		boolean deckIsEmpty = state.drawCards.size() == 0;
 		boolean wasteIsEmpty = state.pile.size() == 0;
 		boolean skipAdvanceTurn = false;
 
 		if (move instanceof TakePileMove && !wasteIsEmpty) {
+			recordPileTakenIntoHand();
 			state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
 					.addAll(state.pile);
-			state.pile = new ArrayList<Card>();
+			state.pile.clear();
 		}
 
 		if (move instanceof PlayTopOfDeck && !deckIsEmpty) {
 			Card cardFromTopOfDeck = state.drawCards
 					.get(state.drawCards.size() - 1);
 			if (wasteIsEmpty) {
+				recordTransfer(cardFromTopOfDeck, state.idDrawCards, state.idPile);
+				recordUndo(MoveUndo.ZONE_DRAW_CARDS, state.drawCards.size() - 1, MoveUndo.ZONE_PILE);
 				state.pile.add(cardFromTopOfDeck);
 				state.drawCards.remove(cardFromTopOfDeck);
 				skipAdvanceTurn = handleIfCardPlayedOnPileWasBurnCard();
@@ -47,18 +109,23 @@ public class MoveExecutor implements IMoveExecutor {
 						.get(state.pile.size() - 1).getRank();
 				if (cardCanBePlayedOnPile(cardFromTopOfDeck.getRank(),
 						topPileCardRank)) {
+					recordTransfer(cardFromTopOfDeck, state.idDrawCards, state.idPile);
+					recordUndo(MoveUndo.ZONE_DRAW_CARDS, state.drawCards.size() - 1, MoveUndo.ZONE_PILE);
 					state.pile.add(cardFromTopOfDeck);
 					state.drawCards.remove(cardFromTopOfDeck);
 					skipAdvanceTurn = handleIfCardPlayedOnPileWasBurnCard();
 					skipAdvanceTurn = handleIfTopFourPileCardsAreSameRank();
 				}
 				else {
+					recordTransfer(cardFromTopOfDeck, state.idDrawCards, currentPlayerHandId());
+					recordUndo(MoveUndo.ZONE_DRAW_CARDS, state.drawCards.size() - 1, MoveUndo.handZone(state.currentPlayerTurn));
+					recordPileTakenIntoHand();
 					state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
 							.add(cardFromTopOfDeck);
 					state.drawCards.remove(cardFromTopOfDeck);
 					state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
 							.addAll(state.pile);
-					state.pile = new ArrayList<Card>();
+					state.pile.clear();
 				}
 			}
 		}
@@ -72,25 +139,14 @@ public class MoveExecutor implements IMoveExecutor {
 					throw new IllegalStateException(
 							"Validator should have prevented an invalid pile card play from occurring.");
 			}
-			state.pile.add(cardPlay.card); // (move should be validated by move
-											// validator before this point)
-			if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
-					.contains(cardPlay.card))
-				state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
-						.remove(cardPlay.card);
-			if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards1
-					.contains(cardPlay.card))
-				state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards1
-						.remove(cardPlay.card);
-			if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards2
-					.contains(cardPlay.card))
-				state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards2
-						.remove(cardPlay.card);
-			if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards3
-					.contains(cardPlay.card))
-				state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards3
-						.remove(cardPlay.card);
-			cardPlay.card.flip();
+			Card played = playFromCurrentPlayer(cardPlay.card); // (move should be validated
+																// by move validator
+																// before this point)
+			Card turned = turnOver(played);
+			if (undo != null) {
+				undo.flippedCard = played;
+				undo.flippedCopy = turned;
+			}
 
 			skipAdvanceTurn = handleIfCardPlayedOnPileWasBurnCard();
 			skipAdvanceTurn = handleIfTopFourPileCardsAreSameRank();
@@ -105,26 +161,9 @@ public class MoveExecutor implements IMoveExecutor {
 					throw new IllegalStateException(
 							"Validator should have prevented an invalid pile card play from occurring.");
 			}
-			state.pile.addAll(cardsPlay.cards); // (move should be validated by
-												// move validator before this
-												// point)
 			for (Card card : cardsPlay.cards) {
-				if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
-						.contains(card))
-					state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
-							.remove(card);
-				if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards1
-						.contains(card))
-					state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards1
-							.remove(card);
-				if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards2
-						.contains(card))
-					state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards2
-							.remove(card);
-				if (state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards3
-						.contains(card))
-					state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards3
-							.remove(card);
+				playFromCurrentPlayer(card); // (move should be validated by move
+												// validator before this point)
 			}
 
 			skipAdvanceTurn = handleIfCardPlayedOnPileWasBurnCard();
@@ -133,53 +172,68 @@ public class MoveExecutor implements IMoveExecutor {
 		}
 
 		if (endGameChecker.endGameConditionReached()) {
-			return new MoveResult() {
-				{
-					success = true;
-					gameEnded = true;
-					message = "Player " + state.currentPlayerTurn + " has won";
-				}
-			};
+			return new MoveResult(true, "Player " + state.currentPlayerTurn + " has won", false, true);
 		} else {
 			if (!skipAdvanceTurn) {
 				advancePlayerTurn();
 			}
 			
 		}
-		System.out.println("After turn game-state: \n\n" + state.toString()
-				+ "\n");
-		return new MoveResult() {
-			{
-				success = true;
-			}
-		};
+		return MoveResult.SUCCESSFUL;
 
 		// TODO: When do we flip cards in game state?
 	}
 
-	private boolean cardCanBePlayedOnPile(GameCardRank candidateCardRank,
-			GameCardRank topOfPileCardRank) {
+	/**
+	 * Moves a card from wherever it is among the current player's cards onto
+	 * the pile and returns the game's own instance of it, so cards passed in by
+	 * the caller (e.g. canonical {@link model.card.GameCard#of} keys) never end
+	 * up in the state.
+	 * 
+	 * @throws IllegalStateException if the current player does not hold the card
+	 */
+	private Card playFromCurrentPlayer(Card card) {
+		PlayerZone place = state.PlayerPlaces.get(state.currentPlayerTurn - 1);
 
-		if (candidateCardRank == config.reverseCard
-				|| candidateCardRank == config.burnCard
-				|| candidateCardRank == config.restartCard)
-			return true;
+		for (int stack = 0; stack < 4; stack++) {
+			int index = place.getStack(stack).indexOf(card);
+			if (index < 0) continue;
 
-		if (topOfPileCardRank == config.reverseCard) {
-			if (candidateCardRank.ordinal() > topOfPileCardRank.ordinal())
-				return false;
-		}
-		else {
-			if (candidateCardRank.ordinal() < topOfPileCardRank.ordinal())
-				return false;
+			Card removed = place.getStack(stack).remove(index);
+			recordTransfer(removed, place.getStackId(stack), state.idPile);
+			recordUndo(MoveUndo.handZone(state.currentPlayerTurn) + stack, index, MoveUndo.ZONE_PILE);
+			state.pile.add(removed);
+			return removed;
 		}
-		return true;
+
+		throw new IllegalStateException(
+				"Validator should have prevented playing a card the current player does not hold.");
+	}
+
+	/**
+	 * Replaces the top card of the pile with a turned over copy of it. Cards are
+	 * shared with the published snapshots of the state, so they are never turned
+	 * over in place.
+	 * 
+	 * @return the copy now on the pile
+	 */
+	private Card turnOver(Card card) {
+		Card turned = card.clone();
+		turned.flip();
+		state.pile.set(state.pile.size() - 1, turned);
+		return turned;
+	}
+
+	private boolean cardCanBePlayedOnPile(GameCardRank candidateCardRank,
+			GameCardRank topOfPileCardRank) {
+		return playability.canPlay(candidateCardRank, topOfPileCardRank);
 	}
 
 	private boolean handleIfCardPlayedOnPileWasBurnCard() {
 		if (state.pile.get(state.pile.size() - 1).getRank() == config.burnCard) {
+			recordPileDiscarded();
 			state.discardedCards.addAll(state.pile);
-			state.pile = new ArrayList<Card>();
+			state.pile.clear();
 			return true;
 		} else {
 			return false;
@@ -200,8 +254,9 @@ public class MoveExecutor implements IMoveExecutor {
 							.getRank());
 
 			if (lastFourCardsAreSameRank) {
+				recordPileDiscarded();
 				state.discardedCards.addAll(state.pile);
-				state.pile = new ArrayList<Card>();
+				state.pile.clear();
 				return true;
 			}
 		}
@@ -213,17 +268,64 @@ public class MoveExecutor implements IMoveExecutor {
 			if (state.drawCards.size() == 0)
 				break;
 
+			recordTransfer(state.drawCards.get(state.drawCards.size() - 1), state.idDrawCards, currentPlayerHandId());
+			recordUndo(MoveUndo.ZONE_DRAW_CARDS, state.drawCards.size() - 1, MoveUndo.handZone(state.currentPlayerTurn));
 			state.PlayerPlaces.get(state.currentPlayerTurn - 1).hand
 					.add(state.drawCards.get(state.drawCards.size() - 1));
 			state.drawCards.remove(state.drawCards.size() - 1);
 		}
 	}
 
+	private String currentPlayerHandId() {
+		return state.PlayerPlaces.get(state.currentPlayerTurn - 1).idHand;
+	}
+
+	private void recordTransfer(Card card, String fromZone, String toZone) {
+		if (changes != null) changes.addTransfer(card, fromZone, toZone);
+	}
+
+	/**
+	 * Cards leave the pile from the bottom, so each is recorded as removed at index 0.
+	 */
+	private void recordPileTakenIntoHand() {
+		for (int i = 0; undo != null && i < state.pile.size(); i++) {
+			undo.addTransfer(MoveUndo.ZONE_PILE, 0, MoveUndo.handZone(state.currentPlayerTurn));
+		}
+		if (changes == null) return;
+		for (Card card : state.pile) {
+			changes.addTransfer(card, state.idPile, currentPlayerHandId());
+		}
+	}
+
+	private void recordPileDiscarded() {
+		for (int i = 0; undo != null && i < state.pile.size(); i++) {
+			undo.addTransfer(MoveUndo.ZONE_PILE, 0, MoveUndo.ZONE_DISCARDED_CARDS);
+		}
+		if (changes == null) return;
+		for (Card card : state.pile) {
+			changes.addTransfer(card, state.idPile, state.idDiscardedCards);
+		}
+	}
+
+	private void recordUndo(int fromZone, int fromIndex, int toZone) {
+		if (undo != null) undo.addTransfer(fromZone, fromIndex, toZone);
+	}
+
+	private List<Card> zone(int zone) {
+		switch (zone) {
+		case MoveUndo.ZONE_DRAW_CARDS:
+			return state.drawCards;
+		case MoveUndo.ZONE_PILE:
+			return state.pile;
+		case MoveUndo.ZONE_DISCARDED_CARDS:
+			return state.discardedCards;
+		default:
+			return state.PlayerPlaces.get((zone - MoveUndo.handZone(1)) / 4).getStack((zone - MoveUndo.handZone(1)) % 4);
+		}
+	}
+
 	private void advancePlayerTurn() {
-		if (state.currentPlayerTurn == 2)
-			state.currentPlayerTurn = 1;
-		else if (state.currentPlayerTurn == 1)
-			state.currentPlayerTurn = 2;
+		TurnScheduler.advance(state);
 	}
 
 	@Override
@@ -234,6 +336,11 @@ public class MoveExecutor implements IMoveExecutor {
 	@Override
 	public void setConfig(IdiotGameConfiguration config) {
 		this.config = config;
+		this.playability = config.getPlayability();
+	}
 
+	@Override
+	public void setChangeSet(GameStateChange changes) {
+		this.changes = changes;
 	}
 }
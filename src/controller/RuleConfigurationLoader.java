@@ -63,6 +63,7 @@ public class RuleConfigurationLoader implements IRuleConfigurationLoader {
 		}
 		
 		gameRules = new IdiotGameConfiguration(restart, burn, reverse);
+		gameRules.getPlayability();
 		
 		return gameRules;		
 	}
@@ -0,0 +1,55 @@
+package controller;
+
+import model.CompactGameState;
+import model.IdiotGameState;
+
+/**
+ * Turn order around the table. Players sit in a ring numbered 1 to n; the next
+ * player is found with modular arithmetic, so a turn costs the same at any table
+ * size. The ring can be reversed, and players can be skipped on the next advance.
+ */
+public final class TurnScheduler {
+
+	public static final int CLOCKWISE = 1;
+	public static final int COUNTER_CLOCKWISE = -1;
+
+	private TurnScheduler() {
+	}
+
+	/**
+	 * @param currentPlayer player number, 1 to numberOfPlayers
+	 * @param numberOfPlayers
+	 * @param direction {@link #CLOCKWISE} or {@link #COUNTER_CLOCKWISE}
+	 * @param skippedPlayers players passed over before the next turn
+	 * @return number of the player whose turn is next
+	 */
+	public static int nextPlayer(int currentPlayer, int numberOfPlayers, int direction, int skippedPlayers) {
+		return Math.floorMod(currentPlayer - 1 + direction * (skippedPlayers + 1), numberOfPlayers) + 1;
+	}
+
+	public static void advance(IdiotGameState state) {
+		state.currentPlayerTurn = nextPlayer(state.currentPlayerTurn, state.PlayerPlaces.size(), state.turnDirection, state.skippedPlayers);
+		state.skippedPlayers = 0;
+	}
+
+	public static void advance(CompactGameState state) {
+		state.currentPlayerTurn = nextPlayer(state.currentPlayerTurn, state.numberOfPlayers, state.turnDirection, state.skippedPlayers);
+		state.skippedPlayers = 0;
+	}
+
+	public static void reverse(IdiotGameState state) {
+		state.turnDirection = -state.turnDirection;
+	}
+
+	public static void reverse(CompactGameState state) {
+		state.turnDirection = -state.turnDirection;
+	}
+
+	public static void skip(IdiotGameState state, int players) {
+		state.skippedPlayers += players;
+	}
+
+	public static void skip(CompactGameState state, int players) {
+		state.skippedPlayers += players;
+	}
+}
@@ -0,0 +1,23 @@
+package controller.log;
+
+/**
+ * Verbosity levels of the {@link IGameEventLog}, from least to most detailed.
+ */
+public enum GameEventLevel {
+	/**
+	 * Nothing is recorded.
+	 */
+	Off,
+	/**
+	 * Game start and game end records.
+	 */
+	Info,
+	/**
+	 * A binary record for every swap and every move.
+	 */
+	Debug,
+	/**
+	 * Everything above plus a full text dump of the game state after each change.
+	 */
+	Trace
+}
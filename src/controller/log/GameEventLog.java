@@ -0,0 +1,104 @@
+package controller.log;
+
+import java.io.PrintStream;
+
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.card.Card;
+import model.move.Move;
+import model.move.MoveResult;
+
+/**
+ * Level gated {@link IGameEventLog} for one table. Events are encoded into a reusable
+ * {@link GameEventRecord} buffer and handed to an {@link IGameEventAppender}, which may be
+ * shared between tables. At {@link GameEventLevel#Trace} the full game state is also
+ * printed as text.
+ *
+ * An instance belongs to a single game and must not be used from several threads at once.
+ */
+public class GameEventLog implements IGameEventLog {
+
+	/**
+	 * Log that records nothing. Used by the engine unless another log is set.
+	 */
+	public static final IGameEventLog DISABLED = new GameEventLog(GameEventLevel.Off, 0, null, null);
+
+	protected final GameEventLevel level;
+	protected final int tableId;
+	protected final IGameEventAppender appender;
+	protected final PrintStream traceOut;
+
+	private final byte[] record = new byte[GameEventRecord.SIZE];
+
+	public GameEventLog(GameEventLevel level, int tableId, IGameEventAppender appender) {
+		this(level, tableId, appender, System.out);
+	}
+
+	/**
+	 * @param level most detailed level that is recorded
+	 * @param tableId identifies this game in a log shared between tables
+	 * @param appender destination of the binary records
+	 * @param traceOut destination of the text dumps at {@link GameEventLevel#Trace}
+	 */
+	public GameEventLog(GameEventLevel level, int tableId, IGameEventAppender appender, PrintStream traceOut) {
+		this.level = level;
+		this.tableId = tableId;
+		this.appender = appender;
+		this.traceOut = traceOut;
+	}
+
+	@Override
+	public boolean isEnabled(GameEventLevel level) {
+		return level != GameEventLevel.Off && this.level.compareTo(level) >= 0;
+	}
+
+	@Override
+	public void gameStarted(IdiotGameState state, IdiotGameConfiguration config) {
+		if (!isEnabled(GameEventLevel.Info)) return;
+
+		GameEventRecord.writeHeader(record, tableId, GameEventRecord.GAME_STARTED, state.PlayerPlaces.size());
+		record[7] = 3;
+		record[8] = (byte) config.restartCard.ordinal();
+		record[9] = (byte) config.burnCard.ordinal();
+		record[10] = (byte) config.reverseCard.ordinal();
+		GameEventRecord.writeCounts(record, state.pile.size(), state.drawCards.size(), state.currentPlayerTurn, GameEventRecord.FLAG_SUCCESS);
+		appender.append(record, 0);
+
+		trace(config.toString(), state);
+	}
+
+	@Override
+	public void tableCardSwapped(IdiotGameState state, int player, Card handCard, Card tableCard) {
+		if (!isEnabled(GameEventLevel.Debug)) return;
+
+		GameEventRecord.writeHeader(record, tableId, GameEventRecord.TABLE_CARD_SWAP, player);
+		GameEventRecord.writeCard(record, 0, handCard);
+		GameEventRecord.writeCard(record, 1, tableCard);
+		GameEventRecord.writeCounts(record, state.pile.size(), state.drawCards.size(), state.currentPlayerTurn, GameEventRecord.FLAG_SUCCESS);
+		appender.append(record, 0);
+
+		trace("Game engine state after successful table card swap: -----", state);
+	}
+
+	@Override
+	public void moveExecuted(IdiotGameState state, int player, Move move, MoveResult result) {
+		boolean gameEnded = result.isGameEnded();
+		if (!isEnabled(gameEnded ? GameEventLevel.Info : GameEventLevel.Debug)) return;
+
+		int flags = (result.isSuccess() ? GameEventRecord.FLAG_SUCCESS : 0) | (gameEnded ? GameEventRecord.FLAG_GAME_ENDED : 0);
+
+		GameEventRecord.writeHeader(record, tableId, GameEventRecord.MOVE, player);
+		GameEventRecord.writeMove(record, move);
+		GameEventRecord.writeCounts(record, state.pile.size(), state.drawCards.size(), state.currentPlayerTurn, flags);
+		appender.append(record, 0);
+
+		trace("After turn game-state:", state);
+	}
+
+	private void trace(String heading, IdiotGameState state) {
+		if (!isEnabled(GameEventLevel.Trace)) return;
+
+		traceOut.println(heading);
+		traceOut.println(state.toString());
+	}
+}
@@ -0,0 +1,132 @@
+package controller.log;
+
+import java.util.List;
+
+import model.card.Card;
+import model.move.Move;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Fixed 16 byte layout used for every game event:
+ *
+ * <pre>
+ *  0-3  table id (big endian)
+ *  4    event type
+ *  5    player number
+ *  6    move type
+ *  7    card count
+ *  8-11 card ordinals (suit * 13 + rank), NO_CARD when unused
+ *  12   pile size after the event
+ *  13   draw pile size after the event
+ *  14   player whose turn it is after the event
+ *  15   flags
+ * </pre>
+ *
+ * For {@link #GAME_STARTED} the card slots hold the restart, burn and reverse rank
+ * ordinals instead of cards.
+ */
+public final class GameEventRecord {
+
+	public static final int SIZE = 16;
+
+	public static final byte GAME_STARTED = 1;
+	public static final byte TABLE_CARD_SWAP = 2;
+	public static final byte MOVE = 3;
+
+	public static final byte MOVE_NONE = 0;
+	public static final byte MOVE_TAKE_PILE = 1;
+	public static final byte MOVE_PLAY_TOP_OF_DECK = 2;
+	public static final byte MOVE_PLAY_ONE_CARD = 3;
+	public static final byte MOVE_PLAY_MULTIPLE_CARDS = 4;
+
+	public static final byte FLAG_SUCCESS = 1;
+	public static final byte FLAG_GAME_ENDED = 2;
+
+	public static final byte NO_CARD = (byte) 0xFF;
+
+	public static final int MAX_CARDS = 4;
+
+	private GameEventRecord() {
+	}
+
+	public static void writeHeader(byte[] record, int tableId, byte eventType, int player) {
+		record[0] = (byte) (tableId >>> 24);
+		record[1] = (byte) (tableId >>> 16);
+		record[2] = (byte) (tableId >>> 8);
+		record[3] = (byte) tableId;
+		record[4] = eventType;
+		record[5] = (byte) player;
+		record[6] = MOVE_NONE;
+		record[7] = 0;
+		for (int i = 0; i < MAX_CARDS; i++) {
+			record[8 + i] = NO_CARD;
+		}
+		record[15] = 0;
+	}
+
+	public static void writeCard(byte[] record, int slot, Card card) {
+		record[8 + slot] = card == null ? NO_CARD : (byte) cardOrdinal(card);
+		record[7] = (byte) Math.max(record[7], slot + 1);
+	}
+
+	public static void writeMove(byte[] record, Move move) {
+		if (move instanceof TakePileMove) {
+			record[6] = MOVE_TAKE_PILE;
+		} else if (move instanceof PlayTopOfDeck) {
+			record[6] = MOVE_PLAY_TOP_OF_DECK;
+		} else if (move instanceof PlayOneCardMove) {
+			record[6] = MOVE_PLAY_ONE_CARD;
+			writeCard(record, 0, ((PlayOneCardMove) move).card);
+		} else if (move instanceof PlayMultipleCardsMove) {
+			record[6] = MOVE_PLAY_MULTIPLE_CARDS;
+			List<Card> cards = ((PlayMultipleCardsMove) move).cards;
+			for (int i = 0; i < cards.size() && i < MAX_CARDS; i++) {
+				writeCard(record, i, cards.get(i));
+			}
+		}
+	}
+
+	public static void writeCounts(byte[] record, int pileSize, int drawPileSize, int nextPlayer, int flags) {
+		record[12] = (byte) pileSize;
+		record[13] = (byte) drawPileSize;
+		record[14] = (byte) nextPlayer;
+		record[15] = (byte) flags;
+	}
+
+	public static int cardOrdinal(Card card) {
+		return card.getOrdinal();
+	}
+
+	public static int tableId(byte[] record, int offset) {
+		return ((record[offset] & 0xFF) << 24) | ((record[offset + 1] & 0xFF) << 16)
+				| ((record[offset + 2] & 0xFF) << 8) | (record[offset + 3] & 0xFF);
+	}
+
+	/**
+	 * Renders a record as text, for tools that inspect a binary log.
+	 *
+	 * @param record
+	 * @param offset
+	 * @return
+	 */
+	public static String toString(byte[] record, int offset) {
+		StringBuilder buf = new StringBuilder();
+		buf.append("table=").append(tableId(record, offset));
+		buf.append(" event=").append(record[offset + 4]);
+		buf.append(" player=").append(record[offset + 5]);
+		buf.append(" move=").append(record[offset + 6]);
+		buf.append(" cards=[");
+		for (int i = 0; i < record[offset + 7]; i++) {
+			if (i > 0) buf.append(',');
+			buf.append(record[offset + 8 + i] & 0xFF);
+		}
+		buf.append("] pile=").append(record[offset + 12] & 0xFF);
+		buf.append(" deck=").append(record[offset + 13] & 0xFF);
+		buf.append(" next=").append(record[offset + 14]);
+		buf.append(" flags=").append(record[offset + 15]);
+		return buf.toString();
+	}
+}
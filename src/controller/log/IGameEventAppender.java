@@ -0,0 +1,20 @@
+package controller.log;
+
+/**
+ * Destination for encoded {@link GameEventRecord}s.
+ */
+public interface IGameEventAppender extends AutoCloseable {
+
+	/**
+	 * Accepts one record of {@link GameEventRecord#SIZE} bytes starting at offset. The
+	 * appender must copy the bytes before returning; the caller reuses the array.
+	 *
+	 * @param record
+	 * @param offset
+	 * @return false if the record had to be dropped
+	 */
+	boolean append(byte[] record, int offset);
+
+	@Override
+	void close();
+}
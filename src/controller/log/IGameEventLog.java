@@ -0,0 +1,23 @@
+package controller.log;
+
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.card.Card;
+import model.move.Move;
+import model.move.MoveResult;
+
+/**
+ * Receives the events of a single game. Callers are expected to check
+ * {@link #isEnabled(GameEventLevel)} before gathering any arguments so a disabled log
+ * costs no more than a field read.
+ */
+public interface IGameEventLog {
+
+	boolean isEnabled(GameEventLevel level);
+
+	void gameStarted(IdiotGameState state, IdiotGameConfiguration config);
+
+	void tableCardSwapped(IdiotGameState state, int player, Card handCard, Card tableCard);
+
+	void moveExecuted(IdiotGameState state, int player, Move move, MoveResult result);
+}
@@ -0,0 +1,119 @@
+package controller.log;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous appender backed by a preallocated ring of fixed size records. Any number
+ * of game threads may append; a single background thread drains the ring to an
+ * {@link OutputStream}. Appending never blocks or allocates: when the ring is full the
+ * record is dropped and counted instead.
+ */
+public class RingBufferAppender implements IGameEventAppender {
+
+	private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+	private final int capacity;
+	private final byte[] ring;
+
+	/**
+	 * Sequence number published in each slot, -1 until the slot is first written.
+	 */
+	private final AtomicLongArray published;
+	private final AtomicLong claimed = new AtomicLong();
+	private final AtomicLong consumed = new AtomicLong();
+	private final LongAdder dropped = new LongAdder();
+
+	private final OutputStream out;
+	private final Thread drainThread;
+	private volatile boolean running = true;
+
+	/**
+	 * @param capacity number of records the ring can hold
+	 * @param out destination of the drained records, closed with the appender
+	 */
+	public RingBufferAppender(int capacity, OutputStream out) {
+		if (capacity <= 0) throw new IllegalArgumentException("Ring capacity must be positive: " + capacity);
+
+		this.capacity = capacity;
+		this.ring = new byte[capacity * GameEventRecord.SIZE];
+		this.published = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			published.set(i, -1);
+		}
+		this.out = new BufferedOutputStream(out, 64 * GameEventRecord.SIZE);
+
+		drainThread = new Thread(this::drain, "game-event-log");
+		drainThread.setDaemon(true);
+		drainThread.start();
+	}
+
+	@Override
+	public boolean append(byte[] record, int offset) {
+		long sequence;
+		do {
+			sequence = claimed.get();
+			if (sequence - consumed.get() >= capacity) {
+				dropped.increment();
+				return false;
+			}
+		} while (!claimed.compareAndSet(sequence, sequence + 1));
+
+		int slot = (int) (sequence % capacity);
+		System.arraycopy(record, offset, ring, slot * GameEventRecord.SIZE, GameEventRecord.SIZE);
+		published.set(slot, sequence);
+		return true;
+	}
+
+	/**
+	 * @return number of records dropped because the ring was full
+	 */
+	public long getDroppedCount() {
+		return dropped.sum();
+	}
+
+	private void drain() {
+		long next = consumed.get();
+
+		try {
+			while (running || next < claimed.get()) {
+				int slot = (int) (next % capacity);
+
+				if (published.get(slot) != next) {
+					out.flush();
+					if (running) LockSupport.parkNanos(IDLE_PARK_NANOS);
+					else Thread.yield(); // a producer claimed the slot but has not published it yet
+					continue;
+				}
+
+				out.write(ring, slot * GameEventRecord.SIZE, GameEventRecord.SIZE);
+				consumed.set(++next);
+			}
+			out.flush();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Writes out every record appended so far, then closes the output stream.
+	 */
+	@Override
+	public void close() {
+		running = false;
+		try {
+			drainThread.join();
+			out.close();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+}
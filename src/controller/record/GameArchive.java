@@ -0,0 +1,256 @@
+package controller.record;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Append-only store of {@link GameRecord}s in memory-mapped segment files of a fixed
+ * size. Every game is stored as a 16 byte entry header followed by the bytes of its
+ * record:
+ *
+ * <pre>
+ *  0-3  length of the record, written last so a torn append is never read
+ *  4    winner, 0 for a game that had not ended
+ *  5-7  unused
+ *  8-15 game id
+ * </pre>
+ *
+ * Game ids count up from 0. A sparse index in memory holds where every
+ * {@link #INDEX_INTERVAL}th game starts and which winners occur in the games from
+ * there, so finding a game reads at most that many entry headers and a scan by
+ * outcome skips the blocks without a matching game. The index is rebuilt from the
+ * entry headers when an archive is opened.
+ *
+ * Records are handed out as buffers over the mapped files, so nothing is copied or
+ * deserialised to replay or inspect them. An archive must not be used from several
+ * threads at once.
+ */
+public class GameArchive implements AutoCloseable {
+
+	public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+	public static final int ENTRY_HEADER_SIZE = 16;
+	public static final int INDEX_INTERVAL = 64;
+
+	protected final Path directory;
+	protected final int segmentSize;
+	protected final List<MappedByteBuffer> segments = new ArrayList<MappedByteBuffer>();
+
+	private long gameCount;
+	private int writeOffset;
+
+	/*
+	 * Sparse index, one element per block of INDEX_INTERVAL games
+	 */
+	private int[] blockSegments = new int[64];
+	private int[] blockOffsets = new int[64];
+	private byte[] blockWinners = new byte[64];
+
+	public GameArchive(Path directory) throws IOException {
+		this(directory, DEFAULT_SEGMENT_SIZE);
+	}
+
+	/**
+	 * Opens the archive in the directory, creating it if there is none.
+	 *
+	 * @param directory
+	 * @param segmentSize size of every segment file, must be the same each time the
+	 *        archive is opened
+	 * @throws IOException
+	 */
+	public GameArchive(Path directory, int segmentSize) throws IOException {
+		this.directory = directory;
+		this.segmentSize = segmentSize;
+		Files.createDirectories(directory);
+
+		List<Path> files = new ArrayList<Path>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "games-*.seg")) {
+			stream.forEach(files::add);
+		}
+		files.sort(null);
+
+		for (Path file : files) {
+			MappedByteBuffer segment = map(file);
+			segments.add(segment);
+			writeOffset = 0;
+
+			int length;
+			while ((length = segment.getInt(writeOffset)) != 0) {
+				index(segments.size() - 1, writeOffset, segment.get(writeOffset + 4));
+				writeOffset += ENTRY_HEADER_SIZE + length;
+			}
+		}
+		if (segments.isEmpty()) addSegment();
+	}
+
+	private MappedByteBuffer map(Path file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+		}
+	}
+
+	private void addSegment() throws IOException {
+		segments.add(map(directory.resolve(String.format("games-%06d.seg", segments.size()))));
+		writeOffset = 0;
+	}
+
+	public long append(GameRecord record) throws IOException {
+		return append(record.asByteBuffer());
+	}
+
+	/**
+	 * Appends the record between the position and the limit of the buffer.
+	 *
+	 * @param record
+	 * @return the id of the game
+	 * @throws IOException
+	 */
+	public long append(ByteBuffer record) throws IOException {
+		int length = record.remaining();
+		int entrySize = ENTRY_HEADER_SIZE + length;
+
+		// room is left for the zero length that ends a segment
+		if (entrySize + 4 > segmentSize) throw new IllegalArgumentException("Record of " + length + " bytes does not fit in a segment");
+		if (writeOffset + entrySize + 4 > segmentSize) addSegment();
+
+		MappedByteBuffer segment = segments.get(segments.size() - 1);
+		int winner = GameRecord.winner(record);
+
+		ByteBuffer target = segment.duplicate();
+		target.position(writeOffset + ENTRY_HEADER_SIZE);
+		target.put(record.duplicate());
+		segment.put(writeOffset + 4, (byte) winner);
+		segment.putLong(writeOffset + 8, gameCount);
+		segment.putInt(writeOffset, length);
+
+		long gameId = gameCount;
+		index(segments.size() - 1, writeOffset, winner);
+		writeOffset += entrySize;
+		return gameId;
+	}
+
+	private void index(int segment, int offset, int winner) {
+		int block = (int) (gameCount / INDEX_INTERVAL);
+		if (gameCount % INDEX_INTERVAL == 0) {
+			if (block == blockSegments.length) {
+				blockSegments = Arrays.copyOf(blockSegments, block * 2);
+				blockOffsets = Arrays.copyOf(blockOffsets, block * 2);
+				blockWinners = Arrays.copyOf(blockWinners, block * 2);
+			}
+			blockSegments[block] = segment;
+			blockOffsets[block] = offset;
+		}
+		blockWinners[block] |= 1 << winner;
+		gameCount++;
+	}
+
+	/**
+	 * @return number of games in the archive
+	 */
+	public long size() {
+		return gameCount;
+	}
+
+	/**
+	 * @param gameId
+	 * @return a read only buffer over the record of the game in the mapped file
+	 */
+	public ByteBuffer get(long gameId) {
+		if (gameId < 0 || gameId >= gameCount) throw new IndexOutOfBoundsException("No game " + gameId);
+
+		int block = (int) (gameId / INDEX_INTERVAL);
+		int segmentIndex = blockSegments[block];
+		ByteBuffer segment = segments.get(segmentIndex);
+		int offset = blockOffsets[block];
+
+		for (long id = (long) block * INDEX_INTERVAL; id < gameId; id++) {
+			offset += ENTRY_HEADER_SIZE + segment.getInt(offset);
+			if (segment.getInt(offset) == 0) {
+				segment = segments.get(++segmentIndex);
+				offset = 0;
+			}
+		}
+
+		ByteBuffer record = segment.asReadOnlyBuffer();
+		record.limit(offset + ENTRY_HEADER_SIZE + segment.getInt(offset)).position(offset + ENTRY_HEADER_SIZE);
+		return record.slice();
+	}
+
+	/**
+	 * Visits every game in order. The buffer is reused for every call, with its
+	 * position and limit around the record, and is only valid during the call.
+	 *
+	 * @param visitor receives the record and the game id
+	 */
+	public void forEach(ObjLongConsumer<ByteBuffer> visitor) {
+		scan(-1, visitor);
+	}
+
+	/**
+	 * Visits the games with the given outcome in order, skipping every indexed block
+	 * without one. The buffer is reused as by {@link #forEach}.
+	 *
+	 * @param winner player who won, or 0 for games that had not ended
+	 * @param visitor receives the record and the game id
+	 */
+	public void forEachWithWinner(int winner, ObjLongConsumer<ByteBuffer> visitor) {
+		scan(winner, visitor);
+	}
+
+	private void scan(int winner, ObjLongConsumer<ByteBuffer> visitor) {
+		long blocks = (gameCount + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+		ByteBuffer record = null;
+		int recordSegment = -1;
+
+		for (int block = 0; block < blocks; block++) {
+			if (winner >= 0 && (blockWinners[block] & 1 << winner) == 0) continue;
+
+			int segmentIndex = blockSegments[block];
+			int offset = blockOffsets[block];
+			long end = Math.min(gameCount, (long) (block + 1) * INDEX_INTERVAL);
+
+			for (long id = (long) block * INDEX_INTERVAL; id < end; id++) {
+				ByteBuffer segment = segments.get(segmentIndex);
+				if (segment.getInt(offset) == 0) {
+					segment = segments.get(++segmentIndex);
+					offset = 0;
+				}
+				int length = segment.getInt(offset);
+
+				if (winner < 0 || segment.get(offset + 4) == winner) {
+					if (recordSegment != segmentIndex) {
+						record = segment.asReadOnlyBuffer();
+						recordSegment = segmentIndex;
+					}
+					record.limit(offset + ENTRY_HEADER_SIZE + length).position(offset + ENTRY_HEADER_SIZE);
+					visitor.accept(record, id);
+				}
+				offset += ENTRY_HEADER_SIZE + length;
+			}
+		}
+	}
+
+	/**
+	 * Writes every appended game to the files.
+	 */
+	public void flush() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+	}
+
+	@Override
+	public void close() {
+		flush();
+		segments.clear();
+	}
+}
@@ -0,0 +1,231 @@
+package controller.record;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import model.IdiotGameConfiguration;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Compact, append-only record of one game: how it was dealt and every successful
+ * action taken in it, in order. Layout:
+ *
+ * <pre>
+ *  0-7  seed the deck was shuffled with (big endian)
+ *  8    number of players
+ *  9    restart rank ordinal
+ *  10   burn rank ordinal
+ *  11   reverse rank ordinal
+ *  12   format version
+ *  13-15 unused
+ *  16-  entries
+ * </pre>
+ *
+ * Every entry starts with one byte holding the entry type in the high four bits and
+ * the player in the low four. A {@link #SWAP} is followed by the ordinals of the hand
+ * and the table card, {@link #PLAY_CARDS} by a card count and the card ordinals; the
+ * other entries are that one byte. {@link #GAME_ENDED} holds the winner as its player
+ * and is always the last entry of a finished game.
+ *
+ * A record may be read from any thread once it is no longer appended to.
+ */
+public class GameRecord {
+
+	public static final int HEADER_SIZE = 16;
+	public static final byte FORMAT_VERSION = 1;
+
+	public static final int SWAP = 1;
+	public static final int DONE_SWAPPING = 2;
+	public static final int BEGIN_PLAY = 3;
+	public static final int TAKE_PILE = 4;
+	public static final int PLAY_TOP_OF_DECK = 5;
+	public static final int PLAY_CARDS = 6;
+	public static final int GAME_ENDED = 7;
+
+	private byte[] bytes;
+	private int length;
+
+	public GameRecord(long seed, int numberOfPlayers, IdiotGameConfiguration config) {
+		bytes = new byte[256];
+		ByteBuffer.wrap(bytes).putLong(seed);
+		bytes[8] = (byte) numberOfPlayers;
+		bytes[9] = (byte) config.restartCard.ordinal();
+		bytes[10] = (byte) config.burnCard.ordinal();
+		bytes[11] = (byte) config.reverseCard.ordinal();
+		bytes[12] = FORMAT_VERSION;
+		length = HEADER_SIZE;
+	}
+
+	/**
+	 * Wraps the bytes of a record without copying them.
+	 *
+	 * @param bytes
+	 * @param length number of bytes that belong to the record
+	 */
+	public GameRecord(byte[] bytes, int length) {
+		if (length < HEADER_SIZE || bytes[12] != FORMAT_VERSION)
+			throw new IllegalArgumentException("Not a game record of format version " + FORMAT_VERSION);
+		this.bytes = bytes;
+		this.length = length;
+	}
+
+	public void appendSwap(int player, Card handCard, Card tableCard) {
+		ensureCapacity(3);
+		bytes[length++] = entry(SWAP, player);
+		bytes[length++] = (byte) handCard.getOrdinal();
+		bytes[length++] = (byte) tableCard.getOrdinal();
+	}
+
+	public void appendDoneSwapping(int player) {
+		appendEntry(DONE_SWAPPING, player);
+	}
+
+	public void appendBeginPlay() {
+		appendEntry(BEGIN_PLAY, 0);
+	}
+
+	public void appendMove(int player, Move move) {
+		if (move instanceof TakePileMove) {
+			appendEntry(TAKE_PILE, player);
+		} else if (move instanceof PlayTopOfDeck) {
+			appendEntry(PLAY_TOP_OF_DECK, player);
+		} else if (move instanceof PlayOneCardMove) {
+			appendCards(player, Arrays.asList(((PlayOneCardMove) move).card));
+		} else if (move instanceof PlayMultipleCardsMove) {
+			appendCards(player, ((PlayMultipleCardsMove) move).cards);
+		} else {
+			throw new IllegalArgumentException("Move is not a known type");
+		}
+	}
+
+	public void appendGameEnded(int winner) {
+		appendEntry(GAME_ENDED, winner);
+	}
+
+	/**
+	 * Appends entries taken from the bytes of another record, between the position and
+	 * the limit of the buffer, which is left unchanged.
+	 */
+	public void appendEntries(ByteBuffer entries) {
+		int count = entries.remaining();
+		ensureCapacity(count);
+		entries.duplicate().get(bytes, length, count);
+		length += count;
+	}
+
+	private void appendCards(int player, List<Card> cards) {
+		ensureCapacity(2 + cards.size());
+		bytes[length++] = entry(PLAY_CARDS, player);
+		bytes[length++] = (byte) cards.size();
+		for (Card card : cards) {
+			bytes[length++] = (byte) card.getOrdinal();
+		}
+	}
+
+	private void appendEntry(int type, int player) {
+		ensureCapacity(1);
+		bytes[length++] = entry(type, player);
+	}
+
+	private static byte entry(int type, int player) {
+		return (byte) (type << 4 | player);
+	}
+
+	private void ensureCapacity(int extra) {
+		if (length + extra > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+	}
+
+	public long getSeed() {
+		return seed(asByteBuffer());
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers(asByteBuffer());
+	}
+
+	public IdiotGameConfiguration getConfiguration() {
+		return configuration(asByteBuffer());
+	}
+
+	/**
+	 * @return the winner, or 0 if the game has not ended
+	 */
+	public int getWinner() {
+		return winner(asByteBuffer());
+	}
+
+	/**
+	 * @return number of bytes of the record
+	 */
+	public int size() {
+		return length;
+	}
+
+	/**
+	 * @return the bytes of the record, read only and without copying
+	 */
+	public ByteBuffer asByteBuffer() {
+		return ByteBuffer.wrap(bytes, 0, length).slice().asReadOnlyBuffer();
+	}
+
+	public byte[] toByteArray() {
+		return Arrays.copyOf(bytes, length);
+	}
+
+	/**
+	 * Writes the record prefixed by its length, so records can be written one after
+	 * another to the same stream.
+	 */
+	public void writeTo(DataOutput out) throws IOException {
+		out.writeInt(length);
+		out.write(bytes, 0, length);
+	}
+
+	public static GameRecord readFrom(DataInput in) throws IOException {
+		int length = in.readInt();
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return new GameRecord(bytes, length);
+	}
+
+	/*
+	 * The header and the outcome read straight from the bytes of a record, e.g. from a
+	 * slice of an archive file. Offsets are relative to the buffer's position.
+	 */
+
+	public static long seed(ByteBuffer record) {
+		return record.getLong(record.position());
+	}
+
+	public static int numberOfPlayers(ByteBuffer record) {
+		return record.get(record.position() + 8);
+	}
+
+	public static IdiotGameConfiguration configuration(ByteBuffer record) {
+		GameCardRank[] ranks = GameCardRank.values();
+		int start = record.position();
+		return new IdiotGameConfiguration(ranks[record.get(start + 9)], ranks[record.get(start + 10)], ranks[record.get(start + 11)]);
+	}
+
+	/**
+	 * Only a {@link #GAME_ENDED} entry can be the last byte with a type in its high bits,
+	 * every other entry that is longer than a byte ends in a card ordinal.
+	 *
+	 * @return the winner, or 0 if the game has not ended
+	 */
+	public static int winner(ByteBuffer record) {
+		if (record.remaining() <= HEADER_SIZE) return 0;
+		int last = record.get(record.limit() - 1);
+		return (last >> 4) == GAME_ENDED ? last & 0x0F : 0;
+	}
+}
@@ -0,0 +1,114 @@
+package controller.record;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+
+import controller.IGameStateChangeListener;
+import controller.IIdiotGameEngine;
+import controller.IRuleConfigurationLoader;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.card.Card;
+import model.move.Move;
+import model.move.MoveResult;
+
+/**
+ * Engine that passes every call on to another engine and records each successful
+ * action in a {@link GameRecord}. The deck is shuffled from a seed that is drawn from
+ * the random number generator set on the recorder, so the record can be replayed
+ * exactly by a {@link GameReplayer}.
+ */
+public class GameRecorder implements IIdiotGameEngine {
+
+	protected final IIdiotGameEngine engine;
+	protected Random random;
+	protected GameRecord record;
+
+	public GameRecorder(IIdiotGameEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * Goes on recording a game the engine already holds, e.g. after the record was
+	 * replayed on it.
+	 *
+	 * @param engine
+	 * @param record record of the game the engine is in
+	 */
+	public GameRecorder(IIdiotGameEngine engine, GameRecord record) {
+		this.engine = engine;
+		this.record = record;
+	}
+
+	/**
+	 * @return the record of the current game, which grows as it is played
+	 */
+	public GameRecord getRecord() {
+		return record;
+	}
+
+	@Override
+	public IdiotGameStateFacade getCurrentGameState() {
+		return engine.getCurrentGameState();
+	}
+
+	@Override
+	public void initializeNewGame(int numberOfPlayers, IRuleConfigurationLoader configLoader) {
+		long seed = (random != null ? random : ThreadLocalRandom.current()).nextLong();
+		IdiotGameConfiguration config = configLoader.loadRules();
+
+		engine.setRandom(new Random(seed));
+		engine.initializeNewGame(numberOfPlayers, () -> config);
+		record = new GameRecord(seed, numberOfPlayers, config);
+	}
+
+	@Override
+	public void setRandom(Random random) {
+		this.random = random;
+	}
+
+	@Override
+	public MoveResult requestHandToTableCardSwap(int playerRequesting, Card handCard, Card tableCard) {
+		MoveResult result = engine.requestHandToTableCardSwap(playerRequesting, handCard, tableCard);
+		if (result.isSuccess()) record.appendSwap(playerRequesting, handCard, tableCard);
+		return result;
+	}
+
+	@Override
+	public void playerDoneSwapping(int playerNumber) {
+		engine.playerDoneSwapping(playerNumber);
+		record.appendDoneSwapping(playerNumber);
+	}
+
+	@Override
+	public void beginPlay() {
+		engine.beginPlay();
+		record.appendBeginPlay();
+	}
+
+	@Override
+	public MoveResult submitMove(int playerRequesting, Move move) {
+		MoveResult result = engine.submitMove(playerRequesting, move);
+		if (result.isSuccess()) {
+			record.appendMove(playerRequesting, move);
+			if (result.isGameEnded()) record.appendGameEnded(engine.getCurrentGameState().CurrentPlayerTurn());
+		}
+		return result;
+	}
+
+	@Override
+	public List<Move> getLegalMoves(int playerNumber) {
+		return engine.getLegalMoves(playerNumber);
+	}
+
+	@Override
+	public List<Card> getPileById(String shortID) {
+		return engine.getPileById(shortID);
+	}
+
+	@Override
+	public void addStateChangeListener(IGameStateChangeListener listener) {
+		engine.addStateChangeListener(listener);
+	}
+}
@@ -0,0 +1,191 @@
+package controller.record;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import controller.IIdiotGameEngine;
+import controller.simulation.GameSimulator;
+import model.IdiotGameConfiguration;
+import model.card.Card;
+import model.card.GameCard;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Feeds a {@link GameRecord} back through an engine at full speed and checks that
+ * every recorded action succeeds again, that the game ends exactly where the record
+ * says it did and with the same winner. A replayer reuses its engine for every game
+ * it replays, so one replayer per thread can re-check any number of games.
+ */
+public class GameReplayer {
+
+	private static final int REPLAY_BATCH_SIZE = 10000;
+
+	private static final Move TAKE_PILE = new TakePileMove("pile", "hand");
+	private static final Move PLAY_TOP_OF_DECK = new PlayTopOfDeck("drawCards", "pile");
+
+	protected final IIdiotGameEngine engine;
+
+	public GameReplayer() {
+		this(GameSimulator.createEngine());
+	}
+
+	public GameReplayer(IIdiotGameEngine engine) {
+		this.engine = engine;
+	}
+
+	/**
+	 * @return the engine, holding the state at the end of the last replayed game
+	 */
+	public IIdiotGameEngine getEngine() {
+		return engine;
+	}
+
+	public int replay(GameRecord record) {
+		return replay(record.asByteBuffer());
+	}
+
+	/**
+	 * Replays the record between the position and the limit of the buffer, which is
+	 * left unchanged.
+	 *
+	 * @param record
+	 * @return the winner, or 0 for a game that had not ended when it was recorded
+	 * @throws IllegalStateException if the replay differs from the record
+	 */
+	public int replay(ByteBuffer record) {
+		int start = record.position();
+		int end = record.limit();
+		IdiotGameConfiguration config = GameRecord.configuration(record);
+
+		engine.setRandom(new Random(GameRecord.seed(record)));
+		engine.initializeNewGame(GameRecord.numberOfPlayers(record), () -> config);
+
+		int offset = start + GameRecord.HEADER_SIZE;
+		while (offset < end) {
+			int entry = record.get(offset);
+			int type = entry >> 4;
+			int player = entry & 0x0F;
+			MoveResult result = null;
+
+			switch (type) {
+			case GameRecord.SWAP:
+				result = engine.requestHandToTableCardSwap(player, card(record, offset + 1), card(record, offset + 2));
+				offset += 3;
+				break;
+			case GameRecord.DONE_SWAPPING:
+				engine.playerDoneSwapping(player);
+				offset++;
+				break;
+			case GameRecord.BEGIN_PLAY:
+				engine.beginPlay();
+				offset++;
+				break;
+			case GameRecord.TAKE_PILE:
+				result = engine.submitMove(player, TAKE_PILE);
+				offset++;
+				break;
+			case GameRecord.PLAY_TOP_OF_DECK:
+				result = engine.submitMove(player, PLAY_TOP_OF_DECK);
+				offset++;
+				break;
+			case GameRecord.PLAY_CARDS:
+				int count = record.get(offset + 1);
+				result = engine.submitMove(player, playCards(record, offset + 2, count));
+				offset += 2 + count;
+				break;
+			default:
+				throw new IllegalStateException("Unexpected entry " + type + " at byte " + (offset - start));
+			}
+
+			if (result == null) continue;
+			if (!result.isSuccess())
+				throw new IllegalStateException("Recorded action at byte " + (offset - start) + " failed on replay: " + result.getMessage());
+
+			boolean recordEnds = offset < end && record.get(offset) >> 4 == GameRecord.GAME_ENDED;
+			if (result.isGameEnded() != recordEnds)
+				throw new IllegalStateException("Game " + (recordEnds ? "did not end" : "ended") + " on replay at byte " + (offset - start));
+
+			if (recordEnds) {
+				int winner = record.get(offset) & 0x0F;
+				if (winner != engine.getCurrentGameState().CurrentPlayerTurn() || offset + 1 != end)
+					throw new IllegalStateException("Recorded winner " + winner + " differs from replay");
+				return winner;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Re-checks every record of a file written with {@link GameRecord#writeTo}:
+	 * <code>GameReplayer [records file]</code>. Records are replayed in batches on all
+	 * processors; every record that does not replay is printed.
+	 *
+	 * @param args
+	 * @throws IOException
+	 */
+	public static void main(String[] args) throws IOException {
+		ThreadLocal<GameReplayer> replayers = ThreadLocal.withInitial(GameReplayer::new);
+		AtomicLong games = new AtomicLong();
+		AtomicLong failures = new AtomicLong();
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(args[0])))) {
+			List<GameRecord> batch = new ArrayList<GameRecord>(REPLAY_BATCH_SIZE);
+			boolean more = true;
+
+			while (more) {
+				try {
+					batch.add(GameRecord.readFrom(in));
+				} catch (EOFException e) {
+					more = false;
+				}
+
+				if (batch.size() == REPLAY_BATCH_SIZE || !more) {
+					long first = games.get();
+					IntStream.range(0, batch.size()).parallel().forEach(i -> {
+						try {
+							replayers.get().replay(batch.get(i));
+						} catch (RuntimeException e) {
+							failures.incrementAndGet();
+							System.out.println("Game " + (first + i) + ": " + e.getMessage());
+						}
+					});
+					games.addAndGet(batch.size());
+					batch.clear();
+				}
+			}
+		}
+
+		System.out.println(games + " games replayed, " + failures + " failed");
+		if (failures.get() > 0) System.exit(1);
+	}
+
+	private static Card card(ByteBuffer record, int offset) {
+		return GameCard.of(record.get(offset));
+	}
+
+	private static Move playCards(ByteBuffer record, int offset, int count) {
+		if (count == 1) {
+			Card card = card(record, offset);
+			return new PlayOneCardMove(card.getId(), "pile", card);
+		}
+		List<Card> cards = new ArrayList<Card>(count);
+		for (int i = 0; i < count; i++) {
+			cards.add(card(record, offset + i));
+		}
+		return new PlayMultipleCardsMove(cards.toString(), "pile", cards);
+	}
+}
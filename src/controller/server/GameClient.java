@@ -0,0 +1,124 @@
+package controller.server;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import model.card.Card;
+import model.move.Move;
+import model.move.MoveResult;
+
+/**
+ * Blocking client for {@link GameServer}. Requests can be pipelined: any number can be
+ * sent before reading their responses, which arrive in the order the requests were sent.
+ * Not thread safe.
+ */
+public class GameClient implements AutoCloseable {
+
+	protected final SocketChannel channel;
+	private final ByteBuffer out = ByteBuffer.allocate(256 * WireFormat.SIZE);
+	private final ByteBuffer in = (ByteBuffer) ByteBuffer.allocate(256 * WireFormat.SIZE).limit(0);
+	private final byte[] request = new byte[WireFormat.SIZE];
+	private int nextSequence;
+
+	public GameClient(InetSocketAddress address) throws IOException {
+		channel = SocketChannel.open(address);
+		channel.socket().setTcpNoDelay(true);
+	}
+
+	/**
+	 * @return id of the new table, which is dealt and in the card swapping phase
+	 */
+	public int openTable(int numberOfPlayers) throws IOException {
+		WireFormat.writeRequest(request, nextSequence++, 0, WireFormat.OPEN_TABLE, numberOfPlayers);
+		send(request);
+		flush();
+		byte[] response = receive();
+		if (WireFormat.isError(response)) throw new IOException("Server refused to open a table for " + numberOfPlayers + " players");
+		return WireFormat.tableId(response);
+	}
+
+	public MoveResult requestHandToTableCardSwap(int tableId, int player, Card handCard, Card tableCard) throws IOException {
+		WireFormat.writeRequest(request, nextSequence++, tableId, WireFormat.SWAP, player);
+		WireFormat.writeCard(request, 0, handCard);
+		WireFormat.writeCard(request, 1, tableCard);
+		return call();
+	}
+
+	public MoveResult playerDoneSwapping(int tableId, int player) throws IOException {
+		WireFormat.writeRequest(request, nextSequence++, tableId, WireFormat.DONE_SWAPPING, player);
+		return call();
+	}
+
+	/**
+	 * @param player the last player, whose turn it is once everyone before them is done swapping
+	 */
+	public MoveResult beginPlay(int tableId, int player) throws IOException {
+		WireFormat.writeRequest(request, nextSequence++, tableId, WireFormat.BEGIN_PLAY, player);
+		return call();
+	}
+
+	public MoveResult submitMove(int tableId, int player, Move move) throws IOException {
+		sendMove(tableId, player, move);
+		flush();
+		return WireFormat.readResult(receive());
+	}
+
+	/**
+	 * Queues a move without waiting for its result. Queued requests are sent when the
+	 * buffer fills up or on {@link #flush()}.
+	 *
+	 * @return sequence number of the request
+	 */
+	public int sendMove(int tableId, int player, Move move) throws IOException {
+		int sequence = nextSequence++;
+		WireFormat.writeMove(request, sequence, tableId, player, move);
+		send(request);
+		return sequence;
+	}
+
+	public void send(byte[] frame) throws IOException {
+		if (out.remaining() < frame.length) flush();
+		out.put(frame);
+	}
+
+	public void flush() throws IOException {
+		out.flip();
+		while (out.hasRemaining()) {
+			channel.write(out);
+		}
+		out.clear();
+	}
+
+	/**
+	 * Blocks until the next response arrives.
+	 *
+	 * @return a new response frame
+	 */
+	public byte[] receive() throws IOException {
+		while (in.remaining() < WireFormat.SIZE) {
+			in.compact();
+			int read = channel.read(in);
+			in.flip();
+			if (read < 0) throw new EOFException("Server closed the connection");
+		}
+		byte[] response = new byte[WireFormat.SIZE];
+		in.get(response);
+		return response;
+	}
+
+	private MoveResult call() throws IOException {
+		send(request);
+		flush();
+		byte[] response = receive();
+		if (WireFormat.isError(response)) throw new IOException("Table " + WireFormat.tableId(response) + " could not run the request");
+		return WireFormat.readResult(response);
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
@@ -0,0 +1,317 @@
+package controller.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import controller.IRuleConfigurationLoader;
+import controller.IdiotGameEngine;
+import controller.RuleConfigurationLoader;
+import controller.simulation.GameSimulator;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.move.Move;
+
+/**
+ * Lets remote clients play on the tables of a {@link TableManager} over TCP, using the
+ * {@link WireFormat} frames. One selector thread reads and writes every connection;
+ * requests are run on the tables' shards. Clients may pipeline requests, and each
+ * connection gets its responses in the order it sent the requests, whichever shards
+ * they ran on.
+ */
+public class GameServer implements Runnable, AutoCloseable {
+
+	/**
+	 * Requests a connection may have running before it is read from again
+	 */
+	public static final int MAX_PIPELINED_REQUESTS = 4096;
+
+	protected static final int BUFFER_SIZE = 1024 * WireFormat.SIZE;
+
+	protected final TableManager tables;
+	protected final IRuleConfigurationLoader configLoader;
+	protected final Selector selector;
+	protected final ServerSocketChannel serverChannel;
+
+	/**
+	 * Connections with responses that completed since the selector last looked
+	 */
+	private final Queue<Connection> completed = new ConcurrentLinkedQueue<Connection>();
+	private final AtomicBoolean wakeupRequested = new AtomicBoolean();
+	private volatile boolean running = true;
+	private Thread thread;
+
+	/**
+	 * @param tables tables played on; not closed by the server
+	 * @param configLoader rules of the tables clients open
+	 * @param address use port 0 for any free port
+	 * @throws IOException
+	 */
+	public GameServer(TableManager tables, IRuleConfigurationLoader configLoader, InetSocketAddress address) throws IOException {
+		this.tables = tables;
+		this.configLoader = configLoader;
+		this.selector = Selector.open();
+		this.serverChannel = ServerSocketChannel.open();
+		serverChannel.bind(address);
+		serverChannel.configureBlocking(false);
+		serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+	}
+
+	public InetSocketAddress getAddress() throws IOException {
+		return (InetSocketAddress) serverChannel.getLocalAddress();
+	}
+
+	/**
+	 * Runs the selector loop on a new thread.
+	 */
+	public void start() {
+		thread = new Thread(this, "game-server");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select();
+				wakeupRequested.set(false);
+
+				Connection connection;
+				while ((connection = completed.poll()) != null) {
+					connection.flush();
+				}
+
+				Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+				while (keys.hasNext()) {
+					SelectionKey key = keys.next();
+					keys.remove();
+					if (!key.isValid()) continue;
+
+					if (key.isAcceptable()) {
+						accept();
+					} else {
+						connection = (Connection) key.attachment();
+						try {
+							if (key.isReadable()) connection.read();
+							if (key.isValid() && key.isWritable()) connection.flush();
+						} catch (IOException e) {
+							connection.close();
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Game server stopped", e);
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				closeQuietly(key);
+			}
+		}
+	}
+
+	private void accept() throws IOException {
+		SocketChannel channel = serverChannel.accept();
+		if (channel == null) return;
+		channel.configureBlocking(false);
+		channel.socket().setTcpNoDelay(true);
+		SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+		key.attach(new Connection(channel, key));
+	}
+
+	/**
+	 * Runs one request frame. Players end the swapping phase in turn: each player but the
+	 * last sends {@link WireFormat#DONE_SWAPPING}, and the last one, once the turn has come
+	 * round to them, sends {@link WireFormat#BEGIN_PLAY}. Either request is refused out of turn.
+	 *
+	 * @return completes with the response frame; never completes exceptionally
+	 */
+	protected CompletableFuture<byte[]> dispatch(byte[] request) {
+		int tableId = WireFormat.tableId(request);
+		int player = WireFormat.player(request);
+
+		switch (WireFormat.requestType(request)) {
+		case WireFormat.OPEN_TABLE:
+			if (player < IdiotGameEngine.MIN_PLAYERS || player > IdiotGameEngine.MAX_PLAYERS) break;
+			return recover(request, tables.openTable(player, configLoader).thenApply(newTableId ->
+					WireFormat.response(request, (int) (long) newTableId, WireFormat.FLAG_SUCCESS, WireFormat.NO_MESSAGE, 0)));
+		case WireFormat.SWAP:
+			return recover(request, tables.send(tableId, engine -> WireFormat.response(request, tableId,
+					engine.requestHandToTableCardSwap(player, WireFormat.card(request, 0), WireFormat.card(request, 1)),
+					engine.getCurrentGameState().CurrentPlayerTurn())));
+		case WireFormat.DONE_SWAPPING:
+			return recover(request, tables.send(tableId, engine -> {
+				IdiotGameStateFacade state = engine.getCurrentGameState();
+				if (!isSwappingTurn(state, player) || player == state.getPlayerPlaces().size()) return WireFormat.errorResponse(request);
+				engine.playerDoneSwapping(player);
+				return WireFormat.response(request, tableId, WireFormat.FLAG_SUCCESS, WireFormat.NO_MESSAGE, engine.getCurrentGameState().CurrentPlayerTurn());
+			}));
+		case WireFormat.BEGIN_PLAY:
+			return recover(request, tables.send(tableId, engine -> {
+				IdiotGameStateFacade state = engine.getCurrentGameState();
+				if (!isSwappingTurn(state, player) || player != state.getPlayerPlaces().size()) return WireFormat.errorResponse(request);
+				engine.beginPlay();
+				return WireFormat.response(request, tableId, WireFormat.FLAG_SUCCESS, WireFormat.NO_MESSAGE, engine.getCurrentGameState().CurrentPlayerTurn());
+			}));
+		case WireFormat.SUBMIT_MOVE:
+			Move move = WireFormat.readMove(request);
+			if (move == null) break;
+			return recover(request, tables.send(tableId, engine -> WireFormat.response(request, tableId,
+					engine.submitMove(player, move), engine.getCurrentGameState().CurrentPlayerTurn())));
+		case WireFormat.CLOSE_TABLE:
+			return recover(request, tables.closeTable(tableId).thenApply(closed -> closed
+					? WireFormat.response(request, tableId, WireFormat.FLAG_SUCCESS, WireFormat.NO_MESSAGE, 0)
+					: WireFormat.errorResponse(request)));
+		}
+		return CompletableFuture.completedFuture(WireFormat.errorResponse(request));
+	}
+
+	/**
+	 * @return whether the table is swapping cards and it is the player's turn
+	 */
+	private static boolean isSwappingTurn(IdiotGameStateFacade state, int player) {
+		return state.CurrentGamePhase() == GamePhases.CardSwapping && state.CurrentPlayerTurn() == player;
+	}
+
+	private static CompletableFuture<byte[]> recover(byte[] request, CompletableFuture<byte[]> response) {
+		return response.exceptionally(e -> WireFormat.errorResponse(request));
+	}
+
+	/**
+	 * Wakes the selector at most once per pass when responses complete on the shards.
+	 */
+	private void responseCompleted(Connection connection) {
+		completed.add(connection);
+		if (wakeupRequested.compareAndSet(false, true)) selector.wakeup();
+	}
+
+	@Override
+	public void close() throws IOException {
+		running = false;
+		selector.wakeup();
+		if (thread != null) {
+			try {
+				thread.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		serverChannel.close();
+		selector.close();
+	}
+
+	private static void closeQuietly(SelectionKey key) {
+		try {
+			key.channel().close();
+		} catch (IOException e) {
+			// already closing
+		}
+	}
+
+	/**
+	 * A client connection. Only used on the selector thread, apart from the completion
+	 * callbacks that queue it to be flushed.
+	 */
+	protected class Connection {
+
+		final SocketChannel channel;
+		final SelectionKey key;
+		final ByteBuffer in = ByteBuffer.allocate(BUFFER_SIZE);
+		final ByteBuffer out = ByteBuffer.allocate(BUFFER_SIZE);
+
+		/**
+		 * Responses in request order
+		 */
+		final ArrayDeque<CompletableFuture<byte[]>> pending = new ArrayDeque<CompletableFuture<byte[]>>();
+
+		Connection(SocketChannel channel, SelectionKey key) {
+			this.channel = channel;
+			this.key = key;
+		}
+
+		void read() throws IOException {
+			if (channel.read(in) < 0) {
+				close();
+				return;
+			}
+
+			in.flip();
+			while (in.remaining() >= WireFormat.SIZE && pending.size() < MAX_PIPELINED_REQUESTS) {
+				byte[] request = new byte[WireFormat.SIZE];
+				in.get(request);
+
+				CompletableFuture<byte[]> response;
+				try {
+					response = dispatch(request);
+				} catch (RuntimeException e) {
+					response = CompletableFuture.completedFuture(WireFormat.errorResponse(request));
+				}
+				pending.add(response);
+				if (!response.isDone()) response.thenRun(() -> responseCompleted(this));
+			}
+			in.compact();
+
+			flush();
+		}
+
+		/**
+		 * Writes the completed responses at the head of the queue, then sets which
+		 * events the connection waits for.
+		 */
+		void flush() throws IOException {
+			if (!key.isValid()) return;
+
+			while (!pending.isEmpty() && pending.peek().isDone() && out.remaining() >= WireFormat.SIZE) {
+				out.put(pending.poll().join());
+			}
+
+			out.flip();
+			channel.write(out);
+			out.compact();
+
+			int interest = 0;
+			if (out.position() > 0 || (!pending.isEmpty() && pending.peek().isDone())) interest |= SelectionKey.OP_WRITE;
+			if (pending.size() < MAX_PIPELINED_REQUESTS && in.hasRemaining()) interest |= SelectionKey.OP_READ;
+			key.interestOps(interest);
+
+			// requests left unread while the pipeline was full
+			if (pending.size() < MAX_PIPELINED_REQUESTS && in.position() >= WireFormat.SIZE) read();
+		}
+
+		void close() {
+			key.cancel();
+			closeQuietly(key);
+		}
+	}
+
+	/**
+	 * Serves tables from the command line: <code>GameServer [port] [shards] [log directory]</code>.
+	 * Rules are read from the same configuration file as the UI. With a log directory,
+	 * the tables in it are reopened and every table is logged there.
+	 *
+	 * @param args
+	 * @throws Exception
+	 */
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 7070;
+		int shards = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+
+		TableLog log = args.length > 2 ? new TableLog(Paths.get(args[2])) : null;
+
+		TableManager tables = new TableManager(shards, GameSimulator::createEngine, log);
+		GameServer server = new GameServer(tables, new RuleConfigurationLoader("/configurationfiles/idiotRules.json"), new InetSocketAddress(port));
+		System.out.println("Serving tables on " + server.getAddress());
+		server.run();
+	}
+}
@@ -0,0 +1,431 @@
+package controller.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+import controller.record.GameRecord;
+
+/**
+ * Write-ahead log of the tables of a {@link TableManager}. Every change to a table is
+ * logged as the bytes its {@link GameRecord} grew by, and a change is only reported as
+ * written once it has been forced to disk. One writer thread writes everything logged
+ * while the disk was busy with the previous batch and forces it once, so the cost of a
+ * force is shared by all the tables that changed in the meantime.
+ *
+ * The log is kept in segment files <code>wal-NNNNNN.log</code>. A snapshot,
+ * <code>snapshot-NNNNNN.snap</code>, holds the records of every open table and the id
+ * after the highest table id ever logged, and takes the place of all segments before
+ * segment NNNNNN, which are deleted once it is written; recovery reads the newest
+ * snapshot and the segments written since. Every
+ * entry of a segment is a header followed by its payload:
+ *
+ * <pre>
+ *  0-3   length of the payload
+ *  4-7   CRC32 of the rest of the entry
+ *  8-15  table id
+ *  16-19 offset in the table's record the payload starts at
+ *  20    entry type
+ *  21-23 unused
+ *  24-   payload
+ * </pre>
+ *
+ * Reading a segment stops at the first torn or corrupt entry, since nothing written
+ * after it had been forced. Bytes a snapshot already holds are skipped by their offset.
+ */
+public class TableLog implements AutoCloseable {
+
+	public static final int ENTRY_HEADER_SIZE = 24;
+
+	public static final int OPEN = 1;
+	public static final int APPEND = 2;
+	public static final int CLOSE = 3;
+
+	private static final ByteBuffer NO_PAYLOAD = ByteBuffer.allocate(0);
+
+	protected final Path directory;
+	protected final Map<Long, GameRecord> recoveredTables = new HashMap<Long, GameRecord>();
+
+	private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<Pending>();
+	private final AtomicLong bytesSinceRoll = new AtomicLong();
+	private final AtomicLong nextTableId = new AtomicLong();
+	private final Thread writer;
+	private volatile IOException failure;
+
+	/*
+	 * Only used on the writer thread once it has started
+	 */
+	private FileChannel channel;
+	private int segment;
+
+	/**
+	 * Opens the log in the directory, creating it if there is none, and reads back the
+	 * tables it holds.
+	 *
+	 * @param directory
+	 * @throws IOException if a snapshot is corrupt or the entries of a table do not follow on
+	 */
+	public TableLog(Path directory) throws IOException {
+		this.directory = directory;
+		Files.createDirectories(directory);
+
+		List<Path> snapshots = list("snapshot-*.snap");
+		if (!snapshots.isEmpty()) segment = readSnapshot(snapshots.get(snapshots.size() - 1));
+
+		for (Path file : list("wal-*.log")) {
+			int number = number(file);
+			if (number < segment) continue;
+			readSegment(file);
+			segment = number + 1;
+		}
+		openSegment();
+
+		writer = new Thread(this::write, "table-log");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * @return the record of every table that was open when the log was last written to,
+	 *         by table id
+	 */
+	public Map<Long, GameRecord> getRecoveredTables() {
+		return recoveredTables;
+	}
+
+	/**
+	 * @return the id after the highest table id the log has held, including tables
+	 *         that are closed, so ids are not handed out again after a restart
+	 */
+	public long getNextTableId() {
+		return nextTableId.get();
+	}
+
+	/**
+	 * Logs a table that was dealt a new game.
+	 *
+	 * @return completes once the entry is on disk
+	 */
+	public CompletableFuture<Void> logOpened(long tableId, GameRecord record) {
+		return append(tableId, OPEN, 0, record.asByteBuffer());
+	}
+
+	/**
+	 * Logs the bytes a table's record grew by.
+	 *
+	 * @param tableId
+	 * @param record
+	 * @param from size of the record when it was last logged
+	 * @return completes once the entry is on disk
+	 */
+	public CompletableFuture<Void> logAppended(long tableId, GameRecord record, int from) {
+		ByteBuffer bytes = record.asByteBuffer();
+		bytes.position(from);
+		return append(tableId, APPEND, from, bytes);
+	}
+
+	public CompletableFuture<Void> logClosed(long tableId) {
+		return append(tableId, CLOSE, 0, NO_PAYLOAD);
+	}
+
+	private CompletableFuture<Void> append(long tableId, int type, int offset, ByteBuffer payload) {
+		CompletableFuture<Void> written = new CompletableFuture<Void>();
+		if (failure != null) {
+			written.completeExceptionally(new UncheckedIOException(failure));
+			return written;
+		}
+
+		int length = payload.remaining();
+		ByteBuffer entry = ByteBuffer.allocate(ENTRY_HEADER_SIZE + length);
+		entry.putInt(length).putInt(0).putLong(tableId).putInt(offset).put((byte) type);
+		entry.position(ENTRY_HEADER_SIZE);
+		entry.put(payload.duplicate());
+
+		CRC32 crc = new CRC32();
+		crc.update(entry.array(), 8, entry.capacity() - 8);
+		entry.putInt(4, (int) crc.getValue());
+		entry.flip();
+
+		bytesSinceRoll.addAndGet(entry.remaining());
+		nextTableId.accumulateAndGet(tableId + 1, Math::max);
+		queue.add(new Pending(entry, written, null));
+		return written;
+	}
+
+	/**
+	 * @return bytes logged since the log last moved on to a new segment
+	 */
+	public long getBytesSinceRoll() {
+		return bytesSinceRoll.get();
+	}
+
+	/**
+	 * Moves on to a new segment once everything logged so far is written.
+	 *
+	 * @return completes with the number of the new segment
+	 */
+	public CompletableFuture<Integer> roll() {
+		CompletableFuture<Integer> rolled = new CompletableFuture<Integer>();
+		bytesSinceRoll.set(0);
+		queue.add(new Pending(null, null, rolled));
+		return rolled;
+	}
+
+	/**
+	 * Writes a snapshot of the tables and deletes the segments and snapshots it replaces.
+	 *
+	 * @param firstSegment first segment that is not covered by the snapshot; every
+	 *        change logged before it was rolled to must be in the tables' records
+	 * @param tables record of every open table, by table id
+	 * @throws IOException
+	 */
+	public void writeSnapshot(int firstSegment, Map<Long, GameRecord> tables) throws IOException {
+		int size = 12;
+		for (GameRecord record : tables.values()) {
+			size += 12 + record.size();
+		}
+		ByteBuffer bytes = ByteBuffer.allocate(size);
+		bytes.putLong(nextTableId.get());
+		for (Map.Entry<Long, GameRecord> table : tables.entrySet()) {
+			bytes.putLong(table.getKey()).putInt(table.getValue().size()).put(table.getValue().asByteBuffer());
+		}
+		CRC32 crc = new CRC32();
+		crc.update(bytes.array(), 0, size - 4);
+		bytes.putInt((int) crc.getValue());
+		bytes.flip();
+
+		String name = String.format("snapshot-%06d.snap", firstSegment);
+		Path temporary = directory.resolve(name + ".tmp");
+		try (FileChannel out = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while (bytes.hasRemaining()) {
+				out.write(bytes);
+			}
+			out.force(false);
+		}
+		Files.move(temporary, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+		forceDirectory();
+
+		for (Path file : list("wal-*.log")) {
+			if (number(file) < firstSegment) Files.delete(file);
+		}
+		for (Path file : list("snapshot-*.snap")) {
+			if (number(file) < firstSegment) Files.delete(file);
+		}
+	}
+
+	/**
+	 * Stops the writer once everything logged so far is written.
+	 */
+	@Override
+	public void close() {
+		queue.add(new Pending(null, null, null));
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void write() {
+		List<Pending> batch = new ArrayList<Pending>();
+		boolean running = true;
+
+		while (running) {
+			try {
+				batch.add(queue.take());
+			} catch (InterruptedException e) {
+				break;
+			}
+			queue.drainTo(batch);
+
+			int start = 0;
+			for (int i = 0; i < batch.size(); i++) {
+				Pending pending = batch.get(i);
+				if (pending.entry != null) continue;
+
+				commit(batch, start, i);
+				start = i + 1;
+				if (pending.rolled == null) {
+					running = false;
+					continue;
+				}
+				try {
+					if (failure != null) throw failure;
+					channel.close();
+					segment++;
+					openSegment();
+					pending.rolled.complete(segment);
+				} catch (IOException e) {
+					failure = e;
+					pending.rolled.completeExceptionally(new UncheckedIOException(e));
+				}
+			}
+			commit(batch, start, batch.size());
+			batch.clear();
+		}
+
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// everything written has been forced already
+		}
+	}
+
+	/**
+	 * Writes the entries of a batch with one gathering write and forces them.
+	 */
+	private void commit(List<Pending> batch, int from, int to) {
+		if (from == to) return;
+		try {
+			if (failure != null) throw failure;
+			ByteBuffer[] entries = new ByteBuffer[to - from];
+			long remaining = 0;
+			for (int i = from; i < to; i++) {
+				entries[i - from] = batch.get(i).entry;
+				remaining += entries[i - from].remaining();
+			}
+			while (remaining > 0) {
+				remaining -= channel.write(entries);
+			}
+			channel.force(false);
+
+			for (int i = from; i < to; i++) {
+				batch.get(i).written.complete(null);
+			}
+		} catch (IOException e) {
+			failure = e;
+			for (int i = from; i < to; i++) {
+				batch.get(i).written.completeExceptionally(new UncheckedIOException(e));
+			}
+		}
+	}
+
+	private void openSegment() throws IOException {
+		channel = FileChannel.open(directory.resolve(String.format("wal-%06d.log", segment)), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		forceDirectory();
+	}
+
+	/**
+	 * Makes a new or renamed file survive a crash. Not every platform can open a
+	 * directory, in which case it is left to the file system.
+	 */
+	private void forceDirectory() {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// not supported here
+		}
+	}
+
+	private int readSnapshot(Path file) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+		int end = bytes.capacity() - 4;
+		CRC32 crc = new CRC32();
+		if (end >= 0) crc.update(bytes.array(), 0, end);
+		if (end < 8 || (int) crc.getValue() != bytes.getInt(end)) throw new IOException("Snapshot " + file + " is corrupt");
+
+		nextTableId.set(bytes.getLong());
+		while (bytes.position() < end) {
+			long tableId = bytes.getLong();
+			byte[] record = new byte[bytes.getInt()];
+			bytes.get(record);
+			recoveredTables.put(tableId, new GameRecord(record, record.length));
+		}
+		return number(file);
+	}
+
+	private void readSegment(Path file) throws IOException {
+		ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(file));
+		CRC32 crc = new CRC32();
+
+		int start = 0;
+		while (bytes.capacity() - start >= ENTRY_HEADER_SIZE) {
+			int length = bytes.getInt(start);
+			int end = start + ENTRY_HEADER_SIZE + length;
+			if (length < 0 || end > bytes.capacity()) break;
+
+			crc.reset();
+			crc.update(bytes.array(), start + 8, end - start - 8);
+			if ((int) crc.getValue() != bytes.getInt(start + 4)) break;
+
+			bytes.limit(end).position(start + ENTRY_HEADER_SIZE);
+			apply(bytes.getLong(start + 8), bytes.get(start + 20), bytes.getInt(start + 16), bytes.slice());
+			bytes.limit(bytes.capacity());
+			start = end;
+		}
+	}
+
+	private void apply(long tableId, int type, int offset, ByteBuffer payload) throws IOException {
+		nextTableId.accumulateAndGet(tableId + 1, Math::max);
+		switch (type) {
+		case OPEN:
+			byte[] record = new byte[payload.remaining()];
+			payload.get(record);
+			recoveredTables.put(tableId, new GameRecord(record, record.length));
+			break;
+		case APPEND:
+			GameRecord table = recoveredTables.get(tableId);
+			// a table closed before the snapshot was taken; its close follows
+			if (table == null) break;
+			if (offset + payload.remaining() <= table.size()) break;
+			if (offset != table.size()) throw new IOException("Entry for table " + tableId + " at byte " + offset + " does not follow on from " + table.size());
+			table.appendEntries(payload);
+			break;
+		case CLOSE:
+			recoveredTables.remove(tableId);
+			break;
+		default:
+			throw new IOException("Unexpected entry " + type + " for table " + tableId);
+		}
+	}
+
+	private List<Path> list(String glob) throws IOException {
+		List<Path> files = new ArrayList<Path>();
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, glob)) {
+			stream.forEach(files::add);
+		}
+		files.sort(null);
+		return files;
+	}
+
+	/**
+	 * @return the number in a segment or snapshot file name
+	 */
+	private static int number(Path file) {
+		String name = file.getFileName().toString();
+		return Integer.parseInt(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+	}
+
+	/**
+	 * An entry waiting to be written, or a request to roll (with no entry) or to stop
+	 * (with neither).
+	 */
+	private static class Pending {
+
+		final ByteBuffer entry;
+		final CompletableFuture<Void> written;
+		final CompletableFuture<Integer> rolled;
+
+		Pending(ByteBuffer entry, CompletableFuture<Void> written, CompletableFuture<Integer> rolled) {
+			this.entry = entry;
+			this.written = written;
+			this.rolled = rolled;
+		}
+	}
+}
@@ -0,0 +1,369 @@
+package controller.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import controller.IIdiotGameEngine;
+import controller.IRuleConfigurationLoader;
+import controller.IdiotGameEngine;
+import controller.record.GameRecord;
+import controller.record.GameRecorder;
+import controller.record.GameReplayer;
+import controller.simulation.GameSimulator;
+import model.card.Card;
+import model.move.Move;
+import model.move.MoveResult;
+
+/**
+ * Hosts many game tables in one JVM. Tables are sharded over a fixed number of
+ * single-threaded executors and every message for a table runs on its shard's thread,
+ * in the order it was sent. Each table's engine and state is therefore only ever
+ * touched by one thread and needs no locking; tables on different shards run in
+ * parallel.
+ *
+ * Given a {@link TableLog}, every table is recorded and each message that changes a
+ * table is logged before the future it returned completes, so a table survives the
+ * process dying as far as it was acknowledged. Once enough has been logged a snapshot
+ * of all tables is taken, which bounds how much of the log a restart reads. On
+ * start-up the tables found in the log are rebuilt by replaying their records through
+ * an engine on their shards.
+ */
+public class TableManager implements AutoCloseable {
+
+	public static final long DEFAULT_CHECKPOINT_BYTES = 64 << 20;
+
+	protected final Shard[] shards;
+	protected final Supplier<? extends IIdiotGameEngine> engineFactory;
+	protected final TableLog log;
+	private final AtomicLong nextTableId = new AtomicLong();
+
+	private long checkpointBytes = DEFAULT_CHECKPOINT_BYTES;
+	private CompletableFuture<Void> checkpoint;
+
+	/**
+	 * Creates one shard per available processor, with engines wired like the UI's.
+	 */
+	public TableManager() {
+		this(Runtime.getRuntime().availableProcessors(), GameSimulator::createEngine);
+	}
+
+	public TableManager(int shardCount, Supplier<? extends IIdiotGameEngine> engineFactory) {
+		this(shardCount, engineFactory, null);
+	}
+
+	/**
+	 * Creates the shards and reopens every table the log holds.
+	 *
+	 * @param shardCount
+	 * @param engineFactory
+	 * @param log log every table is kept in, or null to keep tables in memory only;
+	 *        closed with the manager
+	 * @throws IllegalStateException if a table's record does not replay
+	 */
+	public TableManager(int shardCount, Supplier<? extends IIdiotGameEngine> engineFactory, TableLog log) {
+		if (shardCount < 1) throw new IllegalArgumentException("At least one shard is required, got " + shardCount);
+		this.engineFactory = engineFactory;
+		this.log = log;
+		this.shards = new Shard[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards[i] = new Shard(i);
+		}
+		if (log != null) recover(log.getRecoveredTables(), log.getNextTableId());
+	}
+
+	private void recover(Map<Long, GameRecord> records, long nextId) {
+		List<CompletableFuture<Void>> replayed = new ArrayList<CompletableFuture<Void>>();
+
+		for (Map.Entry<Long, GameRecord> entry : records.entrySet()) {
+			long tableId = entry.getKey();
+			GameRecord record = entry.getValue();
+			Shard shard = shardOf(tableId);
+			replayed.add(CompletableFuture.runAsync(() -> {
+				IIdiotGameEngine engine = engineFactory.get();
+				new GameReplayer(engine).replay(record);
+				Table table = new Table(new GameRecorder(engine, record));
+				table.logged = record;
+				table.loggedSize = record.size();
+				shard.tables.put(tableId, table);
+			}, shard.executor));
+		}
+
+		CompletableFuture.allOf(replayed.toArray(new CompletableFuture<?>[replayed.size()])).join();
+		nextTableId.set(nextId);
+	}
+
+	public int getShardCount() {
+		return shards.length;
+	}
+
+	/**
+	 * @param checkpointBytes bytes logged after which a snapshot of all tables is taken
+	 */
+	public void setCheckpointBytes(long checkpointBytes) {
+		this.checkpointBytes = checkpointBytes;
+	}
+
+	/**
+	 * Opens a table and deals a new game on it.
+	 *
+	 * @param numberOfPlayers
+	 * @param configLoader
+	 * @return completes with the id of the new table once the game is dealt and, with a
+	 *         log, on disk; exceptionally if the game cannot be dealt, and the table is
+	 *         not opened
+	 * @throws IllegalArgumentException if the number of players is not supported
+	 */
+	public CompletableFuture<Long> openTable(int numberOfPlayers, IRuleConfigurationLoader configLoader) {
+		if (numberOfPlayers < IdiotGameEngine.MIN_PLAYERS || numberOfPlayers > IdiotGameEngine.MAX_PLAYERS)
+			throw new IllegalArgumentException("A game needs " + IdiotGameEngine.MIN_PLAYERS + " to " + IdiotGameEngine.MAX_PLAYERS + " players, not " + numberOfPlayers);
+
+		long tableId = nextTableId.getAndIncrement();
+		Shard shard = shardOf(tableId);
+		CompletableFuture<Long> result = new CompletableFuture<Long>();
+		shard.executor.execute(() -> {
+			Table table = log == null ? new Table(engineFactory.get()) : new Table(new GameRecorder(engineFactory.get()));
+			try {
+				table.engine.initializeNewGame(numberOfPlayers, configLoader);
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+				return;
+			}
+			shard.tables.put(tableId, table);
+
+			CompletableFuture<Void> written = log(tableId, table);
+			if (written == null) {
+				result.complete(tableId);
+			} else {
+				written.whenComplete((done, error) -> complete(result, tableId, error == null ? null : new IllegalStateException(error)));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Runs a message against a table's engine on the table's shard.
+	 *
+	 * @param tableId
+	 * @param message reads or changes the engine; runs on the shard's thread and must not block
+	 * @return completes with the message's result, or exceptionally if the table is not open
+	 *         or the message throws; with a log, not before what the message changed and
+	 *         everything it read is on disk
+	 */
+	public <T> CompletableFuture<T> send(long tableId, Function<? super IIdiotGameEngine, T> message) {
+		Shard shard = shardOf(tableId);
+		CompletableFuture<T> result = new CompletableFuture<T>();
+		shard.executor.execute(() -> {
+			Table table = shard.tables.get(tableId);
+			if (table == null) {
+				result.completeExceptionally(new IllegalArgumentException("No table is open with id " + tableId));
+				return;
+			}
+			T value = null;
+			RuntimeException failure = null;
+			try {
+				value = message.apply(table.engine);
+			} catch (RuntimeException e) {
+				failure = e;
+			}
+
+			CompletableFuture<Void> written = log(tableId, table);
+			if (written == null || written.isDone() && !written.isCompletedExceptionally()) {
+				complete(result, value, failure);
+			} else {
+				T messageValue = value;
+				RuntimeException messageFailure = failure;
+				written.whenComplete((done, error) -> {
+					if (error != null) result.completeExceptionally(error);
+					else complete(result, messageValue, messageFailure);
+				});
+			}
+		});
+		return result;
+	}
+
+	private static <T> void complete(CompletableFuture<T> result, T value, RuntimeException failure) {
+		if (failure != null) result.completeExceptionally(failure);
+		else result.complete(value);
+	}
+
+	/**
+	 * Logs what a table's record grew by since it was last logged, or the whole record
+	 * if a new game was dealt. Runs on the table's shard.
+	 *
+	 * @return completes when the table's last change is on disk, or null without a log
+	 */
+	protected CompletableFuture<Void> log(long tableId, Table table) {
+		if (log == null) return null;
+
+		GameRecord record = table.recorder.getRecord();
+		if (record != table.logged) {
+			table.written = log.logOpened(tableId, record);
+		} else if (record.size() > table.loggedSize) {
+			table.written = log.logAppended(tableId, record, table.loggedSize);
+		} else {
+			return table.written;
+		}
+		table.logged = record;
+		table.loggedSize = record.size();
+
+		if (log.getBytesSinceRoll() >= checkpointBytes) checkpoint();
+		return table.written;
+	}
+
+	/**
+	 * Takes a snapshot of every table into the log, so a restart only reads what is
+	 * logged after it. The tables are copied on their shards in between their messages.
+	 *
+	 * @return completes once the snapshot is on disk; while one is being taken, the same
+	 *         future is returned
+	 */
+	public synchronized CompletableFuture<Void> checkpoint() {
+		if (log == null) throw new IllegalStateException("Tables are not logged");
+		if (checkpoint != null && !checkpoint.isDone()) return checkpoint;
+
+		checkpoint = log.roll().thenCompose(firstSegment -> {
+			List<CompletableFuture<Map<Long, GameRecord>>> copies = new ArrayList<CompletableFuture<Map<Long, GameRecord>>>();
+			for (Shard shard : shards) {
+				copies.add(CompletableFuture.supplyAsync(() -> {
+					Map<Long, GameRecord> records = new HashMap<Long, GameRecord>();
+					for (Map.Entry<Long, Table> table : shard.tables.entrySet()) {
+						GameRecord record = table.getValue().logged;
+						records.put(table.getKey(), new GameRecord(record.toByteArray(), record.size()));
+					}
+					return records;
+				}, shard.executor));
+			}
+
+			return CompletableFuture.allOf(copies.toArray(new CompletableFuture<?>[copies.size()])).thenRunAsync(() -> {
+				Map<Long, GameRecord> records = new HashMap<Long, GameRecord>();
+				for (CompletableFuture<Map<Long, GameRecord>> copy : copies) {
+					records.putAll(copy.join());
+				}
+				try {
+					log.writeSnapshot(firstSegment, records);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		});
+		return checkpoint;
+	}
+
+	public CompletableFuture<MoveResult> submitMove(long tableId, int playerRequesting, Move move) {
+		return send(tableId, engine -> engine.submitMove(playerRequesting, move));
+	}
+
+	public CompletableFuture<MoveResult> requestHandToTableCardSwap(long tableId, int playerRequesting, Card handCard, Card tableCard) {
+		return send(tableId, engine -> engine.requestHandToTableCardSwap(playerRequesting, handCard, tableCard));
+	}
+
+	public CompletableFuture<Void> playerDoneSwapping(long tableId, int playerNumber) {
+		return send(tableId, engine -> {
+			engine.playerDoneSwapping(playerNumber);
+			return null;
+		});
+	}
+
+	public CompletableFuture<Void> beginPlay(long tableId) {
+		return send(tableId, engine -> {
+			engine.beginPlay();
+			return null;
+		});
+	}
+
+	/**
+	 * Closes a table once the messages already sent to it have run.
+	 *
+	 * @param tableId
+	 * @return completes with true if the table was open
+	 */
+	public CompletableFuture<Boolean> closeTable(long tableId) {
+		Shard shard = shardOf(tableId);
+		CompletableFuture<Boolean> result = new CompletableFuture<Boolean>();
+		shard.executor.execute(() -> {
+			boolean open = shard.tables.remove(tableId) != null;
+			if (log == null || !open) {
+				result.complete(open);
+			} else {
+				log.logClosed(tableId).whenComplete((done, error) -> complete(result, true, error == null ? null : new IllegalStateException(error)));
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Stops all shards after the messages already sent have run, then closes the log.
+	 */
+	@Override
+	public void close() {
+		for (Shard shard : shards) {
+			shard.executor.shutdown();
+		}
+		try {
+			for (Shard shard : shards) {
+				shard.executor.awaitTermination(1, TimeUnit.MINUTES);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		if (log != null) log.close();
+	}
+
+	/**
+	 * Table ids are handed out in sequence, so consecutive tables land on different shards.
+	 */
+	protected Shard shardOf(long tableId) {
+		return shards[(int) (tableId % shards.length)];
+	}
+
+	/**
+	 * A single thread with the tables it owns. The table map is only used on that thread.
+	 */
+	protected static class Shard {
+
+		final ExecutorService executor;
+		final Map<Long, Table> tables = new HashMap<Long, Table>();
+
+		Shard(int index) {
+			executor = Executors.newSingleThreadExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "table-shard-" + index);
+				thread.setDaemon(true);
+				return thread;
+			});
+		}
+	}
+
+	/**
+	 * A table's engine and, when tables are logged, its recorder and how much of its
+	 * record has been logged. Only used on the table's shard.
+	 */
+	protected static class Table {
+
+		final IIdiotGameEngine engine;
+		final GameRecorder recorder;
+		GameRecord logged;
+		int loggedSize;
+		CompletableFuture<Void> written;
+
+		Table(IIdiotGameEngine engine) {
+			this.engine = engine;
+			this.recorder = null;
+		}
+
+		Table(GameRecorder recorder) {
+			this.engine = recorder;
+			this.recorder = recorder;
+		}
+	}
+}
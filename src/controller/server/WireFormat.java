@@ -0,0 +1,262 @@
+package controller.server;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import controller.IdiotGameEngine;
+import controller.log.GameEventRecord;
+import controller.validators.ValidationResult;
+import model.card.Card;
+import model.card.GameCard;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Fixed 16 byte frames exchanged with {@link GameServer}. Requests:
+ *
+ * <pre>
+ *  0-3   sequence number, echoed in the response
+ *  4-7   table id (big endian)
+ *  8     request type
+ *  9     player number, or the number of players for {@link #OPEN_TABLE}
+ *  10    move type, one of the GameEventRecord MOVE_ constants
+ *  11    card count
+ *  12-15 card ordinals (suit * 13 + rank), NO_CARD when unused;
+ *        hand card then table card for {@link #SWAP}
+ * </pre>
+ *
+ * Responses:
+ *
+ * <pre>
+ *  0-3   sequence number of the request
+ *  4-7   table id, the new table's id for {@link #OPEN_TABLE}
+ *  8     request type
+ *  9     flags
+ *  10    message code
+ *  11    player whose turn it is after the request
+ *  12-15 unused
+ * </pre>
+ *
+ * Zone ids are not sent; the engine does not read them, and decoded moves use the ids
+ * the simulator uses. Messages are sent as codes into a table of the engine's fixed
+ * messages; other messages arrive as {@link #UNKNOWN_MESSAGE}.
+ */
+public final class WireFormat {
+
+	public static final int SIZE = 16;
+
+	public static final byte OPEN_TABLE = 1;
+	public static final byte SWAP = 2;
+	public static final byte DONE_SWAPPING = 3;
+	public static final byte BEGIN_PLAY = 4;
+	public static final byte SUBMIT_MOVE = 5;
+	public static final byte CLOSE_TABLE = 6;
+
+	public static final byte FLAG_SUCCESS = 1;
+	public static final byte FLAG_STATE_CHANGED = 2;
+	public static final byte FLAG_GAME_ENDED = 4;
+	/**
+	 * The request could not be run, e.g. because the table is not open
+	 */
+	public static final byte FLAG_ERROR = 8;
+
+	public static final byte NO_MESSAGE = 0;
+	public static final byte GAME_OVER = 1;
+	public static final byte REQUEST_FAILED = 2;
+	public static final byte UNKNOWN_MESSAGE = (byte) 0xFF;
+
+	static final String REQUEST_FAILED_MESSAGE = "Request could not be run on the table";
+	static final String UNKNOWN_FAILURE_MESSAGE = "Request rejected";
+
+	private static final List<String> messages = new ArrayList<String>();
+	private static final Map<String, Byte> messageCodes = new HashMap<String, Byte>();
+
+	static {
+		messages.add(null);
+		messages.add(null); // GAME_OVER, built from the winner
+		messages.add(REQUEST_FAILED_MESSAGE);
+		for (ValidationResult result : new ValidationResult[] { ValidationResult.EMPTY_PILE, ValidationResult.EMPTY_DECK,
+				ValidationResult.NO_CARDS_SELECTED, ValidationResult.NOT_IN_HAND, ValidationResult.NOT_ON_TABLE,
+				ValidationResult.MIXED_RANKS, ValidationResult.ABOVE_REVERSE_CARD, ValidationResult.BELOW_PILE_CARD }) {
+			messages.add(result.ErrorMessage);
+		}
+		messages.add(IdiotGameEngine.SWAPPING_NOT_ALLOWED.message);
+		messages.add(IdiotGameEngine.PLAY_NOT_STARTED.message);
+		messages.add(IdiotGameEngine.NOT_PLAYERS_TURN.message);
+		messages.add(ValidationResult.REPEATED_CARDS.ErrorMessage);
+
+		for (int code = REQUEST_FAILED; code < messages.size(); code++) {
+			messageCodes.put(messages.get(code), (byte) code);
+		}
+	}
+
+	private WireFormat() {
+	}
+
+	public static void writeRequest(byte[] frame, int sequence, int tableId, byte requestType, int player) {
+		writeInt(frame, 0, sequence);
+		writeInt(frame, 4, tableId);
+		frame[8] = requestType;
+		frame[9] = (byte) player;
+		frame[10] = GameEventRecord.MOVE_NONE;
+		frame[11] = 0;
+		for (int i = 0; i < GameEventRecord.MAX_CARDS; i++) {
+			frame[12 + i] = GameEventRecord.NO_CARD;
+		}
+	}
+
+	public static void writeCard(byte[] frame, int slot, Card card) {
+		frame[12 + slot] = (byte) card.getOrdinal();
+		frame[11] = (byte) Math.max(frame[11], slot + 1);
+	}
+
+	/**
+	 * Writes a move request. Multiple card moves carry at most four cards, which is
+	 * every card of one rank.
+	 */
+	public static void writeMove(byte[] frame, int sequence, int tableId, int player, Move move) {
+		writeRequest(frame, sequence, tableId, SUBMIT_MOVE, player);
+		if (move instanceof TakePileMove) {
+			frame[10] = GameEventRecord.MOVE_TAKE_PILE;
+		} else if (move instanceof PlayTopOfDeck) {
+			frame[10] = GameEventRecord.MOVE_PLAY_TOP_OF_DECK;
+		} else if (move instanceof PlayOneCardMove) {
+			frame[10] = GameEventRecord.MOVE_PLAY_ONE_CARD;
+			writeCard(frame, 0, ((PlayOneCardMove) move).card);
+		} else if (move instanceof PlayMultipleCardsMove) {
+			List<Card> cards = ((PlayMultipleCardsMove) move).cards;
+			if (cards.size() > GameEventRecord.MAX_CARDS) throw new IllegalArgumentException("At most " + GameEventRecord.MAX_CARDS + " cards can be played at once, got " + cards.size());
+			frame[10] = GameEventRecord.MOVE_PLAY_MULTIPLE_CARDS;
+			for (int i = 0; i < cards.size(); i++) {
+				writeCard(frame, i, cards.get(i));
+			}
+		} else {
+			throw new IllegalArgumentException("Move type cannot be sent: " + move.getClass().getName());
+		}
+	}
+
+	public static int sequence(byte[] frame) {
+		return readInt(frame, 0);
+	}
+
+	public static int tableId(byte[] frame) {
+		return readInt(frame, 4);
+	}
+
+	public static byte requestType(byte[] frame) {
+		return frame[8];
+	}
+
+	public static int player(byte[] frame) {
+		return frame[9];
+	}
+
+	public static Card card(byte[] frame, int slot) {
+		return GameCard.of(frame[12 + slot] & 0xFF);
+	}
+
+	/**
+	 * @return the move of a {@link #SUBMIT_MOVE} request, or null if the move type is unknown
+	 *         or the move repeats a card
+	 */
+	public static Move readMove(byte[] frame) {
+		switch (frame[10]) {
+		case GameEventRecord.MOVE_TAKE_PILE:
+			return new TakePileMove("pile", "hand");
+		case GameEventRecord.MOVE_PLAY_TOP_OF_DECK:
+			return new PlayTopOfDeck("drawCards", "pile");
+		case GameEventRecord.MOVE_PLAY_ONE_CARD:
+			Card card = card(frame, 0);
+			return new PlayOneCardMove(card.getId(), "pile", card);
+		case GameEventRecord.MOVE_PLAY_MULTIPLE_CARDS:
+			List<Card> cards = new ArrayList<Card>(frame[11]);
+			for (int i = 0; i < frame[11] && i < GameEventRecord.MAX_CARDS; i++) {
+				Card next = card(frame, i);
+				if (cards.contains(next)) return null;
+				cards.add(next);
+			}
+			return new PlayMultipleCardsMove(cards.toString(), "pile", cards);
+		default:
+			return null;
+		}
+	}
+
+	public static byte[] response(byte[] request, int tableId, MoveResult result, int currentPlayer) {
+		byte flags = 0;
+		if (result.isSuccess()) flags |= FLAG_SUCCESS;
+		if (result.isStateChanged()) flags |= FLAG_STATE_CHANGED;
+		if (result.isGameEnded()) flags |= FLAG_GAME_ENDED;
+
+		byte code;
+		if (result.isGameEnded()) {
+			code = GAME_OVER;
+		} else if (result.getMessage() == null || result.getMessage().isEmpty()) {
+			code = NO_MESSAGE;
+		} else {
+			Byte known = messageCodes.get(result.getMessage());
+			code = known != null ? known : UNKNOWN_MESSAGE;
+		}
+		return response(request, tableId, flags, code, currentPlayer);
+	}
+
+	public static byte[] response(byte[] request, int tableId, byte flags, byte messageCode, int currentPlayer) {
+		byte[] frame = new byte[SIZE];
+		writeInt(frame, 0, sequence(request));
+		writeInt(frame, 4, tableId);
+		frame[8] = requestType(request);
+		frame[9] = flags;
+		frame[10] = messageCode;
+		frame[11] = (byte) currentPlayer;
+		return frame;
+	}
+
+	public static byte[] errorResponse(byte[] request) {
+		return response(request, tableId(request), FLAG_ERROR, REQUEST_FAILED, 0);
+	}
+
+	public static int currentPlayer(byte[] response) {
+		return response[11];
+	}
+
+	public static boolean isError(byte[] response) {
+		return (response[9] & FLAG_ERROR) != 0;
+	}
+
+	/**
+	 * Decodes the result of a response. The message is the engine's message for codes in
+	 * the message table; the winner of a finished game is the player in the response.
+	 */
+	public static MoveResult readResult(byte[] response) {
+		byte flags = response[9];
+		int code = response[10] & 0xFF;
+		boolean success = (flags & FLAG_SUCCESS) != 0;
+
+		String message;
+		if (code == GAME_OVER) {
+			message = IdiotGameEngine.gameOverMessage(currentPlayer(response));
+		} else if (code < messages.size()) {
+			message = messages.get(code);
+		} else {
+			message = success ? null : UNKNOWN_FAILURE_MESSAGE;
+		}
+		return new MoveResult(success, message, (flags & FLAG_STATE_CHANGED) != 0, (flags & FLAG_GAME_ENDED) != 0);
+	}
+
+	private static void writeInt(byte[] frame, int offset, int value) {
+		frame[offset] = (byte) (value >>> 24);
+		frame[offset + 1] = (byte) (value >>> 16);
+		frame[offset + 2] = (byte) (value >>> 8);
+		frame[offset + 3] = (byte) value;
+	}
+
+	private static int readInt(byte[] frame, int offset) {
+		return ((frame[offset] & 0xFF) << 24) | ((frame[offset + 1] & 0xFF) << 16)
+				| ((frame[offset + 2] & 0xFF) << 8) | (frame[offset + 3] & 0xFF);
+	}
+}
@@ -0,0 +1,241 @@
+package controller.simulation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ThreadLocalRandom;
+
+import controller.EndGameChecker;
+import controller.IIdiotGameEngine;
+import controller.IRuleConfigurationLoader;
+import controller.IdiotGameEngine;
+import controller.MoveExecutor;
+import controller.RuleConfigurationLoader;
+import controller.validators.MoveValidator;
+import controller.validators.TableSwapValidator;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Plays complete games of Idiot without the UI, driving {@link IdiotGameEngine} through
+ * the same calls the JavaFX front end makes. Games are spread over a {@link ForkJoinPool}
+ * with every worker owning its own engine, so no game state is shared between threads.
+ */
+public class GameSimulator {
+
+	/**
+	 * Games that have not ended after this many accepted moves are abandoned.
+	 */
+	public static final int DEFAULT_MAX_TURNS = 5000;
+
+	/**
+	 * Number of games a fork-join task plays itself instead of splitting further.
+	 */
+	protected static final int GAMES_PER_TASK = 64;
+
+	/**
+	 * Bot seated at each player position (index = player number - 1).
+	 */
+	protected final List<IBotPolicy> policies;
+	protected final ForkJoinPool pool;
+	protected int maxTurnsPerGame = DEFAULT_MAX_TURNS;
+	protected boolean seeded;
+	protected long seed;
+
+	public GameSimulator(List<IBotPolicy> policies) {
+		this(policies, ForkJoinPool.commonPool());
+	}
+
+	public GameSimulator(List<IBotPolicy> policies, ForkJoinPool pool) {
+		if (policies.size() < 2) throw new IllegalArgumentException("At least two bot policies are required, got " + policies.size());
+		this.policies = policies;
+		this.pool = pool;
+	}
+
+	public void setMaxTurnsPerGame(int maxTurnsPerGame) {
+		this.maxTurnsPerGame = maxTurnsPerGame;
+	}
+
+	/**
+	 * Makes runs reproducible: every game gets its own generator seeded from this seed and
+	 * the game's number, so the same games are played whichever thread plays them.
+	 *
+	 * @param seed
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+		this.seeded = true;
+	}
+
+	/**
+	 * Plays the requested number of games for each configuration.
+	 *
+	 * @param configs
+	 * @param gamesPerConfiguration
+	 * @return one report per configuration, in the same order
+	 */
+	public List<SimulationReport> run(List<IdiotGameConfiguration> configs, int gamesPerConfiguration) {
+		List<SimulationReport> reports = new ArrayList<SimulationReport>();
+		for (IdiotGameConfiguration config : configs) {
+			reports.add(run(config, gamesPerConfiguration));
+		}
+		return reports;
+	}
+
+	/**
+	 * Plays the requested number of games with a single configuration.
+	 *
+	 * @param config
+	 * @param numberOfGames
+	 * @return
+	 */
+	public SimulationReport run(IdiotGameConfiguration config, int numberOfGames) {
+		long start = System.nanoTime();
+		SimulationReport report = pool.invoke(new SimulationTask(config, 0, numberOfGames));
+		report.setElapsedNanos(System.nanoTime() - start);
+		return report;
+	}
+
+	/**
+	 * Plays one game to completion (or to the turn limit) and records it in the report.
+	 *
+	 * @param engine engine to play on; its previous state is discarded
+	 * @param configLoader
+	 * @param report
+	 */
+	public void playGame(IIdiotGameEngine engine, IRuleConfigurationLoader configLoader, SimulationReport report) {
+		playGame(engine, configLoader, report, ThreadLocalRandom.current());
+	}
+
+	/**
+	 * Plays one game with the given random number generator for dealing and for the bots.
+	 *
+	 * @param engine engine to play on; its previous state is discarded
+	 * @param configLoader
+	 * @param report
+	 * @param random
+	 */
+	public void playGame(IIdiotGameEngine engine, IRuleConfigurationLoader configLoader, SimulationReport report, Random random) {
+
+		engine.setRandom(random);
+		engine.initializeNewGame(policies.size(), configLoader);
+		IdiotGameConfiguration config = configLoader.loadRules();
+
+		for (int player = 1; player <= policies.size(); player++) {
+			policies.get(player - 1).performSwaps(engine, player, config);
+			engine.playerDoneSwapping(player);
+		}
+		engine.beginPlay();
+
+		int turns = 0;
+
+		while (turns < maxTurnsPerGame) {
+			IdiotGameStateFacade state = engine.getCurrentGameState();
+			int player = state.CurrentPlayerTurn();
+
+			MoveResult result = null;
+			for (Move move : policies.get(player - 1).chooseMoves(state, player, config, random)) {
+				result = engine.submitMove(player, move);
+				if (result.isSuccess()) break;
+			}
+
+			if (result == null || !result.isSuccess()) {
+				result = engine.submitMove(player, fallbackMove(state));
+				if (!result.isSuccess()) break; // no legal move left, the game is stuck
+			}
+
+			turns++;
+
+			if (result.isGameEnded() || engine.getCurrentGameState().CurrentGamePhase() == GamePhases.GameCompleted) {
+				report.recordGame(turns, engine.getCurrentGameState().CurrentPlayerTurn());
+				return;
+			}
+		}
+
+		report.recordGame(turns, 0);
+	}
+
+	private Move fallbackMove(IdiotGameStateFacade state) {
+		if (state.GetDeck().size() > 0) return new PlayTopOfDeck("drawCards", "pile");
+		return new TakePileMove("pile", "hand");
+	}
+
+	/**
+	 * Creates an engine wired the same way as the one used by the UI.
+	 *
+	 * @return
+	 */
+	public static IdiotGameEngine createEngine() {
+		EndGameChecker endGameChecker = new EndGameChecker();
+		return new IdiotGameEngine(new TableSwapValidator(), new MoveValidator(), endGameChecker, new MoveExecutor(endGameChecker));
+	}
+
+	private Random gameRandom(int game) {
+		return new Random(seed + game * 0x9E3779B97F4A7C15L);
+	}
+
+	/**
+	 * Splits a range of games in half until it is small enough to play on one thread.
+	 */
+	private class SimulationTask extends RecursiveTask<SimulationReport> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IdiotGameConfiguration config;
+		private final int from;
+		private final int to;
+
+		SimulationTask(IdiotGameConfiguration config, int from, int to) {
+			this.config = config;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected SimulationReport compute() {
+			if (to - from <= GAMES_PER_TASK) {
+				SimulationReport report = new SimulationReport(config, policies.size());
+				IdiotGameEngine engine = createEngine();
+				for (int game = from; game < to; game++) {
+					playGame(engine, () -> config, report, seeded ? gameRandom(game) : ThreadLocalRandom.current());
+				}
+				return report;
+			}
+
+			int middle = (from + to) >>> 1;
+			SimulationTask left = new SimulationTask(config, from, middle);
+			left.fork();
+			SimulationReport right = new SimulationTask(config, middle, to).compute();
+			return right.merge(left.join());
+		}
+	}
+
+	/**
+	 * Runs a batch from the command line: <code>GameSimulator [games] [players] [seed]</code>.
+	 * Rules are read from the same configuration file as the UI.
+	 *
+	 * @param args
+	 */
+	public static void main(String[] args) {
+		int games = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+
+		IBotPolicy[] seats = new IBotPolicy[players];
+		Arrays.fill(seats, new LowestCardBotPolicy());
+
+		IdiotGameConfiguration config = new RuleConfigurationLoader("/configurationfiles/idiotRules.json").loadRules();
+		GameSimulator simulator = new GameSimulator(Arrays.asList(seats));
+		if (args.length > 2) simulator.setSeed(Long.parseLong(args[2]));
+
+		SimulationReport report = simulator.run(config, games);
+		System.out.println(report.toString());
+	}
+}
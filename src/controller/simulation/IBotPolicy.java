@@ -0,0 +1,41 @@
+package controller.simulation;
+
+import java.util.List;
+import java.util.Random;
+
+import controller.IIdiotGameEngine;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.move.Move;
+
+/**
+ * A computer player that the {@link GameSimulator} can seat at a table.
+ *
+ * Implementations are shared between the simulator's worker threads, so they must not
+ * keep per-game state.
+ */
+public interface IBotPolicy {
+
+	/**
+	 * Invoked once during the card swapping phase. The policy may call
+	 * {@link IIdiotGameEngine#requestHandToTableCardSwap} as often as it likes.
+	 *
+	 * @param engine
+	 * @param playerNumber
+	 * @param config
+	 */
+	void performSwaps(IIdiotGameEngine engine, int playerNumber, IdiotGameConfiguration config);
+
+	/**
+	 * Returns the moves the player would like to make, most preferred first. The simulator
+	 * submits them in order until the engine accepts one and falls back to drawing from the
+	 * deck or taking the pile if none are accepted.
+	 *
+	 * @param state
+	 * @param playerNumber
+	 * @param config
+	 * @param random the game's random number generator, so seeded games can be replayed
+	 * @return candidate moves in order of preference
+	 */
+	List<Move> chooseMoves(IdiotGameStateFacade state, int playerNumber, IdiotGameConfiguration config, Random random);
+}
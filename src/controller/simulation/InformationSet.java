@@ -0,0 +1,168 @@
+package controller.simulation;
+
+import java.util.List;
+import java.util.Random;
+
+import model.CompactGameState;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.Card;
+
+/**
+ * What one player can see of a game: their own hand, the pile, the burned cards, the face
+ * up top card of every table stack and how many cards are in every other zone. The
+ * remaining cards are hidden and can be dealt into the hidden places at random, giving a
+ * {@link CompactGameState} that is consistent with everything the player knows.
+ */
+public class InformationSet {
+
+	protected final int observer;
+	protected final int numberOfPlayers;
+	protected final int currentPlayerTurn;
+	protected final byte[] pile;
+	protected final long discardedCards;
+	protected final long observerHand;
+	protected final int drawCount;
+
+	/**
+	 * Number of cards in each hand (index = player number - 1)
+	 */
+	protected final int[] handSizes;
+
+	/**
+	 * Number of cards and top card ordinal of every table stack, laid out as [player][stack]
+	 */
+	protected final byte[] tableCounts;
+	protected final byte[] tableTops;
+
+	/**
+	 * Ordinals of the cards the observer cannot see
+	 */
+	protected final byte[] hiddenCards;
+
+	public InformationSet(IdiotGameStateFacade state, int observer) {
+		this.observer = observer;
+		this.numberOfPlayers = state.getPlayerPlaces().size();
+		this.currentPlayerTurn = state.CurrentPlayerTurn();
+		this.drawCount = state.GetDeck().size();
+
+		List<Card> pileCards = state.GetPile().getCards();
+		pile = new byte[pileCards.size()];
+		long visible = 0;
+		for (int i = 0; i < pile.length; i++) {
+			pile[i] = (byte) pileCards.get(i).getOrdinal();
+			visible |= 1L << pile[i];
+		}
+
+		discardedCards = mask(state.GetDiscardedCards());
+		visible |= discardedCards;
+
+		handSizes = new int[numberOfPlayers];
+		tableCounts = new byte[numberOfPlayers * CompactGameState.TABLE_STACKS];
+		tableTops = new byte[numberOfPlayers * CompactGameState.TABLE_STACKS];
+		long hand = 0;
+
+		for (IdiotPlayerZoneFacade place : state.getPlayerPlaces()) {
+			int player = place.getPlayerNumber();
+			handSizes[player - 1] = place.getHand().size();
+			if (player == observer) hand = mask(place.getHand().getCards());
+
+			for (int stack = 1; stack <= CompactGameState.TABLE_STACKS; stack++) {
+				List<Card> cards = stack == 1 ? place.getAllTableCards1() : stack == 2 ? place.getAllTableCards2() : place.getAllTableCards3();
+				int index = CompactGameState.stackIndex(player, stack);
+				tableCounts[index] = (byte) cards.size();
+				tableTops[index] = (byte) (cards.isEmpty() ? -1 : cards.get(cards.size() - 1).getOrdinal());
+				if (!cards.isEmpty()) visible |= 1L << tableTops[index];
+			}
+		}
+		observerHand = hand;
+		visible |= hand;
+
+		long hidden = ~visible & ((1L << CompactGameState.DECK_SIZE) - 1);
+		hiddenCards = new byte[Long.bitCount(hidden)];
+		int i = 0;
+		for (long remaining = hidden; remaining != 0; remaining &= remaining - 1) {
+			hiddenCards[i++] = (byte) Long.numberOfTrailingZeros(remaining);
+		}
+
+		if (hiddenCards.length != hiddenPlaces()) throw new IllegalStateException(hiddenCards.length + " hidden cards do not fit " + hiddenPlaces() + " hidden places");
+	}
+
+	private int hiddenPlaces() {
+		int places = drawCount;
+		for (int player = 1; player <= numberOfPlayers; player++) {
+			if (player != observer) places += handSizes[player - 1];
+		}
+		for (int count : tableCounts) {
+			if (count > 0) places += count - 1;
+		}
+		return places;
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	/**
+	 * Fills a state with the visible cards and the hidden cards shuffled into the hidden
+	 * places.
+	 *
+	 * @param random
+	 * @param target state with the same number of players
+	 * @param buffer scratch space of at least {@link CompactGameState#DECK_SIZE} bytes
+	 */
+	public void determinize(Random random, CompactGameState target, byte[] buffer) {
+		int count = hiddenCards.length;
+		System.arraycopy(hiddenCards, 0, buffer, 0, count);
+		for (int i = count - 1; i > 0; i--) {
+			int j = random.nextInt(i + 1);
+			byte swap = buffer[i];
+			buffer[i] = buffer[j];
+			buffer[j] = swap;
+		}
+
+		target.currentGamePhase = GamePhases.GamePlay;
+		target.currentPlayerTurn = currentPlayerTurn;
+		target.turnDirection = 1;
+		target.skippedPlayers = 0;
+		System.arraycopy(pile, 0, target.pile, 0, pile.length);
+		target.pileCount = pile.length;
+		target.discardedCards = discardedCards;
+
+		int next = 0;
+		System.arraycopy(buffer, next, target.drawCards, 0, drawCount);
+		target.drawCount = drawCount;
+		next += drawCount;
+
+		for (int player = 1; player <= numberOfPlayers; player++) {
+			if (player == observer) {
+				target.hands[player - 1] = observerHand;
+				continue;
+			}
+			long hand = 0;
+			for (int i = 0; i < handSizes[player - 1]; i++) {
+				hand |= 1L << buffer[next++];
+			}
+			target.hands[player - 1] = hand;
+		}
+
+		for (int index = 0; index < tableCounts.length; index++) {
+			int stackCount = tableCounts[index];
+			int base = index * CompactGameState.TABLE_STACK_CAPACITY;
+			for (int i = 0; i < stackCount - 1; i++) {
+				target.tableCards[base + i] = buffer[next++];
+			}
+			if (stackCount > 0) target.tableCards[base + stackCount - 1] = tableTops[index];
+			target.tableCounts[index] = (byte) stackCount;
+		}
+	}
+
+	private static long mask(List<Card> cards) {
+		long mask = 0;
+		for (int i = 0; i < cards.size(); i++) {
+			mask |= 1L << cards.get(i).getOrdinal();
+		}
+		return mask;
+	}
+}
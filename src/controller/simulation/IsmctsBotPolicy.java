@@ -0,0 +1,339 @@
+package controller.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import controller.CompactMoveExecutor;
+import controller.IIdiotGameEngine;
+import controller.validators.CompactMoveValidator;
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.card.Card;
+import model.card.GameCard;
+import model.move.Move;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+/**
+ * Bot that searches with information set Monte Carlo tree search. Each iteration deals
+ * the cards the bot cannot see at random (see {@link InformationSet}), walks down the
+ * tree choosing among the moves legal in that deal, and plays the game out with a fast
+ * rollout on a {@link CompactGameState}. Several searches run in parallel, each with its
+ * own tree, and their root statistics are added up. A search stops when its time budget
+ * or iteration limit is reached, whichever comes first.
+ */
+public class IsmctsBotPolicy implements IBotPolicy {
+
+	public static final long DEFAULT_MOVE_BUDGET_NANOS = 100_000_000L;
+
+	/**
+	 * Rollouts still running after this many moves count as lost for every player
+	 */
+	protected static final int MAX_ROLLOUT_MOVES = 1000;
+
+	protected static final double EXPLORATION = 0.7;
+
+	/*
+	 * Actions are card masks for plays, or one of these for the other two moves.
+	 */
+	static final long TAKE_PILE = -1L;
+	static final long PLAY_TOP_OF_DECK = -2L;
+
+	/**
+	 * Plays of one card and of every card of a rank for 13 ranks, top of deck and take pile
+	 */
+	static final int MAX_ACTIONS = 2 * 13 + 2;
+
+	protected final ForkJoinPool pool;
+	protected final int searches;
+	protected long moveBudgetNanos = DEFAULT_MOVE_BUDGET_NANOS;
+	protected int maxIterations = Integer.MAX_VALUE;
+
+	private final LowestCardBotPolicy swapPolicy = new LowestCardBotPolicy();
+
+	/**
+	 * Runs one search per processor on the common fork-join pool.
+	 */
+	public IsmctsBotPolicy() {
+		this(ForkJoinPool.commonPool(), Runtime.getRuntime().availableProcessors());
+	}
+
+	public IsmctsBotPolicy(ForkJoinPool pool, int searches) {
+		if (searches < 1) throw new IllegalArgumentException("At least one search is required, got " + searches);
+		this.pool = pool;
+		this.searches = searches;
+	}
+
+	/**
+	 * Bounds the time spent choosing one move.
+	 *
+	 * @param moveBudgetNanos
+	 */
+	public void setMoveBudgetNanos(long moveBudgetNanos) {
+		this.moveBudgetNanos = moveBudgetNanos;
+	}
+
+	/**
+	 * Bounds the iterations of each search, which makes a seeded search reproducible when
+	 * the time budget is not reached.
+	 *
+	 * @param maxIterations
+	 */
+	public void setMaxIterations(int maxIterations) {
+		this.maxIterations = maxIterations;
+	}
+
+	/**
+	 * Swaps like the {@link LowestCardBotPolicy}; the search only plays.
+	 */
+	@Override
+	public void performSwaps(IIdiotGameEngine engine, int playerNumber, IdiotGameConfiguration config) {
+		swapPolicy.performSwaps(engine, playerNumber, config);
+	}
+
+	@Override
+	public List<Move> chooseMoves(IdiotGameStateFacade state, int playerNumber, IdiotGameConfiguration config, Random random) {
+		if (state.CurrentGamePhase() != GamePhases.GamePlay) return Collections.emptyList();
+
+		InformationSet informationSet = new InformationSet(state, playerNumber);
+		long deadline = System.nanoTime() + moveBudgetNanos;
+
+		List<SearchTask> tasks = new ArrayList<SearchTask>(searches);
+		for (int i = 0; i < searches; i++) {
+			tasks.add(new SearchTask(informationSet, config, new Random(random.nextLong()), deadline));
+		}
+		if (ForkJoinTask.inForkJoinPool()) {
+			ForkJoinTask.invokeAll(tasks);
+		} else {
+			pool.invoke(new RecursiveTask<Void>() {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected Void compute() {
+					ForkJoinTask.invokeAll(tasks);
+					return null;
+				}
+			});
+		}
+
+		// add up the visits of every root action over all searches
+		List<Node> totals = new ArrayList<Node>();
+		for (SearchTask task : tasks) {
+			for (Node child : task.join().children) {
+				Node total = null;
+				for (Node existing : totals) {
+					if (existing.action == child.action) total = existing;
+				}
+				if (total == null) {
+					total = new Node(null, child.action, playerNumber);
+					totals.add(total);
+				}
+				total.visits += child.visits;
+			}
+		}
+		totals.sort((a, b) -> b.visits - a.visits);
+
+		List<Move> moves = new ArrayList<Move>(totals.size());
+		for (Node total : totals) {
+			moves.add(toMove(total.action));
+		}
+		return moves;
+	}
+
+	static Move toMove(long action) {
+		if (action == TAKE_PILE) return new TakePileMove("pile", "hand");
+		if (action == PLAY_TOP_OF_DECK) return new PlayTopOfDeck("drawCards", "pile");
+
+		if (Long.bitCount(action) == 1) {
+			Card card = GameCard.of(Long.numberOfTrailingZeros(action));
+			return new PlayOneCardMove(card.getId(), "pile", card);
+		}
+		List<Card> cards = new ArrayList<Card>(Long.bitCount(action));
+		for (long remaining = action; remaining != 0; remaining &= remaining - 1) {
+			cards.add(GameCard.of(Long.numberOfTrailingZeros(remaining)));
+		}
+		return new PlayMultipleCardsMove(cards.toString(), "pile", cards);
+	}
+
+	/**
+	 * Lists the current player's legal actions: for every playable rank one card of it and,
+	 * if there are more, all of them, then playing the top of the deck and taking the pile.
+	 *
+	 * @return number of actions written
+	 */
+	static int legalActions(CompactGameState state, CompactMoveValidator validator, long[] actions) {
+		int count = 0;
+		int player = state.currentPlayerTurn;
+		long playable = state.hands[player - 1] != 0 ? state.hands[player - 1] : state.tableTopsMask(player);
+
+		for (int rank = 0; rank < CompactGameState.RANK_MASKS.length; rank++) {
+			long cards = playable & CompactGameState.RANK_MASKS[rank];
+			if (cards == 0 || !validator.isValidPlay(state, cards).Success) continue;
+
+			long single = Long.lowestOneBit(cards);
+			actions[count++] = single;
+			if (cards != single) actions[count++] = cards;
+		}
+		if (state.drawCount > 0) actions[count++] = PLAY_TOP_OF_DECK;
+		if (state.pileCount > 0) actions[count++] = TAKE_PILE;
+		return count;
+	}
+
+	/**
+	 * @return true if the game has ended, with the winner as the current player
+	 */
+	static boolean apply(CompactGameState state, CompactMoveExecutor executor, long action) {
+		if (action == TAKE_PILE) return executor.takePile(state);
+		if (action == PLAY_TOP_OF_DECK) return executor.playTopOfDeck(state);
+		return executor.playCards(state, action);
+	}
+
+	/**
+	 * A node of a search tree, reached by the action of the player who just moved.
+	 */
+	static class Node {
+
+		final Node parent;
+		final long action;
+		final int playerJustMoved;
+		final List<Node> children = new ArrayList<Node>();
+		int visits;
+		int availability;
+		double wins;
+
+		Node(Node parent, long action, int playerJustMoved) {
+			this.parent = parent;
+			this.action = action;
+			this.playerJustMoved = playerJustMoved;
+		}
+
+		Node child(long action) {
+			for (int i = 0; i < children.size(); i++) {
+				if (children.get(i).action == action) return children.get(i);
+			}
+			return null;
+		}
+
+		double score() {
+			return wins / visits + EXPLORATION * Math.sqrt(Math.log(availability) / visits);
+		}
+	}
+
+	/**
+	 * One search with its own tree and its own state, executor and validator.
+	 */
+	private class SearchTask extends RecursiveTask<Node> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final InformationSet informationSet;
+		private final Random random;
+		private final long deadline;
+		private final CompactGameState state;
+		private final CompactMoveExecutor executor = new CompactMoveExecutor();
+		private final CompactMoveValidator validator = new CompactMoveValidator();
+		private final long[] actions = new long[MAX_ACTIONS];
+		private final byte[] buffer = new byte[CompactGameState.DECK_SIZE];
+
+		SearchTask(InformationSet informationSet, IdiotGameConfiguration config, Random random, long deadline) {
+			this.informationSet = informationSet;
+			this.random = random;
+			this.deadline = deadline;
+			this.state = new CompactGameState(informationSet.getNumberOfPlayers());
+			executor.setConfig(config);
+			validator.setConfig(config);
+		}
+
+		@Override
+		protected Node compute() {
+			Node root = new Node(null, 0, 0);
+			for (int iteration = 0; iteration < maxIterations && System.nanoTime() < deadline; iteration++) {
+				iterate(root);
+			}
+			return root;
+		}
+
+		private void iterate(Node root) {
+			informationSet.determinize(random, state, buffer);
+			Node node = root;
+			boolean ended = false;
+
+			// select while every legal action has been tried
+			while (true) {
+				int count = legalActions(state, validator, actions);
+				if (count == 0) break;
+
+				Node best = null;
+				long untried = 0;
+				int untriedCount = 0;
+				for (int i = 0; i < count; i++) {
+					Node child = node.child(actions[i]);
+					if (child == null) {
+						if (random.nextInt(++untriedCount) == 0) untried = actions[i];
+					} else {
+						child.availability++;
+						if (best == null || child.score() > best.score()) best = child;
+					}
+				}
+
+				int player = state.currentPlayerTurn;
+				if (untriedCount > 0) {
+					Node child = new Node(node, untried, player);
+					child.availability = 1;
+					node.children.add(child);
+					node = child;
+					ended = apply(state, executor, untried);
+					break;
+				}
+
+				node = best;
+				ended = apply(state, executor, best.action);
+				if (ended) break;
+			}
+
+			int winner = ended ? state.currentPlayerTurn : rollout();
+
+			for (; node != null; node = node.parent) {
+				node.visits++;
+				if (node.playerJustMoved == winner) node.wins++;
+			}
+		}
+
+		/**
+		 * Plays on greedily: mostly every card of the lowest playable rank, sometimes a
+		 * random play, and the top of the deck or the pile when nothing can be played.
+		 *
+		 * @return the winner, or 0 if the game did not end
+		 */
+		private int rollout() {
+			for (int move = 0; move < MAX_ROLLOUT_MOVES; move++) {
+				int count = legalActions(state, validator, actions);
+				if (count == 0) return 0;
+
+				int plays = count;
+				while (plays > 0 && actions[plays - 1] < 0) plays--;
+
+				long action;
+				if (plays == 0) {
+					action = actions[0];
+				} else if (random.nextInt(4) == 0) {
+					action = actions[random.nextInt(plays)];
+				} else {
+					action = actions[0];
+					if (plays > 1 && (actions[1] & ~action) != 0 && (actions[1] & action) != 0) action = actions[1];
+				}
+				if (apply(state, executor, action)) return state.currentPlayerTurn;
+			}
+			return 0;
+		}
+	}
+}
@@ -0,0 +1,84 @@
+package controller.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import controller.IIdiotGameEngine;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+
+/**
+ * Greedy bot that always gets rid of its weakest cards first, playing every card of a
+ * rank at once, and keeps the burn, restart and reverse cards for as long as it can.
+ * During the swapping phase it moves its strongest hand cards on to the table.
+ */
+public class LowestCardBotPolicy implements IBotPolicy {
+
+	@Override
+	public void performSwaps(IIdiotGameEngine engine, int playerNumber, IdiotGameConfiguration config) {
+
+		for (int stack = 1; stack <= 3; stack++) {
+			IdiotPlayerZoneFacade place = engine.getCurrentGameState().getPlayerPlaces().get(playerNumber - 1);
+			List<Card> tableCards = stack == 1 ? place.getAllTableCards1() : stack == 2 ? place.getAllTableCards2() : place.getAllTableCards3();
+
+			if (tableCards.size() == 0) continue;
+
+			Card tableCard = tableCards.get(tableCards.size() - 1);
+			Card strongestHandCard = null;
+
+			for (Card card : place.getHand().getCards()) {
+				if (strongestHandCard == null || strength(card.getRank(), config) > strength(strongestHandCard.getRank(), config))
+					strongestHandCard = card;
+			}
+
+			if (strongestHandCard != null && strength(strongestHandCard.getRank(), config) > strength(tableCard.getRank(), config))
+				engine.requestHandToTableCardSwap(playerNumber, strongestHandCard, tableCard);
+		}
+	}
+
+	@Override
+	public List<Move> chooseMoves(IdiotGameStateFacade state, int playerNumber, IdiotGameConfiguration config, Random random) {
+
+		List<Card> playableCards = new ArrayList<Card>(state.getPlayerPlaces().get(playerNumber - 1).getPlayableCards());
+		Collections.sort(playableCards, (a, b) -> strength(a.getRank(), config) - strength(b.getRank(), config));
+
+		List<Move> moves = new ArrayList<Move>();
+		int i = 0;
+
+		while (i < playableCards.size()) {
+			GameCardRank rank = playableCards.get(i).getRank();
+			int j = i;
+			while (j < playableCards.size() && playableCards.get(j).getRank() == rank) j++;
+
+			if (j - i == 1) {
+				Card card = playableCards.get(i);
+				moves.add(new PlayOneCardMove(card.getId(), "pile", card));
+			} else {
+				List<Card> cards = new ArrayList<Card>(playableCards.subList(i, j));
+				moves.add(new PlayMultipleCardsMove(cards.toString(), "pile", cards));
+			}
+			i = j;
+		}
+
+		return moves;
+	}
+
+	/**
+	 * Orders ranks by how valuable they are to hold on to. Special cards rank above every
+	 * normal card.
+	 */
+	private static int strength(GameCardRank rank, IdiotGameConfiguration config) {
+		if (rank == config.burnCard) return GameCardRank.values().length + 2;
+		if (rank == config.restartCard) return GameCardRank.values().length + 1;
+		if (rank == config.reverseCard) return GameCardRank.values().length;
+		return rank.ordinal();
+	}
+}
@@ -0,0 +1,37 @@
+package controller.simulation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import controller.IIdiotGameEngine;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.card.Card;
+import model.move.Move;
+import model.move.PlayOneCardMove;
+
+/**
+ * Bot that tries its playable cards one at a time in random order and never swaps.
+ * Useful as a baseline opponent when comparing house rules.
+ */
+public class RandomBotPolicy implements IBotPolicy {
+
+	@Override
+	public void performSwaps(IIdiotGameEngine engine, int playerNumber, IdiotGameConfiguration config) {
+	}
+
+	@Override
+	public List<Move> chooseMoves(IdiotGameStateFacade state, int playerNumber, IdiotGameConfiguration config, Random random) {
+
+		List<Card> playableCards = new ArrayList<Card>(state.getPlayerPlaces().get(playerNumber - 1).getPlayableCards());
+		Collections.shuffle(playableCards, random);
+
+		List<Move> moves = new ArrayList<Move>();
+		for (Card card : playableCards) {
+			moves.add(new PlayOneCardMove(card.getId(), "pile", card));
+		}
+		return moves;
+	}
+}
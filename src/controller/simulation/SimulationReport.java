@@ -0,0 +1,128 @@
+package controller.simulation;
+
+import model.IdiotGameConfiguration;
+
+/**
+ * Statistics gathered by the {@link GameSimulator} for one {@link IdiotGameConfiguration}.
+ * Each worker fills in its own report and the partial reports are merged at the end, so
+ * nothing here needs to be thread safe.
+ */
+public class SimulationReport {
+
+	protected final IdiotGameConfiguration config;
+	protected final int numberOfPlayers;
+
+	protected long gamesPlayed;
+	protected long gamesCompleted;
+	protected long totalTurns;
+	protected int minTurns = Integer.MAX_VALUE;
+	protected int maxTurns;
+	protected long elapsedNanos;
+
+	/**
+	 * Number of games won per player (index = player number - 1)
+	 */
+	protected final long[] wins;
+
+	public SimulationReport(IdiotGameConfiguration config, int numberOfPlayers) {
+		this.config = config;
+		this.numberOfPlayers = numberOfPlayers;
+		this.wins = new long[numberOfPlayers];
+	}
+
+	/**
+	 * Records the outcome of a single game.
+	 *
+	 * @param turns number of accepted moves
+	 * @param winner winning player number, or 0 if the game was abandoned at the turn limit
+	 */
+	public void recordGame(int turns, int winner) {
+		gamesPlayed++;
+		totalTurns += turns;
+		minTurns = Math.min(minTurns, turns);
+		maxTurns = Math.max(maxTurns, turns);
+
+		if (winner > 0) {
+			gamesCompleted++;
+			wins[winner - 1]++;
+		}
+	}
+
+	/**
+	 * Adds the results of another report for the same configuration to this one.
+	 *
+	 * @param other
+	 * @return this report
+	 */
+	public SimulationReport merge(SimulationReport other) {
+		gamesPlayed += other.gamesPlayed;
+		gamesCompleted += other.gamesCompleted;
+		totalTurns += other.totalTurns;
+		minTurns = Math.min(minTurns, other.minTurns);
+		maxTurns = Math.max(maxTurns, other.maxTurns);
+		for (int i = 0; i < wins.length; i++) {
+			wins[i] += other.wins[i];
+		}
+		return this;
+	}
+
+	public IdiotGameConfiguration getConfig() {
+		return config;
+	}
+
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
+	public long getGamesPlayed() {
+		return gamesPlayed;
+	}
+
+	public long getGamesCompleted() {
+		return gamesCompleted;
+	}
+
+	public long getWins(int playerNumber) {
+		return wins[playerNumber - 1];
+	}
+
+	public double getWinRate(int playerNumber) {
+		return gamesCompleted == 0 ? 0 : (double) wins[playerNumber - 1] / gamesCompleted;
+	}
+
+	public double getAverageTurns() {
+		return gamesPlayed == 0 ? 0 : (double) totalTurns / gamesPlayed;
+	}
+
+	public int getMinTurns() {
+		return gamesPlayed == 0 ? 0 : minTurns;
+	}
+
+	public int getMaxTurns() {
+		return maxTurns;
+	}
+
+	public long getElapsedNanos() {
+		return elapsedNanos;
+	}
+
+	public void setElapsedNanos(long elapsedNanos) {
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	public double getGamesPerSecond() {
+		return elapsedNanos == 0 ? 0 : gamesPlayed / (elapsedNanos / 1e9);
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buf = new StringBuilder();
+		buf.append(config.toString()).append(System.lineSeparator());
+		buf.append(String.format("Games: %d (%d completed), %.1f games/sec%n", gamesPlayed, gamesCompleted, getGamesPerSecond()));
+		buf.append(String.format("Turns: avg %.1f, min %d, max %d%n", getAverageTurns(), getMinTurns(), maxTurns));
+		for (int player = 1; player <= numberOfPlayers; player++) {
+			buf.append(String.format("Player %d win rate: %.2f%%%n", player, getWinRate(player) * 100));
+		}
+		return buf.toString();
+	}
+}
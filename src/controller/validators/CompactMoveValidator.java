@@ -0,0 +1,59 @@
+package controller.validators;
+
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.PlayabilityTable;
+
+/**
+ * Applies the same rules as {@link MoveValidator} to a {@link CompactGameState}. Cards
+ * are passed as a mask of ordinals and every outcome is one of the shared
+ * {@link ValidationResult} constants, so validating never allocates.
+ */
+public class CompactMoveValidator {
+
+	protected IdiotGameConfiguration config;
+	protected PlayabilityTable playability;
+
+	public ValidationResult isValidTakePile(CompactGameState state) {
+		return state.pileCount > 0 ? ValidationResult.VALID : ValidationResult.EMPTY_PILE;
+	}
+
+	public ValidationResult isValidPlayTopOfDeck(CompactGameState state) {
+		return state.drawCount > 0 ? ValidationResult.VALID : ValidationResult.EMPTY_DECK;
+	}
+
+	/**
+	 * Validates playing one or more cards of the same rank for the current player.
+	 *
+	 * @param state
+	 * @param cards mask of card ordinals to play
+	 * @return
+	 */
+	public ValidationResult isValidPlay(CompactGameState state, long cards) {
+
+		if (cards == 0) return ValidationResult.NO_CARDS_SELECTED;
+
+		int player = state.currentPlayerTurn;
+		long hand = state.hands[player - 1];
+
+		if (hand != 0) {
+			if ((cards & ~hand) != 0) return ValidationResult.NOT_IN_HAND;
+		}
+		else if ((cards & ~state.tableTopsMask(player)) != 0) return ValidationResult.NOT_ON_TABLE;
+
+		int rank = CompactGameState.rankOf(Long.numberOfTrailingZeros(cards));
+
+		if ((cards & ~CompactGameState.RANK_MASKS[rank]) != 0) return ValidationResult.MIXED_RANKS;
+
+		int topPileCardRank = state.pileCount == 0 ? PlayabilityTable.EMPTY_PILE : CompactGameState.rankOf(state.pileTop());
+
+		if ((cards & ~playability.playableCards(topPileCardRank)) == 0) return ValidationResult.VALID;
+
+		return topPileCardRank == config.reverseCard.ordinal() ? ValidationResult.ABOVE_REVERSE_CARD : ValidationResult.BELOW_PILE_CARD;
+	}
+
+	public void setConfig(IdiotGameConfiguration config) {
+		this.config = config;
+		this.playability = config.getPlayability();
+	}
+}
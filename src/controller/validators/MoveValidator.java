@@ -1,11 +1,10 @@
 
 package controller.validators;
 
-import java.util.ArrayList;
-import java.util.List;
-
 import model.IdiotGameConfiguration;
 import model.IdiotGameState;
+import model.PlayabilityTable;
+import model.PlayerZone;
 import model.card.Card;
 import model.card.GameCardRank;
 import model.move.Move;
@@ -18,8 +17,7 @@ public class MoveValidator implements IMoveValidator {
 
 	protected IdiotGameState state; 
 	protected IdiotGameConfiguration config;
-	
-	final private ValidationResult successfulResult = new ValidationResult() {{ Success = true; }};
+	protected PlayabilityTable playability;
 	
 	//TODO: clean up this method (break up in to parts and remove redundancies)
 	
@@ -27,13 +25,13 @@ public class MoveValidator implements IMoveValidator {
 	public ValidationResult IsValidMove(Move move) {
 		
 		if (move instanceof TakePileMove) {
-			if (state.pile.size() > 0) return successfulResult;
-			else return new ValidationResult() {{ Success = false; ErrorMessage = "Cannot take pile because it is empty";}};
+			if (state.pile.size() > 0) return ValidationResult.VALID;
+			else return ValidationResult.EMPTY_PILE;
 		}
 		
 		if (move instanceof PlayTopOfDeck) {
-			if (state.drawCards.size() > 0) return successfulResult;
-			else return new ValidationResult() {{ Success = false; ErrorMessage = "Cannot play top of deck because it is empty.";}};
+			if (state.drawCards.size() > 0) return ValidationResult.VALID;
+			else return ValidationResult.EMPTY_DECK;
 		}
 		
 		if (move instanceof PlayOneCardMove) {
@@ -43,75 +41,54 @@ public class MoveValidator implements IMoveValidator {
 			
 			if (! resultOfCheckForCardOwnership.Success) return resultOfCheckForCardOwnership;
 			
-			GameCardRank rank = cardPlay.card.getRank();
-			
-			if (rank == config.burnCard || rank == config.restartCard || rank == config.reverseCard) return successfulResult;
-			
-			if (state.pile.size() == 0) return successfulResult;
-			
-			GameCardRank topPileCardRank = state.pile.get(state.pile.size()-1).getRank();
-			
-			if (topPileCardRank == config.reverseCard) {
-				if (cardPlay.card.getRank().ordinal() > topPileCardRank.ordinal()) return new ValidationResult() {{ Success = false; ErrorMessage = "Top pile card is the reverse card and card played is greater than the reverse card value.";}};
-			}
-			else {
-				if (cardPlay.card.getRank().ordinal() < topPileCardRank.ordinal()) return new ValidationResult() {{ Success = false; ErrorMessage = "Card played is less than top of pile card's value.";}};
-			}
-			
-			return successfulResult;
+			return canBePlayedOnPile(cardPlay.card.getRank());
 		}
 		
 		if (move instanceof PlayMultipleCardsMove) {
 			PlayMultipleCardsMove cardsPlay = (PlayMultipleCardsMove)move;
 			
-			for (Card card : cardsPlay.cards) {
-				ValidationResult resultOfCheckForCardOwnership = playerHasCardPlayed(card);
+			if (cardsPlay.cards.isEmpty()) return ValidationResult.NO_CARDS_SELECTED;
+			
+			for (int i = 0; i < cardsPlay.cards.size(); i++) {
+				ValidationResult resultOfCheckForCardOwnership = playerHasCardPlayed(cardsPlay.cards.get(i));
 				if (! resultOfCheckForCardOwnership.Success) return resultOfCheckForCardOwnership;
+				
+				for (int j = 0; j < i; j++) {
+					if (cardsPlay.cards.get(j).equals(cardsPlay.cards.get(i))) return ValidationResult.REPEATED_CARDS;
+				}
 			}
 			
 			GameCardRank firstCardRank = cardsPlay.cards.get(0).getRank();
 			
-			for (Card card: cardsPlay.cards) {
-				if (card.getRank() != firstCardRank) return new ValidationResult() {{ Success = false; ErrorMessage = "All cards of the multiple ones selected for play are not of the same rank.";}};
+			for (int i = 1; i < cardsPlay.cards.size(); i++) {
+				if (cardsPlay.cards.get(i).getRank() != firstCardRank) return ValidationResult.MIXED_RANKS;
 			}
 			
-			if (firstCardRank == config.burnCard || firstCardRank == config.restartCard || firstCardRank == config.reverseCard) return successfulResult;
-			
-			if (state.pile.size() == 0) return successfulResult;
-			
-			GameCardRank topPileCardRank = state.pile.get(state.pile.size()-1).getRank();
-			
-			if (topPileCardRank == config.reverseCard) {
-				if (firstCardRank.ordinal() > topPileCardRank.ordinal()) return new ValidationResult() {{ Success = false; ErrorMessage = "Top pile card is the reverse card and card played is greater than the reverse card value.";}};
-			}
-			else {
-				if (firstCardRank.ordinal() < topPileCardRank.ordinal()) return new ValidationResult() {{ Success = false; ErrorMessage = "Card played is less than top of pile card's value.";}};
-			}
-			
-			return successfulResult;
+			return canBePlayedOnPile(firstCardRank);
 		}
 		
 		throw new IllegalStateException("Move received for validation is not a known type");
 	}
 	
+	private ValidationResult canBePlayedOnPile(GameCardRank rank) {
+		
+		GameCardRank topPileCardRank = state.pile.size() == 0 ? null : state.pile.get(state.pile.size()-1).getRank();
+		
+		if (playability.canPlay(rank, topPileCardRank)) return ValidationResult.VALID;
+		
+		return topPileCardRank == config.reverseCard ? ValidationResult.ABOVE_REVERSE_CARD : ValidationResult.BELOW_PILE_CARD;
+	}
+	
 	private ValidationResult playerHasCardPlayed(Card card) {
 		
-		List<Card> currentPlayerHand = state.PlayerPlaces.get(state.currentPlayerTurn-1).hand;
-		List<Card> currentPlayerTableCards1 = state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards1;
-		List<Card> currentPlayerTableCards2 = state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards2;
-		List<Card> currentPlayerTableCards3 = state.PlayerPlaces.get(state.currentPlayerTurn - 1).tableCards3;
+		PlayerZone currentPlayerPlace = state.PlayerPlaces.get(state.currentPlayerTurn - 1);
 		
-		List<Card> faceUpTableCards = new ArrayList<Card>();
-		if (currentPlayerTableCards1.size() > 0) faceUpTableCards.add(currentPlayerTableCards1.get(currentPlayerTableCards1.size() - 1));
-		if (currentPlayerTableCards2.size() > 0) faceUpTableCards.add(currentPlayerTableCards2.get(currentPlayerTableCards2.size() - 1));
-		if (currentPlayerTableCards3.size() > 0) faceUpTableCards.add(currentPlayerTableCards3.get(currentPlayerTableCards3.size() - 1));
-		 
-		if (currentPlayerHand.size() > 0) {
-			if (! currentPlayerHand.contains(card)) return new ValidationResult() {{ Success = false; ErrorMessage = "Card played is not in current player's hand or is not a valid card to play.";}}; 
+		if (currentPlayerPlace.hand.size() > 0) {
+			if (! currentPlayerPlace.hand.contains(card)) return ValidationResult.NOT_IN_HAND; 
 		}
-		else if (! faceUpTableCards.contains(card)) return new ValidationResult() {{ Success = false; ErrorMessage = "Card played is not among current player's face up table cards.";}}; 
+		else if (currentPlayerPlace.getMatchingFaceUpTableCard(card) == 0) return ValidationResult.NOT_ON_TABLE; 
 
-		return successfulResult; 
+		return ValidationResult.VALID; 
 	}
 	
 	@Override
@@ -122,6 +99,7 @@ public class MoveValidator implements IMoveValidator {
 	@Override 
 	public void setConfig(IdiotGameConfiguration config) {
 		this.config = config;
+		this.playability = config.getPlayability();
 	}
 	
 }
@@ -4,5 +4,10 @@ public class TableSwapValidationResult extends ValidationResult {
 	/**
 	 * Indicates from which stack the matching face up card is from
 	 */
-	public int targetTableStack = 0;
+	public final int targetTableStack;
+
+	public TableSwapValidationResult(boolean success, String errorMessage, int targetTableStack) {
+		super(success, errorMessage);
+		this.targetTableStack = targetTableStack;
+	}
 }
@@ -7,6 +7,17 @@ public class TableSwapValidator implements ITableSwapValidator {
 
 	protected IdiotGameState state;
 	
+	/**
+	 * Shared successful results by table stack number (index 0 unused)
+	 */
+	private static final TableSwapValidationResult[] validSwapResults = new TableSwapValidationResult[4];
+	
+	static {
+		for (int stack = 1; stack < validSwapResults.length; stack++) {
+			validSwapResults[stack] = new TableSwapValidationResult(true, "", stack);
+		}
+	}
+	
 	public TableSwapValidator() {
 	}
 	
@@ -16,55 +27,27 @@ public class TableSwapValidator implements ITableSwapValidator {
 	
 	public TableSwapValidationResult isValidSwap(int playerNumber, Card handCard, Card tableCard) {
 		
-		TableSwapValidationResult result = new TableSwapValidationResult();
+		if (!playerNumberIsValid(playerNumber)) return failedSwap("Invalid Player Number: " + playerNumber);
 		
-		if (!playerNumberIsValid(playerNumber, result)) return result;
+		int tableStackContainingCard = state.PlayerPlaces.get(playerNumber-1).getMatchingFaceUpTableCard(tableCard);
 		
-		int tableStackContainingCard = tableCardStackContainingTableCard(tableCard, playerNumber, result);
+		if (tableStackContainingCard == 0) return failedSwap("Table card requested for swap not among Player " + playerNumber + "'s face up cards");
 		
-		if (tableStackContainingCard == 0) return result;
+		if (!state.PlayerPlaces.get(playerNumber-1).hand.contains(handCard)) return failedSwap("Hand card requested for swap not in Player " + playerNumber + "'s hand");
 		
-		if (!cardIsPresentInPlayersHand(handCard, playerNumber, result)) return result;
-		
-		result.Success = true;
-		return result; 
+		return validSwapResults[tableStackContainingCard]; 
 		
 	}
 	
-	private boolean playerNumberIsValid(int playerNumber, TableSwapValidationResult result) {
-		
-		if (playerNumber < 1 || playerNumber > state.PlayerPlaces.size()) {
-			result.ErrorMessage = "Invalid Player Number: " + playerNumber;
-			result.Success = false;
-			return false;
-		} 
-		
-		return true;
+	private boolean playerNumberIsValid(int playerNumber) {
+		return playerNumber >= 1 && playerNumber <= state.PlayerPlaces.size();
 	}
 	
-	private int tableCardStackContainingTableCard(Card tableCard, int playerNumber,  TableSwapValidationResult result) {
-		
-		int tableCardStackFoundIn = state.PlayerPlaces.get(playerNumber-1).getMatchingFaceUpTableCard(tableCard);
-		
-		if (tableCardStackFoundIn == 0) {
-			result.ErrorMessage = "Table card requested for swap not among Player " + playerNumber + "'s face up cards";
-			result.Success = false;
-		}
-		else {
-			result.targetTableStack = tableCardStackFoundIn;
-		}
-		return tableCardStackFoundIn;
-	}
-	
-	private boolean cardIsPresentInPlayersHand(Card handCard, int playerNumber,  TableSwapValidationResult result) {
-		
-		if (!state.PlayerPlaces.get(playerNumber-1).hand.contains(handCard)) {
-			result.ErrorMessage = "Hand card requested for swap not in Player " + playerNumber + "'s hand";
-			result.Success = false;
-			return false;
-		} 
-		
-		return true;
+	/**
+	 * Failed swaps name the requesting player, so only they create a new result
+	 */
+	private static TableSwapValidationResult failedSwap(String errorMessage) {
+		return new TableSwapValidationResult(false, errorMessage, 0);
 	}
 
 }
@@ -1,8 +1,43 @@
 package controller.validators;
 
+import model.move.MoveResult;
+
 public class ValidationResult {
 
-	public boolean Success = false;
-	public String ErrorMessage = "";
+	/*
+	 * Shared results for every outcome of move validation, so validating a move does
+	 * not allocate. Results are immutable.
+	 */
+	public static final ValidationResult VALID = new ValidationResult(true, "");
+	public static final ValidationResult EMPTY_PILE = new ValidationResult(false, "Cannot take pile because it is empty");
+	public static final ValidationResult EMPTY_DECK = new ValidationResult(false, "Cannot play top of deck because it is empty.");
+	public static final ValidationResult NO_CARDS_SELECTED = new ValidationResult(false, "No cards selected for play.");
+	public static final ValidationResult NOT_IN_HAND = new ValidationResult(false, "Card played is not in current player's hand or is not a valid card to play.");
+	public static final ValidationResult NOT_ON_TABLE = new ValidationResult(false, "Card played is not among current player's face up table cards.");
+	public static final ValidationResult REPEATED_CARDS = new ValidationResult(false, "The same card is selected more than once for play.");
+	public static final ValidationResult MIXED_RANKS = new ValidationResult(false, "All cards of the multiple ones selected for play are not of the same rank.");
+	public static final ValidationResult ABOVE_REVERSE_CARD = new ValidationResult(false, "Top pile card is the reverse card and card played is greater than the reverse card value.");
+	public static final ValidationResult BELOW_PILE_CARD = new ValidationResult(false, "Card played is less than top of pile card's value.");
+
+	public final boolean Success;
+	public final String ErrorMessage;
+	
+	/**
+	 * Failed move result carrying the error message, created up front
+	 */
+	private final MoveResult failedMoveResult;
+	
+	public ValidationResult(boolean success, String errorMessage) {
+		Success = success;
+		ErrorMessage = errorMessage;
+		failedMoveResult = success ? null : new MoveResult(false, errorMessage, false, false);
+	}
 	
+	/**
+	 * @return an unsuccessful move result with this result's error message
+	 */
+	public MoveResult toFailedMoveResult() {
+		if (failedMoveResult != null) return failedMoveResult;
+		return new MoveResult(false, ErrorMessage, false, false);
+	}
 }
@@ -0,0 +1,317 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import model.IdiotGameState.GamePhases;
+import model.card.Card;
+import model.card.CardDeck;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.card.GameCardSuit;
+
+/**
+ * Primitive encoding of an {@link IdiotGameState} for holding large numbers of games in
+ * memory. Every card is identified by its ordinal (suit * 13 + rank). Zones where order
+ * does not matter (hands and discarded cards) are 64 bit masks with one bit per ordinal;
+ * ordered zones (draw cards, pile and table stacks) are byte arrays with the top card
+ * last. All arrays are allocated once, so playing moves on this state allocates nothing.
+ */
+public class CompactGameState {
+
+	public static final int DECK_SIZE = 52;
+	public static final int TABLE_STACKS = 3;
+
+	/**
+	 * Table stacks start with two cards and swaps never grow them.
+	 */
+	public static final int TABLE_STACK_CAPACITY = 4;
+
+	/**
+	 * Mask of the four cards of each rank, indexed by rank ordinal.
+	 */
+	public static final long[] RANK_MASKS = new long[GameCardRank.values().length];
+
+	static {
+		for (int ordinal = 0; ordinal < DECK_SIZE; ordinal++) {
+			RANK_MASKS[rankOf(ordinal)] |= 1L << ordinal;
+		}
+	}
+
+	public final int numberOfPlayers;
+
+	public GamePhases currentGamePhase = GamePhases.Uninitialized;
+	public int currentPlayerTurn = 1;
+	public int turnDirection = 1;
+	public int skippedPlayers;
+
+	public final byte[] drawCards = new byte[DECK_SIZE];
+	public int drawCount;
+
+	public final byte[] pile = new byte[DECK_SIZE];
+	public int pileCount;
+
+	public long discardedCards;
+
+	/**
+	 * Hand mask per player (index = player number - 1)
+	 */
+	public final long[] hands;
+
+	/**
+	 * Table stack cards laid out as [player][stack][position], bottom card first.
+	 */
+	public final byte[] tableCards;
+
+	/**
+	 * Number of cards in each table stack, laid out as [player][stack].
+	 */
+	public final byte[] tableCounts;
+
+	public CompactGameState(int numberOfPlayers) {
+		this.numberOfPlayers = numberOfPlayers;
+		this.hands = new long[numberOfPlayers];
+		this.tableCards = new byte[numberOfPlayers * TABLE_STACKS * TABLE_STACK_CAPACITY];
+		this.tableCounts = new byte[numberOfPlayers * TABLE_STACKS];
+	}
+
+	public static int ordinal(Card card) {
+		return card.getOrdinal();
+	}
+
+	public static int rankOf(int ordinal) {
+		return ordinal % 13;
+	}
+
+	public static int suitOf(int ordinal) {
+		return ordinal / 13;
+	}
+
+	/**
+	 * Index of a table stack in {@link #tableCounts}; multiply by
+	 * {@link #TABLE_STACK_CAPACITY} for its first position in {@link #tableCards}.
+	 *
+	 * @param player player number
+	 * @param stack table stack number (1 to 3)
+	 * @return
+	 */
+	public static int stackIndex(int player, int stack) {
+		return (player - 1) * TABLE_STACKS + (stack - 1);
+	}
+
+	/**
+	 * @return ordinal of the top card of the stack, or -1 if it is empty
+	 */
+	public int tableTop(int player, int stack) {
+		int index = stackIndex(player, stack);
+		int count = tableCounts[index];
+		return count == 0 ? -1 : tableCards[index * TABLE_STACK_CAPACITY + count - 1];
+	}
+
+	/**
+	 * @return mask of the face up top cards of the player's table stacks
+	 */
+	public long tableTopsMask(int player) {
+		long mask = 0;
+		for (int stack = 1; stack <= TABLE_STACKS; stack++) {
+			int top = tableTop(player, stack);
+			if (top >= 0) mask |= 1L << top;
+		}
+		return mask;
+	}
+
+	public boolean tableStacksEmpty(int player) {
+		int first = stackIndex(player, 1);
+		for (int i = first; i < first + TABLE_STACKS; i++) {
+			if (tableCounts[i] != 0) return false;
+		}
+		return true;
+	}
+
+	/**
+	 * @return ordinal of the top card of the pile, or -1 if the pile is empty
+	 */
+	public int pileTop() {
+		return pileCount == 0 ? -1 : pile[pileCount - 1];
+	}
+
+	/**
+	 * Makes this state an exact copy of another one with the same number of players.
+	 *
+	 * @param other
+	 */
+	public void copyFrom(CompactGameState other) {
+		if (other.numberOfPlayers != numberOfPlayers) throw new IllegalArgumentException("Cannot copy a " + other.numberOfPlayers + " player state into a " + numberOfPlayers + " player state");
+
+		currentGamePhase = other.currentGamePhase;
+		currentPlayerTurn = other.currentPlayerTurn;
+		turnDirection = other.turnDirection;
+		skippedPlayers = other.skippedPlayers;
+		System.arraycopy(other.drawCards, 0, drawCards, 0, other.drawCount);
+		drawCount = other.drawCount;
+		System.arraycopy(other.pile, 0, pile, 0, other.pileCount);
+		pileCount = other.pileCount;
+		discardedCards = other.discardedCards;
+		System.arraycopy(other.hands, 0, hands, 0, hands.length);
+		System.arraycopy(other.tableCards, 0, tableCards, 0, tableCards.length);
+		System.arraycopy(other.tableCounts, 0, tableCounts, 0, tableCounts.length);
+	}
+
+	/**
+	 * Encodes an object model game state.
+	 *
+	 * @param state
+	 * @return
+	 */
+	public static CompactGameState fromGameState(IdiotGameState state) {
+		CompactGameState result = new CompactGameState(state.PlayerPlaces.size());
+
+		result.currentGamePhase = state.CurrentGamePhase;
+		result.currentPlayerTurn = state.currentPlayerTurn;
+		result.turnDirection = state.turnDirection;
+		result.skippedPlayers = state.skippedPlayers;
+		result.drawCount = copyOrdinals(state.drawCards, result.drawCards, 0);
+		result.pileCount = copyOrdinals(state.pile, result.pile, 0);
+		result.discardedCards = mask(state.discardedCards);
+
+		for (PlayerZone place : state.PlayerPlaces) {
+			int player = place.playerNumber;
+			result.hands[player - 1] = mask(place.hand);
+			result.setTableStack(player, 1, place.tableCards1);
+			result.setTableStack(player, 2, place.tableCards2);
+			result.setTableStack(player, 3, place.tableCards3);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Decodes this state into new object model cards. Hand cards and the top card of each
+	 * table stack are face up, all other cards face down.
+	 *
+	 * @return
+	 */
+	public IdiotGameState toGameState() {
+		IdiotGameState state = new IdiotGameState(numberOfPlayers);
+		Card[] cards = new Card[DECK_SIZE];
+		CardDeck fullDeck = new CardDeck();
+
+		for (GameCardSuit suit : GameCardSuit.values()) {
+			for (GameCardRank rank : GameCardRank.values()) {
+				Card card = new GameCard(true, suit, rank);
+				cards[ordinal(card)] = card;
+				fullDeck.addCard(card);
+			}
+		}
+
+		state.CurrentGamePhase = currentGamePhase;
+		state.currentPlayerTurn = currentPlayerTurn;
+		state.turnDirection = turnDirection;
+		state.skippedPlayers = skippedPlayers;
+		state.fullDeck = fullDeck;
+		state.drawCards = toList(cards, drawCards, 0, drawCount);
+		state.idDrawCards = "drawCards";
+		state.pile = toList(cards, pile, 0, pileCount);
+		state.idPile = "pile";
+		state.idDiscardedCards = "discardedCards";
+		state.discardedCards = toList(cards, discardedCards);
+
+		for (PlayerZone place : state.PlayerPlaces) {
+			int player = place.playerNumber;
+			place.hand = toList(cards, hands[player - 1]);
+			place.tableCards1 = toTableStack(cards, player, 1);
+			place.tableCards2 = toTableStack(cards, player, 2);
+			place.tableCards3 = toTableStack(cards, player, 3);
+			place.hand.forEach(Card::faceUp);
+			place.initializePileIDs();
+		}
+
+		return state;
+	}
+
+	private void setTableStack(int player, int stack, List<Card> cards) {
+		if (cards.size() > TABLE_STACK_CAPACITY) throw new IllegalStateException("Table stack " + stack + " of player " + player + " holds more than " + TABLE_STACK_CAPACITY + " cards");
+
+		int index = stackIndex(player, stack);
+		tableCounts[index] = (byte) copyOrdinals(cards, tableCards, index * TABLE_STACK_CAPACITY);
+	}
+
+	private List<Card> toTableStack(Card[] cards, int player, int stack) {
+		int index = stackIndex(player, stack);
+		List<Card> result = toList(cards, tableCards, index * TABLE_STACK_CAPACITY, tableCounts[index]);
+		if (result.size() > 0) result.get(result.size() - 1).faceUp();
+		return result;
+	}
+
+	private static int copyOrdinals(List<Card> source, byte[] target, int offset) {
+		for (int i = 0; i < source.size(); i++) {
+			target[offset + i] = (byte) ordinal(source.get(i));
+		}
+		return source.size();
+	}
+
+	private static long mask(List<Card> cards) {
+		long mask = 0;
+		for (Card card : cards) {
+			mask |= 1L << ordinal(card);
+		}
+		return mask;
+	}
+
+	private static List<Card> toList(Card[] cards, byte[] ordinals, int offset, int count) {
+		List<Card> result = new ArrayList<Card>(count);
+		for (int i = offset; i < offset + count; i++) {
+			result.add(cards[ordinals[i]]);
+		}
+		return result;
+	}
+
+	private static List<Card> toList(Card[] cards, long mask) {
+		List<Card> result = new ArrayList<Card>(Long.bitCount(mask));
+		for (long remaining = mask; remaining != 0; remaining &= remaining - 1) {
+			result.add(cards[Long.numberOfTrailingZeros(remaining)]);
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof CompactGameState)) return false;
+		if (obj == this) return true;
+
+		CompactGameState other = (CompactGameState) obj;
+		if (numberOfPlayers != other.numberOfPlayers || currentGamePhase != other.currentGamePhase
+				|| currentPlayerTurn != other.currentPlayerTurn || turnDirection != other.turnDirection
+				|| skippedPlayers != other.skippedPlayers || drawCount != other.drawCount
+				|| pileCount != other.pileCount || discardedCards != other.discardedCards
+				|| !Arrays.equals(hands, other.hands) || !Arrays.equals(tableCounts, other.tableCounts)) return false;
+
+		for (int i = 0; i < drawCount; i++) {
+			if (drawCards[i] != other.drawCards[i]) return false;
+		}
+		for (int i = 0; i < pileCount; i++) {
+			if (pile[i] != other.pile[i]) return false;
+		}
+		for (int i = 0; i < tableCounts.length; i++) {
+			for (int j = 0; j < tableCounts[i]; j++) {
+				if (tableCards[i * TABLE_STACK_CAPACITY + j] != other.tableCards[i * TABLE_STACK_CAPACITY + j]) return false;
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = currentPlayerTurn;
+		hash = 31 * hash + Long.hashCode(discardedCards);
+		hash = 31 * hash + Arrays.hashCode(hands);
+		for (int i = 0; i < drawCount; i++) {
+			hash = 31 * hash + drawCards[i];
+		}
+		for (int i = 0; i < pileCount; i++) {
+			hash = 31 * hash + pile[i];
+		}
+		return hash;
+	}
+}
@@ -19,6 +19,11 @@ public GameCardRank burnCard;
  */
 public GameCardRank reverseCard;
 
+/**
+ * Rules compiled from the ranks above, recompiled if they have changed
+ */
+private transient PlayabilityTable playability;
+
 /**
  * @param restartCard
  * @param burnCard
@@ -37,6 +42,18 @@ public IdiotGameConfiguration(GameCardRank restartCard, GameCardRank burnCard,
 public IdiotGameConfiguration() {
 }
 
+/**
+ * @return which ranks may be played on which under these rules
+ */
+public PlayabilityTable getPlayability() {
+	PlayabilityTable table = playability;
+	if (table == null || !table.isCompiledFrom(this)) {
+		table = PlayabilityTable.compile(this);
+		playability = table;
+	}
+	return table;
+}
+
 @Override
 public String toString(){
 	return "Rules: Burn card(" + burnCard.toString() + "), " +
@@ -18,8 +18,6 @@ public class IdiotGameState {
 	
 	public IdiotGameState(int numberOfPlayers) {
 		
-		//TODO: Validate numberOfPlayers passed is within valid bounds
-		
 		PlayerPlaces = new ArrayList<PlayerZone>();
 		IntStream.range(1, numberOfPlayers+1).forEach(idx -> PlayerPlaces.add(new PlayerZone(idx)));
 	}
@@ -34,6 +32,16 @@ public class IdiotGameState {
 	 */
 	public int currentPlayerTurn = 1;
 	
+	/**
+	 * Direction the turn moves around the table: 1 to the next player number, -1 to the previous
+	 */
+	public int turnDirection = 1;
+	
+	/**
+	 * Players passed over when the turn next moves on
+	 */
+	public int skippedPlayers = 0;
+	
 	/**
 	 *Contains the pile of all the discarded cards 
 	 */
@@ -45,6 +53,7 @@ public class IdiotGameState {
 	
 	public String idDrawCards;
 	public String idPile;
+	public String idDiscardedCards;
 	
 	
 	
@@ -56,7 +65,7 @@ public class IdiotGameState {
 	
 	@Override 
 	public String toString() { // Useful for debugging
-		StringBuffer buf = new StringBuffer();
+		StringBuilder buf = new StringBuilder();
 		buf.append("Deck: [");
 		cardListToString(drawCards, buf);
 		buf.append("]\r\nDiscardedCards: [");
@@ -67,7 +76,7 @@ public class IdiotGameState {
 		
 		for (PlayerZone player : PlayerPlaces) {
 			
-			buf.append("\r\nPlayer : " + player.playerNumber);
+			buf.append("\r\nPlayer : ").append(player.playerNumber);
 			buf.append("\r\nHand: [" );
 			cardListToString(player.hand, buf);
 			buf.append("]\r\nTableCards: [" );
@@ -82,8 +91,11 @@ public class IdiotGameState {
 		return buf.toString();
 	}
 	
-	private void cardListToString(List<Card> cardList, StringBuffer buf) {
-		IntStream.range(0, cardList.size()).forEach(i -> buf.append(cardList.get(i).getId() + ((i == cardList.size()-1)?"":",")));
+	private void cardListToString(List<Card> cardList, StringBuilder buf) {
+		for (int i = 0; i < cardList.size(); i++) {
+			if (i > 0) buf.append(',');
+			buf.append(cardList.get(i).getId());
+		}
 	}
 
 }
@@ -1,43 +1,160 @@
 package model;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import model.card.Card;
 import model.card.CardDeck;
 import model.card.FaceDownCardStack;
 import model.card.FaceUpCardStack;
 
+/**
+ * Immutable, versioned snapshot of a game state. The engine builds one per state change
+ * and shares every zone that did not change with the previous snapshot, so readers on
+ * any thread can hold on to a snapshot and read it as often as they like without
+ * copying. The cards in it are shared with the engine too, which is why the engine
+ * never turns a card over in place once it is dealt but swaps in a turned copy.
+ */
 public class IdiotGameStateFacade {
 
-	final protected IdiotGameState wrappedState;
+	final protected long version;
+	final protected IdiotGameState.GamePhases currentGamePhase;
+	final protected int currentPlayerTurn;
+	final protected FaceDownCardStack deck;
+	final protected List<Card> pileCards;
+	final protected FaceUpCardStack pile;
+	final protected List<Card> discardedCards;
+	final protected String idDrawCards;
+	final protected String idPile;
+	final protected String idDiscardedCards;
+	final protected CardDeck fullDeck;
+	final protected List<IdiotPlayerZoneFacade> playerPlaces;
 	
-	public IdiotGameStateFacade(IdiotGameState wrappedState) {
-		this.wrappedState = wrappedState;
+	public IdiotGameStateFacade(IdiotGameState state) {
+		this(state, null);
+	}
+	
+	protected IdiotGameStateFacade(IdiotGameState state, IdiotGameStateFacade previous) {
+		version = previous == null ? 0 : previous.version + 1;
+		currentGamePhase = state.CurrentGamePhase;
+		currentPlayerTurn = state.currentPlayerTurn;
+		idDrawCards = state.idDrawCards;
+		idPile = state.idPile;
+		idDiscardedCards = state.idDiscardedCards;
+		fullDeck = state.fullDeck;
+		
+		deck = previous != null && previous.deck.size() == state.drawCards.size() ? previous.deck : new FaceDownCardStack(state.drawCards.size());
+		
+		if (previous != null && sameCards(state.pile, previous.pileCards)) {
+			pileCards = previous.pileCards;
+			pile = previous.pile;
+		} else {
+			pileCards = copyOf(state.pile);
+			pile = new FaceUpCardStack(pileCards);
+		}
+		
+		discardedCards = previous != null && sameCards(state.discardedCards, previous.discardedCards) ? previous.discardedCards : copyOf(state.discardedCards);
+		
+		playerPlaces = snapshotPlaces(state.PlayerPlaces, previous == null ? null : previous.playerPlaces);
+	}
+	
+	/**
+	 * Snapshots a state, sharing unchanged parts with the previous snapshot.
+	 * 
+	 * @param state
+	 * @param previous snapshot of the same game, or null
+	 * @return a snapshot one version after the previous one
+	 */
+	public static IdiotGameStateFacade snapshot(IdiotGameState state, IdiotGameStateFacade previous) {
+		return new IdiotGameStateFacade(state, previous);
+	}
+	
+	private static List<IdiotPlayerZoneFacade> snapshotPlaces(List<PlayerZone> places, List<IdiotPlayerZoneFacade> previous) {
+		if (previous != null && previous.size() == places.size()) {
+			boolean unchanged = true;
+			for (int i = 0; i < places.size() && unchanged; i++) {
+				unchanged = previous.get(i).sameCards(places.get(i));
+			}
+			if (unchanged) return previous;
+		}
+		
+		List<IdiotPlayerZoneFacade> snapshots = new ArrayList<IdiotPlayerZoneFacade>(places.size());
+		for (int i = 0; i < places.size(); i++) {
+			boolean hasPrevious = previous != null && i < previous.size();
+			snapshots.add(IdiotPlayerZoneFacade.snapshot(places.get(i), hasPrevious ? previous.get(i) : null));
+		}
+		return Collections.unmodifiableList(snapshots);
+	}
+	
+	/**
+	 * @return true if both lists hold the same card instances in the same order
+	 */
+	static boolean sameCards(List<Card> cards, List<Card> snapshot) {
+		if (cards.size() != snapshot.size()) return false;
+		for (int i = 0; i < cards.size(); i++) {
+			if (cards.get(i) != snapshot.get(i)) return false;
+		}
+		return true;
+	}
+	
+	static List<Card> copyOf(List<Card> cards) {
+		return cards.isEmpty() ? Collections.<Card>emptyList() : Collections.unmodifiableList(new ArrayList<Card>(cards));
+	}
+	
+	/**
+	 * @return number of state changes before this snapshot since the game was created
+	 */
+	public long getVersion() {
+		return version;
 	}
 	
 	public IdiotGameState.GamePhases CurrentGamePhase() {
-		return wrappedState.CurrentGamePhase;
+		return currentGamePhase;
 	}
 	
 	public int CurrentPlayerTurn() {
-		return wrappedState.currentPlayerTurn;
+		return currentPlayerTurn;
 	}
 	
 	public FaceDownCardStack GetDeck() {
-		return new FaceDownCardStack(wrappedState.drawCards.size());
+		return deck;
 	}
 	
 	public FaceUpCardStack GetPile() {
-		return new FaceUpCardStack(wrappedState.pile);
+		return pile;
+	}
+	
+	/**
+	 * @return the burned cards, which every player has seen
+	 */
+	public List<Card> GetDiscardedCards() {
+		return discardedCards;
+	}
+	
+	public String GetDrawCardsId() {
+		return idDrawCards;
+	}
+	
+	public String GetPileId() {
+		return idPile;
+	}
+	
+	public String GetDiscardedCardsId() {
+		return idDiscardedCards;
 	}
 	
+	/**
+	 * The deck the game was dealt from, for looking cards up by id. Unlike the rest of the
+	 * snapshot this is the engine's own deck.
+	 * 
+	 * @return
+	 */
 	public CardDeck GetFullDeck() {
-		return wrappedState.fullDeck;
+		return fullDeck;
 	}
 	
 	public List<IdiotPlayerZoneFacade> getPlayerPlaces() {
-		List<IdiotPlayerZoneFacade> playerPlaces = new ArrayList<IdiotPlayerZoneFacade>();
-		wrappedState.PlayerPlaces.forEach(place -> playerPlaces.add(new IdiotPlayerZoneFacade(place)));
 		return playerPlaces;
 	}
 
@@ -1,57 +1,131 @@
 package model;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import model.card.Card;
 import model.card.PlayerHand;
 import model.card.TopCardUpStack;
 
+/**
+ * Immutable snapshot of a player's cards, part of an {@link IdiotGameStateFacade}. All
+ * lists returned are unmodifiable.
+ */
 public class IdiotPlayerZoneFacade {
 
-	final protected PlayerZone wrappedPlayerZone;
+	final protected int playerNumber;
+	final protected List<Card> hand;
+	final protected List<Card> tableCards1;
+	final protected List<Card> tableCards2;
+	final protected List<Card> tableCards3;
+	final protected PlayerHand playerHand;
+	final protected TopCardUpStack topCards1;
+	final protected TopCardUpStack topCards2;
+	final protected TopCardUpStack topCards3;
+	final protected List<Card> playableCards;
 
-	public IdiotPlayerZoneFacade(PlayerZone wrappedPlayerZone) {
-		this.wrappedPlayerZone = wrappedPlayerZone;
+	public IdiotPlayerZoneFacade(PlayerZone zone) {
+		this(zone, null);
+	}
+
+	protected IdiotPlayerZoneFacade(PlayerZone zone, IdiotPlayerZoneFacade previous) {
+		playerNumber = zone.playerNumber;
+		
+		if (previous != null && IdiotGameStateFacade.sameCards(zone.hand, previous.hand)) {
+			hand = previous.hand;
+			playerHand = previous.playerHand;
+		} else {
+			hand = IdiotGameStateFacade.copyOf(zone.hand);
+			playerHand = new PlayerHand(hand);
+		}
+		tableCards1 = share(zone.tableCards1, previous == null ? null : previous.tableCards1);
+		tableCards2 = share(zone.tableCards2, previous == null ? null : previous.tableCards2);
+		tableCards3 = share(zone.tableCards3, previous == null ? null : previous.tableCards3);
+		topCards1 = previous != null && tableCards1 == previous.tableCards1 ? previous.topCards1 : getTopCardUpStackFromCardList(tableCards1);
+		topCards2 = previous != null && tableCards2 == previous.tableCards2 ? previous.topCards2 : getTopCardUpStackFromCardList(tableCards2);
+		topCards3 = previous != null && tableCards3 == previous.tableCards3 ? previous.topCards3 : getTopCardUpStackFromCardList(tableCards3);
+		
+		if (hand.size() > 0) {
+			playableCards = hand;
+		} else {
+			List<Card> topCards = new ArrayList<Card>(3);
+			addTopCard(tableCards1, topCards);
+			addTopCard(tableCards2, topCards);
+			addTopCard(tableCards3, topCards);
+			playableCards = Collections.unmodifiableList(topCards);
+		}
+	}
+
+	/**
+	 * @param zone
+	 * @param previous snapshot of the same player, or null
+	 * @return the previous snapshot if the player's cards did not change, otherwise a new one
+	 */
+	static IdiotPlayerZoneFacade snapshot(PlayerZone zone, IdiotPlayerZoneFacade previous) {
+		if (previous != null && previous.sameCards(zone)) return previous;
+		return new IdiotPlayerZoneFacade(zone, previous);
+	}
+
+	boolean sameCards(PlayerZone zone) {
+		return playerNumber == zone.playerNumber && IdiotGameStateFacade.sameCards(zone.hand, hand)
+				&& IdiotGameStateFacade.sameCards(zone.tableCards1, tableCards1)
+				&& IdiotGameStateFacade.sameCards(zone.tableCards2, tableCards2)
+				&& IdiotGameStateFacade.sameCards(zone.tableCards3, tableCards3);
+	}
+
+	private static List<Card> share(List<Card> cards, List<Card> previous) {
+		if (previous != null && IdiotGameStateFacade.sameCards(cards, previous)) return previous;
+		return IdiotGameStateFacade.copyOf(cards);
 	}
 
 	public int getPlayerNumber() {
-		return wrappedPlayerZone.playerNumber;
+		return playerNumber;
 	}
 
 	public PlayerHand getHand() {
-		return new PlayerHand(wrappedPlayerZone.hand);
+		return playerHand;
 	}
 	
-	//TODO Control view's access to this
 	public List<Card> getAllTableCards1() {
-		return wrappedPlayerZone.tableCards1;
+		return tableCards1;
 	}
 	
-	//TODO Control view's access to this
 	public List<Card> getAllTableCards2() {
-		return wrappedPlayerZone.tableCards2;
+		return tableCards2;
 	}
 	
-	//TODO Control view's access to this
 	public List<Card> getAllTableCards3() {
-		return wrappedPlayerZone.tableCards3;
+		return tableCards3;
 	}
 
 	public TopCardUpStack getTableCards1() {
-
-		return getTopCardUpStackFromCardList(wrappedPlayerZone.tableCards1);
+		return topCards1;
 	}
 
 	public TopCardUpStack getTableCards2() {
-
-		return getTopCardUpStackFromCardList(wrappedPlayerZone.tableCards2);
+		return topCards2;
 	}
 
 	public TopCardUpStack getTableCards3() {
-		return getTopCardUpStackFromCardList(wrappedPlayerZone.tableCards3);
+		return topCards3;
+	}
+
+	/**
+	 * Returns the cards the player may currently play from: the hand while it holds cards,
+	 * otherwise the top card of each non-empty table stack. Copy the list to reorder it.
+	 * 
+	 * @return
+	 */
+	public List<Card> getPlayableCards() {
+		return playableCards;
+	}
+
+	private static void addTopCard(List<Card> tableCards, List<Card> target) {
+		if (tableCards.size() > 0) target.add(tableCards.get(tableCards.size() - 1));
 	}
 
-	private TopCardUpStack getTopCardUpStackFromCardList(List<Card> tableCards) {
+	private static TopCardUpStack getTopCardUpStackFromCardList(List<Card> tableCards) {
 		return new TopCardUpStack(
 				tableCards.size() > 0 ? tableCards.get(tableCards.size() - 1)
 						: null, tableCards.size());
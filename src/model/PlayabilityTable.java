@@ -0,0 +1,118 @@
+package model;
+
+import model.card.GameCardRank;
+
+/**
+ * Which ranks may be played on which, compiled once from the burn, restart and reverse
+ * ranks of a configuration. For every rank that can be on top of the pile the table
+ * holds a bitmask of the ranks that may be played on it, and the same as a mask of
+ * card ordinals, so checking a play is one lookup. Instances are immutable and may be
+ * shared between threads.
+ */
+public final class PlayabilityTable {
+
+	private static final int RANKS = GameCardRank.values().length;
+
+	/**
+	 * Index of the pile top for an empty pile, on which every rank may be played
+	 */
+	public static final int EMPTY_PILE = RANKS;
+
+	private final GameCardRank restartCard;
+	private final GameCardRank burnCard;
+	private final GameCardRank reverseCard;
+
+	/**
+	 * Bit r is set if rank r may be played on the pile top of the index
+	 */
+	private final int[] playableRanks = new int[RANKS + 1];
+
+	/**
+	 * The cards of the playable ranks, as masks of card ordinals
+	 */
+	private final long[] playableCards = new long[RANKS + 1];
+
+	private PlayabilityTable(IdiotGameConfiguration config) {
+		restartCard = config.restartCard;
+		burnCard = config.burnCard;
+		reverseCard = config.reverseCard;
+
+		int specialRanks = bit(restartCard) | bit(burnCard) | bit(reverseCard);
+
+		for (int top = 0; top < RANKS; top++) {
+			int ranks = specialRanks;
+			for (int rank = 0; rank < RANKS; rank++) {
+				if (top == ordinal(reverseCard) ? rank <= top : rank >= top) ranks |= 1 << rank;
+			}
+			playableRanks[top] = ranks;
+		}
+		playableRanks[EMPTY_PILE] = (1 << RANKS) - 1;
+
+		for (int top = 0; top <= RANKS; top++) {
+			for (int rank = 0; rank < RANKS; rank++) {
+				if ((playableRanks[top] & 1 << rank) != 0) playableCards[top] |= CompactGameState.RANK_MASKS[rank];
+			}
+		}
+	}
+
+	/**
+	 * Builds the table of which rank may be played on which under the given rules. The
+	 * burn, restart and reverse cards may be played on anything; on the reverse card only
+	 * ranks up to it may be played, on every other rank only ranks from it up.
+	 *
+	 * @param config
+	 * @return
+	 */
+	public static PlayabilityTable compile(IdiotGameConfiguration config) {
+		return new PlayabilityTable(config);
+	}
+
+	/**
+	 * @return whether the table was compiled from the current ranks of the configuration
+	 */
+	public boolean isCompiledFrom(IdiotGameConfiguration config) {
+		return restartCard == config.restartCard && burnCard == config.burnCard && reverseCard == config.reverseCard;
+	}
+
+	/**
+	 * @param rank
+	 * @param topOfPile rank on top of the pile, or null if the pile is empty
+	 * @return whether cards of the rank may be played on the pile
+	 */
+	public boolean canPlay(GameCardRank rank, GameCardRank topOfPile) {
+		return (playableRanks[topOfPile == null ? EMPTY_PILE : topOfPile.ordinal()] & 1 << rank.ordinal()) != 0;
+	}
+
+	/**
+	 * @param rank rank ordinal
+	 * @param topOfPile rank ordinal on top of the pile, or {@link #EMPTY_PILE}
+	 * @return whether cards of the rank may be played on the pile
+	 */
+	public boolean canPlay(int rank, int topOfPile) {
+		return (playableRanks[topOfPile] & 1 << rank) != 0;
+	}
+
+	/**
+	 * @param topOfPile rank ordinal on top of the pile, or {@link #EMPTY_PILE}
+	 * @return mask with bit r set if rank r may be played on the pile
+	 */
+	public int playableRanks(int topOfPile) {
+		return playableRanks[topOfPile];
+	}
+
+	/**
+	 * @param topOfPile rank ordinal on top of the pile, or {@link #EMPTY_PILE}
+	 * @return mask of the ordinals of every card that may be played on the pile
+	 */
+	public long playableCards(int topOfPile) {
+		return playableCards[topOfPile];
+	}
+
+	private static int bit(GameCardRank rank) {
+		return rank == null ? 0 : 1 << rank.ordinal();
+	}
+
+	private static int ordinal(GameCardRank rank) {
+		return rank == null ? -1 : rank.ordinal();
+	}
+}
@@ -62,6 +62,34 @@ public class PlayerZone {
 		return 0;
 	}
 	
+	/**
+	 * @param stack 0 for the hand, 1-3 for the table card stacks
+	 * @return the cards of the stack
+	 */
+	public List<Card> getStack(int stack) {
+		switch (stack) {
+		case 0: return hand;
+		case 1: return tableCards1;
+		case 2: return tableCards2;
+		case 3: return tableCards3;
+		default: throw new IllegalArgumentException("No stack " + stack);
+		}
+	}
+
+	/**
+	 * @param stack 0 for the hand, 1-3 for the table card stacks
+	 * @return the id of the stack
+	 */
+	public String getStackId(int stack) {
+		switch (stack) {
+		case 0: return idHand;
+		case 1: return idTableCards1;
+		case 2: return idTableCards2;
+		case 3: return idTableCards3;
+		default: throw new IllegalArgumentException("No stack " + stack);
+		}
+	}
+
 	/**
 	 * Sets the ids of the piles in the zone.
 	 * Ids must match corresponding CardPileView ids.
@@ -43,75 +43,110 @@ public abstract class Card {
     this.id = buildId();
   }
   
-  public Card(String shortID) { 
-	  
-	   if (shortID == null || (shortID.length() != 2 && shortID.length() != 3))
-		   throw new IllegalStateException("Invalid shortID passed to card constructor: " + shortID);
-	   
-	   String twoCharShortID = shortID.replaceAll("10", "X");
-	   
-	    switch (twoCharShortID.charAt(0)) {
-	      case 'A':
-	    	rank = GameCardRank.Ace;
-	        break;
-	      case '2':
-	    	rank = GameCardRank.Two;
-	        break;
-	      case '3':
-	    	rank = GameCardRank.Three;
-	        break;
-	      case '4':
-	    	rank = GameCardRank.Four;
-	        break;
-	      case '5':
-	    	rank = GameCardRank.Five;
-	        break;
-	      case '6':
-	    	rank = GameCardRank.Six;
-	        break;
-	      case '7':
-	    	rank = GameCardRank.Seven;
-	        break;
-	      case '8':
-	    	rank = GameCardRank.Eight;
-	        break;
-	      case '9':
-	    	rank = GameCardRank.Nine;
-	        break;
-	      case 'X':
-	    	rank = GameCardRank.Ten;
-	        break;
-	      case 'J':
-	    	rank = GameCardRank.Jack;
-	        break;
-	      case 'Q':
-	    	rank = GameCardRank.Queen;
-	        break;
-	      case 'K':
-	    	rank = GameCardRank.King;
-	        break;
-	      default: 
-	        throw new IllegalStateException("Card shortID constructor passed unrecognized rank char: " + shortID.charAt(0));
-	    }
-
-	    switch (twoCharShortID.charAt(1)) {
-	      case 'C': 
-	        suit = GameCardSuit.Clubs;
-	        break;
-	      case 'D':
-	        suit = GameCardSuit.Diamonds;
-	        break;
-	      case 'H':
-	    	  suit = GameCardSuit.Hearts;
-	        break;
-	      case 'S':
-	    	  suit = GameCardSuit.Spades;
-	        break;
-	      default: 
-		    throw new IllegalStateException("Card shortID constructor passed unrecognized suit char: " + shortID.charAt(1));
-	    }
-	    
-	    this.id = shortID;
+  /**
+   * Constructs a face up {@link Card} object from its short identifier, e.g. "10C" or "QH".
+   * "X" is accepted as an alternative to "10".
+   *
+   * @param shortID The short identifier.
+   */
+  public Card(String shortID) {
+    int ordinal = parseOrdinal(shortID);
+    this.suit = GameCardSuit.values()[ordinal / 13];
+    this.rank = GameCardRank.values()[ordinal % 13];
+    this.id = buildId();
+  }
+
+  /**
+   * Parses a short identifier into a card ordinal (suit * 13 + rank) without
+   * allocating.
+   *
+   * @param shortID The short identifier.
+   * @return The ordinal of the card.
+   */
+  public static int parseOrdinal(String shortID) {
+
+    if (shortID == null || (shortID.length() != 2 && shortID.length() != 3))
+      throw new IllegalStateException("Invalid shortID passed to card constructor: " + shortID);
+
+    if (shortID.length() == 3 && !shortID.startsWith("10"))
+      throw new IllegalStateException("Invalid shortID passed to card constructor: " + shortID);
+
+    GameCardRank rank;
+    GameCardSuit suit;
+
+    switch (shortID.length() == 3 ? 'X' : shortID.charAt(0)) {
+      case 'A':
+        rank = GameCardRank.Ace;
+        break;
+      case '2':
+        rank = GameCardRank.Two;
+        break;
+      case '3':
+        rank = GameCardRank.Three;
+        break;
+      case '4':
+        rank = GameCardRank.Four;
+        break;
+      case '5':
+        rank = GameCardRank.Five;
+        break;
+      case '6':
+        rank = GameCardRank.Six;
+        break;
+      case '7':
+        rank = GameCardRank.Seven;
+        break;
+      case '8':
+        rank = GameCardRank.Eight;
+        break;
+      case '9':
+        rank = GameCardRank.Nine;
+        break;
+      case 'X':
+        rank = GameCardRank.Ten;
+        break;
+      case 'J':
+        rank = GameCardRank.Jack;
+        break;
+      case 'Q':
+        rank = GameCardRank.Queen;
+        break;
+      case 'K':
+        rank = GameCardRank.King;
+        break;
+      default:
+        throw new IllegalStateException("Card shortID constructor passed unrecognized rank char: " + shortID.charAt(0));
+    }
+
+    switch (shortID.charAt(shortID.length() - 1)) {
+      case 'C':
+        suit = GameCardSuit.Clubs;
+        break;
+      case 'D':
+        suit = GameCardSuit.Diamonds;
+        break;
+      case 'H':
+        suit = GameCardSuit.Hearts;
+        break;
+      case 'S':
+        suit = GameCardSuit.Spades;
+        break;
+      default:
+        throw new IllegalStateException("Card shortID constructor passed unrecognized suit char: " + shortID.charAt(shortID.length() - 1));
+    }
+
+    return ordinal(suit, rank);
+  }
+
+  /**
+   * Returns the ordinal of a card with the given suit and rank.
+   *
+   * @param suit The suit of the card.
+   * @param rank The rank of the card.
+   * @return suit * 13 + rank
+   */
+  public static int ordinal(GameCardSuit suit, GameCardRank rank) {
+    return suit.ordinal() * 13 + rank.ordinal();
   }
 
   /**
@@ -123,6 +158,16 @@ public abstract class Card {
     return id;
   }
 
+  /**
+   * Returns the ordinal of this card (suit * 13 + rank), a number from 0 to 51
+   * that identifies the card the same way as its short identifier.
+   *
+   * @return The ordinal of this card.
+   */
+  public int getOrdinal() {
+    return ordinal(suit, rank);
+  }
+
   /**
    * Returns the suit of this card.
    *
@@ -189,16 +234,28 @@ public abstract class Card {
    */
   protected abstract String buildId();
   
+  /**
+   * Two cards are equal when they have the same suit and rank, regardless of
+   * which way they are facing.
+   */
   @Override
   public boolean equals(Object obj) {
-	 if (obj instanceof String)
-		 return this.getId().equals((String)obj);
-     if (!(obj instanceof Card))
-          return false;
-      if (obj == this)
-          return true;
-
-      return this.getId().equals(((Card)obj).getId());
+    if (obj == this)
+      return true;
+    if (!(obj instanceof Card))
+      return false;
+
+    Card other = (Card) obj;
+    return suit == other.suit && rank == other.rank;
+  }
+
+  /**
+   * Returns the ordinal of the card, so the hash code is consistent with
+   * {@link #equals(Object)} and unique within a deck.
+   */
+  @Override
+  public int hashCode() {
+    return getOrdinal();
   }
 
   public abstract Card clone();
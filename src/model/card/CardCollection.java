@@ -1,9 +1,9 @@
 package model.card;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Consumer;
 
 /**
@@ -15,9 +15,9 @@ import java.util.function.Consumer;
 public class CardCollection implements Iterable<Card> {
 
   /**
-   * List holding the cards on this pile.
+   * List holding the cards on this pile, indexed by short identifier.
    */
-  protected List<Card> cards = new ArrayList<>();
+  protected IndexedCardList cards = new IndexedCardList();
 
   /**
    * The type of the pile.
@@ -182,14 +182,21 @@ public class CardCollection implements Iterable<Card> {
   }
 
   /**
-   * Shuffles the deck.
+   * Shuffles the deck with the current thread's random number generator.
    */
   public void shuffle() {
-    // Research proved that if we want a deck of cards to be well shuffled,
-    // we have to do it about seven times.
-    for (int i = 0; i < 7; i++) {
-      Collections.shuffle(cards);
-    }
+    shuffle(ThreadLocalRandom.current());
+  }
+
+  /**
+   * Shuffles the deck. A single Fisher-Yates pass makes every order equally
+   * likely; the seven riffles needed for a physical deck are not needed here.
+   * Pass a seeded {@link Random} to get the same order every time.
+   *
+   * @param random The source of randomness.
+   */
+  public void shuffle(Random random) {
+    cards.shuffle(random);
   }
 
   /**
@@ -199,8 +206,7 @@ public class CardCollection implements Iterable<Card> {
    * @return The card object if found, null otherwise.
    */
   public Card getById(String id) {
-    return cards.stream()
-        .filter(card -> card.getId().equals(id)).findFirst().orElseGet(() -> null);
+    return cards.getById(id);
   }
   
   /**
@@ -1,6 +1,6 @@
 package model.card;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public class FaceUpCardStack extends CardCollectionImmutable {
@@ -12,11 +12,11 @@ public class FaceUpCardStack extends CardCollectionImmutable {
 	
 	public FaceUpCardStack(List<Card> cards) {
 		super(cards.size());
-		this.cards = cards;
+		this.cards = Collections.unmodifiableList(cards);
 	}
 	
 	public List<Card> getCards() 
 	{
-		return new ArrayList<Card>(cards); // return a clone of the list so we don't pass a direct, modifiable reference
+		return cards; // unmodifiable, so callers cannot change the cards behind our back
 	}
 }
@@ -6,6 +6,19 @@ package model.card;
  */
 public class GameCard extends Card {
 
+  /**
+   * One canonical card per ordinal, see {@link #of(String)}.
+   */
+  private static final GameCard[] INTERNED = new GameCard[52];
+
+  static {
+    for (GameCardSuit suit : GameCardSuit.values()) {
+      for (GameCardRank rank : GameCardRank.values()) {
+        INTERNED[ordinal(suit, rank)] = new GameCard(false, suit, rank);
+      }
+    }
+  }
+
   /**
    * Constructs a {@link GameCard} object, with the specified suit and rank.
    *
@@ -26,6 +39,40 @@ public class GameCard extends Card {
 	  super(shortID);
   }
 
+  /**
+   * Returns the canonical card for a short identifier without parsing it into a
+   * new object. Canonical cards are shared, so they are meant to be used as
+   * lookup keys and must not be flipped; decks dealt for a game hold their own
+   * instances.
+   *
+   * @param shortID The short identifier, e.g. "10C".
+   * @return The canonical {@link GameCard}.
+   */
+  public static GameCard of(String shortID) {
+    return INTERNED[parseOrdinal(shortID)];
+  }
+
+  /**
+   * Returns the canonical card for an ordinal, see {@link #of(String)}.
+   *
+   * @param ordinal suit * 13 + rank
+   * @return The canonical {@link GameCard}.
+   */
+  public static GameCard of(int ordinal) {
+    return INTERNED[ordinal];
+  }
+
+  /**
+   * Returns the canonical card for a suit and rank, see {@link #of(String)}.
+   *
+   * @param suit Suit of the card.
+   * @param rank Rank of the card.
+   * @return The canonical {@link GameCard}.
+   */
+  public static GameCard of(GameCardSuit suit, GameCardRank rank) {
+    return INTERNED[ordinal(suit, rank)];
+  }
+
   /**
    * Builds a short {@link String} identifier. This should be only called once,
    * at the creation of the card object.
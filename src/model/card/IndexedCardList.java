@@ -0,0 +1,113 @@
+package model.card;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.RandomAccess;
+
+/**
+ * List of cards that keeps an id to card index up to date with every change, so a
+ * card can be found by its short identifier without scanning the list. The list is
+ * handed out by {@link CardCollection#getCards()} and may be changed directly.
+ * Card identifiers are expected to be unique within one list.
+ */
+class IndexedCardList extends AbstractList<Card> implements RandomAccess {
+
+  /**
+   * The cards, in order.
+   */
+  private final List<Card> cards = new ArrayList<>();
+
+  /**
+   * The cards by their short identifier. Entries are counted because a card can be
+   * in the list twice for a moment, e.g. while two cards are swapped with
+   * {@link #set(int, Card)}.
+   */
+  private final Map<String, Entry> cardsById = new HashMap<>();
+
+  /**
+   * Returns the card with the given short identifier.
+   *
+   * @param id The short identifier.
+   * @return The card object if found, null otherwise.
+   */
+  Card getById(String id) {
+    Entry entry = cardsById.get(id);
+    return entry == null ? null : entry.card;
+  }
+
+  @Override
+  public Card get(int index) {
+    return cards.get(index);
+  }
+
+  @Override
+  public int size() {
+    return cards.size();
+  }
+
+  @Override
+  public Card set(int index, Card card) {
+    Card previous = cards.set(index, card);
+    index(card);
+    unindex(previous);
+    return previous;
+  }
+
+  @Override
+  public void add(int index, Card card) {
+    cards.add(index, card);
+    modCount++;
+    index(card);
+  }
+
+  @Override
+  public Card remove(int index) {
+    Card removed = cards.remove(index);
+    modCount++;
+    unindex(removed);
+    return removed;
+  }
+
+  /**
+   * Shuffles the cards in place with a single Fisher-Yates pass. The cards stay the
+   * same, so the index does not change.
+   *
+   * @param random The source of randomness.
+   */
+  void shuffle(Random random) {
+    for (int i = cards.size() - 1; i > 0; i--) {
+      int j = random.nextInt(i + 1);
+      cards.set(i, cards.set(j, cards.get(i)));
+    }
+    modCount++;
+  }
+
+  @Override
+  public void clear() {
+    cards.clear();
+    modCount++;
+    cardsById.clear();
+  }
+
+  private void index(Card card) {
+    Entry entry = cardsById.computeIfAbsent(card.getId(), id -> new Entry());
+    entry.card = card;
+    entry.count++;
+  }
+
+  private void unindex(Card card) {
+    Entry entry = cardsById.get(card.getId());
+    if (--entry.count == 0) {
+      cardsById.remove(card.getId());
+    }
+  }
+
+  private static class Entry {
+    Card card;
+    int count;
+  }
+}
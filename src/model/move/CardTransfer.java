@@ -0,0 +1,25 @@
+package model.move;
+
+import model.card.Card;
+
+/**
+ * A card moved from one zone of the game state to another. Zones are identified
+ * by the pile ids of the game state (e.g. "pile", "p1Hand", "p2Foundation3").
+ */
+public class CardTransfer {
+
+	public final Card card;
+	public final String fromZone;
+	public final String toZone;
+
+	public CardTransfer(Card card, String fromZone, String toZone) {
+		this.card = card;
+		this.fromZone = fromZone;
+		this.toZone = toZone;
+	}
+
+	@Override
+	public String toString() {
+		return card.getId() + ": " + fromZone + " -> " + toZone;
+	}
+}
@@ -0,0 +1,43 @@
+package model.move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import model.card.Card;
+
+/**
+ * The changes one move or table card swap made to the game state, in the order
+ * they happened.
+ */
+public class GameStateChange {
+
+	/**
+	 * Player who made the move
+	 */
+	public final int playerNumber;
+
+	/**
+	 * Cards moved between zones, in order
+	 */
+	public final List<CardTransfer> transfers = new ArrayList<CardTransfer>();
+
+	/**
+	 * Player whose turn it is after the move
+	 */
+	public int nextPlayerTurn;
+
+	public boolean gameEnded;
+
+	public GameStateChange(int playerNumber) {
+		this.playerNumber = playerNumber;
+	}
+
+	public void addTransfer(Card card, String fromZone, String toZone) {
+		transfers.add(new CardTransfer(card, fromZone, toZone));
+	}
+
+	@Override
+	public String toString() {
+		return "Player " + playerNumber + " " + transfers + (gameEnded ? " game ended" : " next player " + nextPlayerTurn);
+	}
+}
@@ -1,65 +1,50 @@
 package model.move;
 
+/**
+ * Outcome of a move or request. Results are immutable, so the shared ones can be
+ * handed to every caller.
+ */
 public class MoveResult {
 
-	public boolean success;
-	public String message;
-	public boolean stateChanged;
-	public boolean gameEnded;
+	/**
+	 * Shared result of a successful move that did not end the game
+	 */
+	public static final MoveResult SUCCESSFUL = new MoveResult(true, null, false, false);
+
+	public final boolean success;
+	public final String message;
+	public final boolean stateChanged;
+	public final boolean gameEnded;
 	/**
 	 * @return the success
 	 */
 	public boolean isSuccess() {
 		return success;
 	}
-	/**
-	 * @param success the success to set
-	 */
-	public void setSuccess(boolean success) {
-		this.success = success;
-	}
 	/**
 	 * @return the message
 	 */
 	public String getMessage() {
 		return message;
 	}
-	/**
-	 * @param message the message to set
-	 */
-	public void setMessage(String message) {
-		this.message = message;
-	}
 	/**
 	 * @return the stateChanged
 	 */
 	public boolean isStateChanged() {
 		return stateChanged;
 	}
-	/**
-	 * @param stateChanged the stateChanged to set
-	 */
-	public void setStateChanged(boolean stateChanged) {
-		this.stateChanged = stateChanged;
-	}
 	/**
 	 * @return the gameEnded
 	 */
 	public boolean isGameEnded() {
 		return gameEnded;
 	}
-	/**
-	 * @param gameEnded the gameEnded to set
-	 */
-	public void setGameEnded(boolean gameEnded) {
-		this.gameEnded = gameEnded;
-	}
 	
 	/**
-	 * default constructor
+	 * default constructor, an unsuccessful result without a message
 	 */
 	public MoveResult(){
-		
+		this(false, null, false, false);
 	}
 	
 	/**
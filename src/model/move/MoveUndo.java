@@ -0,0 +1,77 @@
+package model.move;
+
+import model.IdiotGameState.GamePhases;
+import model.card.Card;
+
+/**
+ * What an executed move changed, recorded so the move can be unmade. Every card
+ * transfer is packed into one int: the zone it was removed from, the index it was
+ * removed at and the zone it was appended to. Undoing takes the last card of each
+ * destination zone back to where it came from, in reverse order.
+ *
+ * A record can be reused for the next move once it has been undone.
+ */
+public class MoveUndo {
+
+	public static final int ZONE_DRAW_CARDS = 0;
+	public static final int ZONE_PILE = 1;
+	public static final int ZONE_DISCARDED_CARDS = 2;
+
+	/**
+	 * Zone of a player's hand; their table stacks 1-3 follow it
+	 */
+	public static int handZone(int playerNumber) {
+		return 3 + (playerNumber - 1) * 4;
+	}
+
+	public int[] transfers = new int[16];
+	public int transferCount;
+
+	public int previousPlayerTurn;
+	public int previousTurnDirection;
+	public int previousSkippedPlayers;
+	public GamePhases previousGamePhase;
+
+	/**
+	 * Card the move turned over, as it was before, or null
+	 */
+	public Card flippedCard;
+
+	/**
+	 * Turned over copy of the flipped card that took its place
+	 */
+	public Card flippedCopy;
+
+	/**
+	 * Result of the move
+	 */
+	public MoveResult result;
+
+	public void clear() {
+		transferCount = 0;
+		flippedCard = null;
+		flippedCopy = null;
+		result = null;
+	}
+
+	public void addTransfer(int fromZone, int fromIndex, int toZone) {
+		if (transferCount == transfers.length) {
+			int[] grown = new int[transfers.length * 2];
+			System.arraycopy(transfers, 0, grown, 0, transferCount);
+			transfers = grown;
+		}
+		transfers[transferCount++] = fromZone << 24 | toZone << 16 | fromIndex;
+	}
+
+	public static int fromZone(int transfer) {
+		return transfer >>> 24;
+	}
+
+	public static int toZone(int transfer) {
+		return transfer >>> 16 & 0xFF;
+	}
+
+	public static int fromIndex(int transfer) {
+		return transfer & 0xFFFF;
+	}
+}
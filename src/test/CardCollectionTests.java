@@ -0,0 +1,52 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import model.card.Card;
+import model.card.CardDeck;
+
+public class CardCollectionTests {
+
+	@Test
+	public void getById_AfterShuffleAndDirectListChanges_FindsOnlyCardsInCollection() {
+
+		CardDeck classUnderTest = CardDeck.createGameCardDeck();
+		classUnderTest.shuffle();
+
+		List<Card> cards = classUnderTest.getCards();
+		Card removed = cards.remove(0);
+		cards.subList(0, 5).clear();
+
+		assertNull(classUnderTest.getById(removed.getId()));
+		assertEquals(46, classUnderTest.numOfCards());
+		for (Card card : classUnderTest) {
+			assertSame(card, classUnderTest.getById(card.getId()));
+		}
+
+		cards.add(removed);
+		assertSame(removed, classUnderTest.getById(removed.getId()));
+	}
+
+	@Test
+	public void shuffle_SameSeed_GivesSameOrderOfSameCards() {
+
+		CardDeck classUnderTest = CardDeck.createGameCardDeck();
+		CardDeck other = CardDeck.createGameCardDeck();
+
+		classUnderTest.shuffle(new Random(7));
+		other.shuffle(new Random(7));
+
+		assertEquals(other.getCards(), classUnderTest.getCards());
+		assertEquals(52, classUnderTest.numOfCards());
+		for (Card card : other) {
+			assertSame(classUnderTest.getCards().get(other.getCards().indexOf(card)), classUnderTest.getById(card.getId()));
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import model.card.Card;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.card.GameCardSuit;
+
+public class CardTests {
+
+	@Test
+	public void of_SameShortID_ReturnsSameInstance() {
+
+		GameCard classUnderTest = GameCard.of("10C");
+
+		assertSame(classUnderTest, GameCard.of("XC"));
+		assertSame(classUnderTest, GameCard.of(GameCardSuit.Clubs, GameCardRank.Ten));
+		assertSame(classUnderTest, GameCard.of(classUnderTest.getOrdinal()));
+		assertEquals("10C", classUnderTest.getId());
+	}
+
+	@Test
+	public void equals_CardsFacingDifferentWays_AreEqualWithSameHashCode() {
+
+		Card faceUp = new GameCard(false, GameCardSuit.Hearts, GameCardRank.Queen);
+		Card faceDown = new GameCard(true, GameCardSuit.Hearts, GameCardRank.Queen);
+
+		assertTrue(faceUp.equals(faceDown));
+		assertEquals(faceUp.hashCode(), faceDown.hashCode());
+		assertEquals(Card.parseOrdinal("QH"), faceUp.getOrdinal());
+	}
+}
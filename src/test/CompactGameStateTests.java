@@ -0,0 +1,93 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.CompactMoveExecutor;
+import controller.EndGameChecker;
+import controller.validators.CompactMoveValidator;
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.MoveResult;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+import test.mocks.InspectableEngine;
+
+public class CompactGameStateTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	InspectableEngine engine;
+
+	@Before
+	public void setUp() throws Exception {
+		EndGameChecker endGameChecker = new EndGameChecker();
+		engine = new InspectableEngine(endGameChecker);
+		engine.initializeNewGame(2, () -> defaultConfig);
+		engine.beginPlay();
+	}
+
+	@Test
+	public void fromGameState_NewGame_RoundTripsThroughObjectModel() {
+
+		CompactGameState classUnderTest = CompactGameState.fromGameState(engine.getState());
+
+		IdiotGameState decoded = classUnderTest.toGameState();
+
+		assertEquals(classUnderTest, CompactGameState.fromGameState(decoded));
+		assertEquals(34, decoded.drawCards.size());
+		assertEquals(3, decoded.PlayerPlaces.get(1).hand.size());
+		assertTrue(decoded.PlayerPlaces.get(0).tableCards2.get(0).isFaceDown());
+		assertTrue(!decoded.PlayerPlaces.get(0).tableCards2.get(1).isFaceDown());
+	}
+
+	@Test
+	public void playCards_WholeGame_MatchesMoveExecutorAfterEveryMove() {
+
+		CompactGameState compact = CompactGameState.fromGameState(engine.getState());
+		CompactMoveValidator compactValidator = new CompactMoveValidator();
+		CompactMoveExecutor classUnderTest = new CompactMoveExecutor();
+		compactValidator.setConfig(defaultConfig);
+		classUnderTest.setConfig(defaultConfig);
+
+		for (int turn = 0; turn < 1000; turn++) {
+			IdiotGameState state = engine.getState();
+			int player = state.currentPlayerTurn;
+			boolean gameEnded;
+			MoveResult result;
+
+			Card playable = null;
+			for (Card card : engine.getCurrentGameState().getPlayerPlaces().get(player - 1).getPlayableCards()) {
+				if (compactValidator.isValidPlay(compact, 1L << CompactGameState.ordinal(card)).Success) {
+					playable = card;
+					break;
+				}
+			}
+
+			if (playable != null) {
+				result = engine.submitMove(player, new PlayOneCardMove(playable.getId(), "pile", playable));
+				gameEnded = classUnderTest.playCard(compact, CompactGameState.ordinal(playable));
+			} else if (state.drawCards.size() > 0) {
+				result = engine.submitMove(player, new PlayTopOfDeck("drawCards", "pile"));
+				gameEnded = classUnderTest.playTopOfDeck(compact);
+			} else {
+				result = engine.submitMove(player, new TakePileMove("pile", "hand"));
+				gameEnded = classUnderTest.takePile(compact);
+			}
+
+			assertTrue(result.isSuccess());
+			assertEquals(result.isGameEnded(), gameEnded);
+			if (gameEnded) compact.currentGamePhase = IdiotGameState.GamePhases.GameCompleted;
+			assertEquals(CompactGameState.fromGameState(engine.getState()), compact);
+
+			if (gameEnded) return;
+		}
+	}
+}
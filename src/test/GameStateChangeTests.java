@@ -0,0 +1,109 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.EndGameChecker;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.PlayerZone;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.CardTransfer;
+import model.move.GameStateChange;
+import model.move.MoveResult;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+import test.mocks.InspectableEngine;
+
+public class GameStateChangeTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	InspectableEngine engine;
+
+	List<GameStateChange> published = new ArrayList<GameStateChange>();
+
+	@Before
+	public void setUp() throws Exception {
+		engine = new InspectableEngine(new EndGameChecker());
+		engine.addStateChangeListener(published::add);
+		engine.initializeNewGame(2, () -> defaultConfig);
+	}
+
+	@Test
+	public void requestHandToTableCardSwap_ValidSwap_PublishesBothCards() {
+
+		PlayerZone place = engine.getState().PlayerPlaces.get(0);
+		Card handCard = place.hand.get(0);
+		Card tableCard = place.tableCards2.get(1);
+
+		engine.requestHandToTableCardSwap(1, handCard, tableCard);
+
+		assertEquals(1, published.size());
+		assertEquals(2, published.get(0).transfers.size());
+		assertEquals("p1Hand", published.get(0).transfers.get(0).fromZone);
+		assertEquals("p1Foundation2", published.get(0).transfers.get(0).toZone);
+		assertEquals(tableCard, published.get(0).transfers.get(1).card);
+	}
+
+	@Test
+	public void submitMove_WholeGame_TransfersReproduceEveryZone() {
+
+		engine.beginPlay();
+		Map<Card, String> zones = zonesOf(engine.getState());
+
+		for (int turn = 0; turn < 1000; turn++) {
+			IdiotGameState state = engine.getState();
+			int player = state.currentPlayerTurn;
+			MoveResult result = null;
+
+			for (Card card : engine.getCurrentGameState().getPlayerPlaces().get(player - 1).getPlayableCards()) {
+				result = engine.submitMove(player, new PlayOneCardMove(card.getId(), "pile", card));
+				if (result.isSuccess()) break;
+			}
+			if (result == null || !result.isSuccess()) {
+				result = state.drawCards.size() > 0
+						? engine.submitMove(player, new PlayTopOfDeck("drawCards", "pile"))
+						: engine.submitMove(player, new TakePileMove("pile", "hand"));
+			}
+
+			assertTrue(result.isSuccess());
+			GameStateChange change = published.remove(published.size() - 1);
+			assertTrue(published.isEmpty());
+			assertEquals(player, change.playerNumber);
+			assertEquals(state.currentPlayerTurn, change.nextPlayerTurn);
+
+			for (CardTransfer transfer : change.transfers) {
+				assertEquals(transfer.fromZone, zones.get(transfer.card));
+				zones.put(transfer.card, transfer.toZone);
+			}
+			assertEquals(zonesOf(state), zones);
+
+			if (change.gameEnded) return;
+		}
+	}
+
+	private static Map<Card, String> zonesOf(IdiotGameState state) {
+		Map<Card, String> zones = new HashMap<Card, String>();
+		state.drawCards.forEach(card -> zones.put(card, state.idDrawCards));
+		state.pile.forEach(card -> zones.put(card, state.idPile));
+		state.discardedCards.forEach(card -> zones.put(card, state.idDiscardedCards));
+		for (PlayerZone place : state.PlayerPlaces) {
+			place.hand.forEach(card -> zones.put(card, place.idHand));
+			place.tableCards1.forEach(card -> zones.put(card, place.idTableCards1));
+			place.tableCards2.forEach(card -> zones.put(card, place.idTableCards2));
+			place.tableCards3.forEach(card -> zones.put(card, place.idTableCards3));
+		}
+		return zones;
+	}
+}
@@ -60,7 +60,7 @@ public class IdiotGameEngineTests {
 		
 		String validatorErrorMessage =  "error message";
 		
-		TableSwapValidationResult validatorResultToReturn = new TableSwapValidationResult() {{ Success = false; ErrorMessage = validatorErrorMessage; }};
+		TableSwapValidationResult validatorResultToReturn = new TableSwapValidationResult(false, validatorErrorMessage, 0);
 		
 		int numberOfPlayers = 2; 
 		IdiotGameEngine classUnderTest = new IdiotGameEngine(new MockTableSwapValidator(validatorResultToReturn), new MockMoveValidator(), new MockGameEndedChecker(), new MockMoveExecutor());
@@ -77,7 +77,7 @@ public class IdiotGameEngineTests {
 
 		int targetTableStackNumber = 1;
 		
-		TableSwapValidationResult validatorResultToReturn = new TableSwapValidationResult() {{ Success = true; targetTableStack = targetTableStackNumber; }};
+		TableSwapValidationResult validatorResultToReturn = new TableSwapValidationResult(true, "", targetTableStackNumber);
 		
 		int numberOfPlayers = 2; 
 		IdiotGameEngine classUnderTest = new IdiotGameEngine(new MockTableSwapValidator(validatorResultToReturn), new MockMoveValidator(), new MockGameEndedChecker(), new MockMoveExecutor());
@@ -103,6 +103,25 @@ public class IdiotGameEngineTests {
 		assertEquals(1, classUnderTest.getCurrentGameState().CurrentPlayerTurn());
 	}
 
+	@Test
+	public void playerDoneSwapping_LastPlayer_PassesTurnBackToFirstPlayer() {
+		IdiotGameEngine classUnderTest = new IdiotGameEngine(new MockTableSwapValidator(null), new MockMoveValidator(), new MockGameEndedChecker(), new MockMoveExecutor());
+		classUnderTest.initializeNewGame(IdiotGameEngine.MAX_PLAYERS, new MockRuleConfigurationLoader());
+		
+		classUnderTest.playerDoneSwapping(2);
+		assertEquals(3, classUnderTest.getCurrentGameState().CurrentPlayerTurn());
+		
+		classUnderTest.playerDoneSwapping(IdiotGameEngine.MAX_PLAYERS);
+		assertEquals(1, classUnderTest.getCurrentGameState().CurrentPlayerTurn());
+		assertEquals(52 - 9 * IdiotGameEngine.MAX_PLAYERS, classUnderTest.getCurrentGameState().GetDeck().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void initializeNewGame_MorePlayersThanDeckCanDeal_Throws() {
+		IdiotGameEngine classUnderTest = new IdiotGameEngine(new MockTableSwapValidator(null), new MockMoveValidator(), new MockGameEndedChecker(), new MockMoveExecutor());
+		classUnderTest.initializeNewGame(IdiotGameEngine.MAX_PLAYERS + 1, new MockRuleConfigurationLoader());
+	}
+
 	@Test
 	public void testSubmitMove() {
 		fail("Not yet implemented");
@@ -0,0 +1,82 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.EndGameChecker;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import test.mocks.InspectableEngine;
+
+public class IdiotGameStateFacadeTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	InspectableEngine engine;
+
+	@Before
+	public void setUp() throws Exception {
+		engine = new InspectableEngine(new EndGameChecker());
+		engine.initializeNewGame(3, () -> defaultConfig);
+		engine.beginPlay();
+	}
+
+	@Test
+	public void getCurrentGameState_NoChange_ReturnsSameSnapshot() {
+
+		assertSame(engine.getCurrentGameState(), engine.getCurrentGameState());
+		assertSame(engine.getCurrentGameState().getPlayerPlaces().get(0).getHand().getCards(),
+				engine.getCurrentGameState().getPlayerPlaces().get(0).getHand().getCards());
+	}
+
+	@Test
+	public void snapshot_AfterMove_SharesUnchangedPlayersAndKeepsOldSnapshotIntact() {
+
+		IdiotGameStateFacade before = engine.getCurrentGameState();
+		List<Card> pileBefore = new ArrayList<Card>(before.GetPile().getCards());
+		int deckBefore = before.GetDeck().size();
+
+		engine.submitMove(1, new PlayTopOfDeck("drawCards", "pile"));
+		IdiotGameStateFacade after = engine.getCurrentGameState();
+
+		assertEquals(before.getVersion() + 1, after.getVersion());
+		assertSame(before.getPlayerPlaces().get(1), after.getPlayerPlaces().get(1));
+		assertSame(before.getPlayerPlaces().get(2), after.getPlayerPlaces().get(2));
+		assertEquals(deckBefore, before.GetDeck().size());
+		assertEquals(pileBefore, before.GetPile().getCards());
+		assertNotSame(before.GetDeck(), after.GetDeck());
+	}
+
+	@Test
+	public void snapshot_CardPlayed_OldSnapshotKeepsCardFacing() {
+
+		IdiotGameStateFacade before = engine.getCurrentGameState();
+		Card played = before.getPlayerPlaces().get(0).getPlayableCards().get(0);
+		boolean faceDown = played.isFaceDown();
+
+		engine.getState().pile.clear();
+		engine.submitMove(1, new PlayOneCardMove("p1Hand", "pile", played));
+		IdiotGameStateFacade after = engine.getCurrentGameState();
+
+		assertEquals(faceDown, played.isFaceDown());
+		assertEquals(played, after.GetPile().getCards().get(0));
+		assertEquals(!faceDown, after.GetPile().getCards().get(0).isFaceDown());
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void getPlayableCards_Modified_Throws() {
+
+		engine.getCurrentGameState().getPlayerPlaces().get(0).getPlayableCards().clear();
+	}
+}
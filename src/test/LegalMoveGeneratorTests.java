@@ -0,0 +1,122 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.EndGameChecker;
+import controller.LegalMoveGenerator;
+import controller.validators.MoveValidator;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.PlayerZone;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+import test.mocks.InspectableEngine;
+
+public class LegalMoveGeneratorTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	LegalMoveGenerator classUnderTest = new LegalMoveGenerator();
+
+	MoveValidator validator = new MoveValidator();
+
+	@Before
+	public void setUp() throws Exception {
+		classUnderTest.setConfig(defaultConfig);
+		validator.setConfig(defaultConfig);
+	}
+
+	@Test
+	public void getLegalMoves_WholeGame_ListsExactlyTheValidMoves() {
+
+		InspectableEngine engine = new InspectableEngine(new EndGameChecker());
+		engine.setRandom(new Random(3));
+		engine.initializeNewGame(3, () -> defaultConfig);
+		engine.beginPlay();
+		IdiotGameState state = engine.getState();
+		validator.setState(state);
+		Random random = new Random(5);
+
+		for (int turn = 0; turn < 1000; turn++) {
+			int player = state.currentPlayerTurn;
+			List<Move> moves = engine.getLegalMoves(player);
+
+			assertEquals(0, engine.getLegalMoves(player % 3 + 1).size());
+			assertEquals(keysOf(bruteForceMoves(state)), keysOf(moves));
+			assertEquals(keysOf(moves), keysOf(classUnderTest.generateMoves(engine.getCurrentGameState(), player)));
+
+			MoveResult result = engine.submitMove(player, moves.get(random.nextInt(moves.size())));
+			assertTrue(result.isSuccess());
+			if (result.isGameEnded()) return;
+		}
+	}
+
+	/**
+	 * Every move of the current player that the validator accepts, trying every subset
+	 * of up to four of their playable cards.
+	 */
+	private List<Move> bruteForceMoves(IdiotGameState state) {
+		PlayerZone place = state.PlayerPlaces.get(state.currentPlayerTurn - 1);
+		List<Card> cards = new ArrayList<Card>(place.hand);
+		if (cards.isEmpty()) {
+			for (int stack = 1; stack <= 3; stack++) {
+				if (!place.getStack(stack).isEmpty()) cards.add(place.getStack(stack).get(place.getStack(stack).size() - 1));
+			}
+		}
+
+		List<Move> candidates = new ArrayList<Move>();
+		for (int a = 0; a < cards.size(); a++) {
+			candidates.add(new PlayOneCardMove(cards.get(a).getId(), "pile", cards.get(a)));
+			for (int b = a + 1; b < cards.size(); b++) {
+				candidates.add(new PlayMultipleCardsMove("", "pile", Arrays.asList(cards.get(a), cards.get(b))));
+				for (int c = b + 1; c < cards.size(); c++) {
+					candidates.add(new PlayMultipleCardsMove("", "pile", Arrays.asList(cards.get(a), cards.get(b), cards.get(c))));
+					for (int d = c + 1; d < cards.size(); d++) {
+						candidates.add(new PlayMultipleCardsMove("", "pile", Arrays.asList(cards.get(a), cards.get(b), cards.get(c), cards.get(d))));
+					}
+				}
+			}
+		}
+		candidates.add(new PlayTopOfDeck("drawCards", "pile"));
+		candidates.add(new TakePileMove("pile", "hand"));
+
+		List<Move> moves = new ArrayList<Move>();
+		for (Move move : candidates) {
+			if (validator.IsValidMove(move).Success) moves.add(move);
+		}
+		return moves;
+	}
+
+	private static Set<String> keysOf(List<Move> moves) {
+		Set<String> keys = new HashSet<String>();
+		for (Move move : moves) {
+			if (move instanceof PlayOneCardMove) keys.add(((PlayOneCardMove) move).card.getId());
+			else if (move instanceof PlayMultipleCardsMove) {
+				Set<Integer> ordinals = new TreeSet<Integer>();
+				((PlayMultipleCardsMove) move).cards.forEach(card -> ordinals.add(card.getOrdinal()));
+				keys.add(ordinals.toString());
+			}
+			else keys.add(move.getClass().getSimpleName());
+		}
+		assertEquals(moves.size(), keys.size());
+		return keys;
+	}
+}
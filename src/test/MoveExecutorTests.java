@@ -0,0 +1,174 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.EndGameChecker;
+import controller.MoveExecutor;
+import controller.validators.MoveValidator;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState;
+import model.PlayerZone;
+import model.card.Card;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.MoveUndo;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+import test.mocks.InspectableEngine;
+
+public class MoveExecutorTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	InspectableEngine engine;
+
+	MoveExecutor classUnderTest;
+
+	MoveValidator validator = new MoveValidator();
+
+	@Before
+	public void setUp() throws Exception {
+		engine = new InspectableEngine(new EndGameChecker());
+		engine.initializeNewGame(3, () -> defaultConfig);
+		engine.beginPlay();
+
+		EndGameChecker endGameChecker = new EndGameChecker();
+		endGameChecker.setState(engine.getState());
+		classUnderTest = new MoveExecutor(endGameChecker);
+		classUnderTest.setState(engine.getState());
+		classUnderTest.setConfig(defaultConfig);
+		validator.setState(engine.getState());
+		validator.setConfig(defaultConfig);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void executeMove_CardNotHeldByCurrentPlayer_Throws() {
+
+		Card othersCard = engine.getState().PlayerPlaces.get(1).hand.get(0);
+
+		classUnderTest.executeMove(new PlayOneCardMove(othersCard.getId(), "pile", othersCard));
+	}
+
+	@Test
+	public void undoMove_EveryValidMoveOfWholeGame_RestoresStateExactly() {
+
+		MoveUndo undo = new MoveUndo();
+		int undone = 0;
+
+		for (int turn = 0; turn < 1000; turn++) {
+			IdiotGameState state = engine.getState();
+			List<Object> before = contentsOf(state);
+
+			for (Move move : candidateMoves(state)) {
+				if (!validator.IsValidMove(move).Success) continue;
+
+				assertSame(undo, classUnderTest.makeMove(move, undo));
+				assertTrue(undo.result.isSuccess());
+				classUnderTest.undoMove(undo);
+
+				assertEquals(move.toString(), before, contentsOf(state));
+				undone++;
+			}
+
+			MoveResult result = null;
+			for (Card card : engine.getCurrentGameState().getPlayerPlaces().get(state.currentPlayerTurn - 1).getPlayableCards()) {
+				result = engine.submitMove(state.currentPlayerTurn, new PlayOneCardMove(card.getId(), "pile", card));
+				if (result.isSuccess()) break;
+			}
+			if (result == null || !result.isSuccess()) {
+				result = state.drawCards.size() > 0
+						? engine.submitMove(state.currentPlayerTurn, new PlayTopOfDeck("drawCards", "pile"))
+						: engine.submitMove(state.currentPlayerTurn, new TakePileMove("pile", "hand"));
+			}
+			assertTrue(result.isSuccess());
+
+			if (result.isGameEnded()) {
+				assertTrue(undone > turn);
+				return;
+			}
+		}
+	}
+
+	@Test
+	public void undoMove_ManyMovesDeep_UnwindsToStartingState() {
+
+		IdiotGameState state = engine.getState();
+		List<Object> start = contentsOf(state);
+		List<MoveUndo> undos = new ArrayList<MoveUndo>();
+
+		for (int ply = 0; ply < 40; ply++) {
+			Move chosen = null;
+			for (Move move : candidateMoves(state)) {
+				if (validator.IsValidMove(move).Success) chosen = move;
+			}
+			MoveUndo undo = classUnderTest.makeMove(chosen);
+			undos.add(undo);
+			if (undo.result.isGameEnded()) break;
+		}
+		assertFalse(start.equals(contentsOf(state)));
+
+		for (int i = undos.size() - 1; i >= 0; i--) {
+			classUnderTest.undoMove(undos.get(i));
+		}
+		assertEquals(start, contentsOf(state));
+	}
+
+	private List<Move> candidateMoves(IdiotGameState state) {
+		PlayerZone place = state.PlayerPlaces.get(state.currentPlayerTurn - 1);
+		List<Move> moves = new ArrayList<Move>();
+		moves.add(new TakePileMove("pile", "hand"));
+		moves.add(new PlayTopOfDeck("drawCards", "pile"));
+
+		List<Card> cards = new ArrayList<Card>(place.hand);
+		for (int stack = 1; stack <= 3; stack++) {
+			List<Card> tableCards = place.getStack(stack);
+			if (!tableCards.isEmpty()) cards.add(tableCards.get(tableCards.size() - 1));
+		}
+		for (Card card : cards) {
+			moves.add(new PlayOneCardMove(card.getId(), "pile", card));
+			for (Card other : place.hand) {
+				if (other != card && other.getRank() == card.getRank())
+					moves.add(new PlayMultipleCardsMove(card.getId(), "pile", Arrays.asList(card, other)));
+			}
+		}
+		return moves;
+	}
+
+	/**
+	 * Everything a move can change: the order of every zone, which way each card
+	 * faces, the turn and the game phase.
+	 */
+	private static List<Object> contentsOf(IdiotGameState state) {
+		List<Object> contents = new ArrayList<Object>();
+		List<List<Card>> zones = new ArrayList<List<Card>>(Arrays.asList(state.drawCards, state.pile, state.discardedCards));
+		for (PlayerZone place : state.PlayerPlaces) {
+			for (int stack = 0; stack < 4; stack++) {
+				zones.add(place.getStack(stack));
+			}
+		}
+		for (List<Card> zone : zones) {
+			contents.add(new ArrayList<Card>(zone));
+			for (Card card : zone) {
+				contents.add(card.isFaceDown());
+			}
+		}
+		contents.add(state.currentPlayerTurn);
+		contents.add(state.turnDirection);
+		contents.add(state.skippedPlayers);
+		contents.add(state.CurrentGamePhase);
+		return contents;
+	}
+}
@@ -0,0 +1,54 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.PlayabilityTable;
+import model.card.GameCardRank;
+
+public class PlayabilityTableTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	@Test
+	public void canPlay_EveryPairOfRanks_FollowsSpecialCardRules() {
+
+		PlayabilityTable classUnderTest = defaultConfig.getPlayability();
+
+		for (GameCardRank top : GameCardRank.values()) {
+			long cards = 0;
+			for (GameCardRank rank : GameCardRank.values()) {
+				boolean expected = rank == GameCardRank.Two || rank == GameCardRank.Ten || rank == GameCardRank.Five
+						|| (top == GameCardRank.Five ? rank.ordinal() <= top.ordinal() : rank.ordinal() >= top.ordinal());
+
+				assertEquals(top + " " + rank, expected, classUnderTest.canPlay(rank, top));
+				assertEquals(expected, classUnderTest.canPlay(rank.ordinal(), top.ordinal()));
+				if (expected) cards |= CompactGameState.RANK_MASKS[rank.ordinal()];
+			}
+			assertEquals(cards, classUnderTest.playableCards(top.ordinal()));
+			assertTrue(classUnderTest.canPlay(top, null));
+		}
+		assertEquals((1L << CompactGameState.DECK_SIZE) - 1, classUnderTest.playableCards(PlayabilityTable.EMPTY_PILE));
+	}
+
+	@Test
+	public void getPlayability_RanksChanged_CompilesOnlyOnChange() {
+
+		PlayabilityTable classUnderTest = defaultConfig.getPlayability();
+		assertSame(classUnderTest, defaultConfig.getPlayability());
+		assertFalse(classUnderTest.canPlay(GameCardRank.Three, GameCardRank.Four));
+
+		defaultConfig.reverseCard = GameCardRank.Four;
+
+		assertNotSame(classUnderTest, defaultConfig.getPlayability());
+		assertTrue(defaultConfig.getPlayability().canPlay(GameCardRank.Three, GameCardRank.Four));
+		assertFalse(defaultConfig.getPlayability().canPlay(GameCardRank.Five, GameCardRank.Four));
+	}
+}
@@ -0,0 +1,55 @@
+package test;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import controller.TurnScheduler;
+import model.CompactGameState;
+import model.IdiotGameState;
+
+public class TurnSchedulerTests {
+
+	@Test
+	public void advance_FivePlayers_WrapsAroundTheTable() {
+
+		IdiotGameState state = new IdiotGameState(5);
+		state.currentPlayerTurn = 4;
+
+		TurnScheduler.advance(state);
+		assertEquals(5, state.currentPlayerTurn);
+
+		TurnScheduler.advance(state);
+		assertEquals(1, state.currentPlayerTurn);
+	}
+
+	@Test
+	public void advance_ReversedAndSkipping_MovesBackPastSkippedPlayersOnce() {
+
+		IdiotGameState state = new IdiotGameState(4);
+		state.currentPlayerTurn = 2;
+
+		TurnScheduler.reverse(state);
+		TurnScheduler.skip(state, 1);
+		TurnScheduler.advance(state);
+		assertEquals(4, state.currentPlayerTurn);
+
+		TurnScheduler.advance(state);
+		assertEquals(3, state.currentPlayerTurn);
+	}
+
+	@Test
+	public void advance_CompactState_MatchesObjectModelState() {
+
+		IdiotGameState state = new IdiotGameState(3);
+		TurnScheduler.skip(state, 4);
+		CompactGameState compact = CompactGameState.fromGameState(state);
+
+		TurnScheduler.advance(state);
+		TurnScheduler.advance(compact);
+
+		assertEquals(3, state.currentPlayerTurn);
+		assertEquals(state.currentPlayerTurn, compact.currentPlayerTurn);
+		assertEquals(0, compact.skippedPlayers);
+	}
+}
@@ -0,0 +1,75 @@
+package test.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import benchmark.BenchmarkResult;
+import benchmark.BenchmarkRunner;
+import benchmark.EngineBenchmarks;
+import benchmark.IBenchmark;
+
+public class BenchmarkRunnerTests {
+
+	@Test
+	public void run_AllEngineBenchmarks_EveryOperationSucceedsAndResultsRoundTrip() throws Exception {
+
+		BenchmarkRunner classUnderTest = new BenchmarkRunner();
+		classUnderTest.setIterations(0, 1, 1);
+
+		List<IBenchmark> benchmarks = EngineBenchmarks.all();
+		for (IBenchmark benchmark : benchmarks) {
+			int prepared = benchmark.prepare(2);
+			for (int i = 0; i < prepared; i++) {
+				if (!benchmark.getName().startsWith("EndGameChecker") && !benchmark.getName().startsWith("CardDeck"))
+					assertEquals(benchmark.getName(), 1, benchmark.run(i));
+			}
+		}
+
+		List<BenchmarkResult> results = classUnderTest.run(benchmarks);
+		File file = File.createTempFile("benchmark", ".json");
+		file.deleteOnExit();
+		BenchmarkRunner.write(results, file);
+
+		assertEquals(benchmarks.size(), BenchmarkRunner.read(file).size());
+		assertEquals(results.get(0).name, BenchmarkRunner.read(file).get(0).name);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void measure_BenchmarkPreparesNothing_Throws() {
+
+		BenchmarkRunner classUnderTest = new BenchmarkRunner();
+		classUnderTest.setIterations(0, 1, 1);
+
+		classUnderTest.measure(new IBenchmark() {
+			public String getName() {
+				return "empty";
+			}
+
+			public int prepare(int batchSize) {
+				return 0;
+			}
+
+			public int run(int index) {
+				return 0;
+			}
+		});
+	}
+
+	@Test
+	public void findRegressions_SlowerBeyondThresholdAndError_ReportsOnlyThatBenchmark() {
+
+		List<BenchmarkResult> baseline = Arrays.asList(new BenchmarkResult("a", 100, 1, 10), new BenchmarkResult("b", 100, 1, 10));
+		List<BenchmarkResult> current = Arrays.asList(new BenchmarkResult("a", 150, 1, 10), new BenchmarkResult("b", 105, 1, 10));
+
+		List<String> regressions = BenchmarkRunner.findRegressions(baseline, current, 0.1);
+
+		assertEquals(1, regressions.size());
+		assertTrue(regressions.get(0).startsWith("a:"));
+	}
+}
@@ -0,0 +1,64 @@
+package test.log;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.Test;
+
+import controller.log.GameEventLevel;
+import controller.log.GameEventLog;
+import controller.log.GameEventRecord;
+import controller.log.RingBufferAppender;
+import model.IdiotGameState;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.card.GameCardSuit;
+import model.move.MoveResult;
+import model.move.PlayOneCardMove;
+
+public class GameEventLogTests {
+
+	@Test
+	public void isEnabled_LevelDebug_EnablesInfoAndDebugOnly() {
+
+		GameEventLog classUnderTest = new GameEventLog(GameEventLevel.Debug, 1, null);
+
+		assertFalse(classUnderTest.isEnabled(GameEventLevel.Off));
+		assertTrue(classUnderTest.isEnabled(GameEventLevel.Info));
+		assertTrue(classUnderTest.isEnabled(GameEventLevel.Debug));
+		assertFalse(classUnderTest.isEnabled(GameEventLevel.Trace));
+		assertFalse(GameEventLog.DISABLED.isEnabled(GameEventLevel.Info));
+	}
+
+	@Test
+	public void moveExecuted_DebugLevel_WritesOneFixedSizeRecordPerMove() {
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		RingBufferAppender appender = new RingBufferAppender(16, out);
+		GameEventLog classUnderTest = new GameEventLog(GameEventLevel.Debug, 7, appender, new PrintStream(new ByteArrayOutputStream()));
+
+		IdiotGameState state = new IdiotGameState(2);
+		GameCard card = new GameCard(false, GameCardSuit.Hearts, GameCardRank.Queen);
+		state.pile.add(card);
+
+		for (int i = 0; i < 10; i++) {
+			appender.append(new byte[GameEventRecord.SIZE], 0);
+		}
+		classUnderTest.moveExecuted(state, 1, new PlayOneCardMove("QH", "pile", card), new MoveResult(true, null, true, false));
+		appender.close();
+
+		byte[] records = out.toByteArray();
+		int last = records.length - GameEventRecord.SIZE;
+
+		assertEquals(11 * GameEventRecord.SIZE, records.length);
+		assertEquals(7, GameEventRecord.tableId(records, last));
+		assertEquals(GameEventRecord.MOVE, records[last + 4]);
+		assertEquals(GameEventRecord.MOVE_PLAY_ONE_CARD, records[last + 6]);
+		assertEquals(GameEventRecord.cardOrdinal(card), records[last + 8] & 0xFF);
+		assertEquals(1, records[last + 12]);
+	}
+}
@@ -0,0 +1,19 @@
+package test.mocks;
+
+import controller.EndGameChecker;
+import controller.IdiotGameEngine;
+import controller.MoveExecutor;
+import controller.validators.MoveValidator;
+import controller.validators.TableSwapValidator;
+import model.IdiotGameState;
+
+public class InspectableEngine extends IdiotGameEngine {
+
+	public InspectableEngine(EndGameChecker endGameChecker) {
+		super(new TableSwapValidator(), new MoveValidator(), endGameChecker, new MoveExecutor(endGameChecker));
+	}
+
+	public IdiotGameState getState() {
+		return state;
+	}
+}
@@ -3,8 +3,10 @@ package test.mocks;
 import controller.IMoveExecutor;
 import model.IdiotGameConfiguration;
 import model.IdiotGameState;
+import model.move.GameStateChange;
 import model.move.Move;
 import model.move.MoveResult;
+import model.move.MoveUndo;
 
 public class MockMoveExecutor implements IMoveExecutor {
 
@@ -14,6 +16,24 @@ public class MockMoveExecutor implements IMoveExecutor {
 		return null;
 	}
 
+	@Override
+	public MoveUndo makeMove(Move move) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public MoveUndo makeMove(Move move, MoveUndo undo) {
+		// TODO Auto-generated method stub
+		return null;
+	}
+
+	@Override
+	public void undoMove(MoveUndo undo) {
+		// TODO Auto-generated method stub
+
+	}
+
 	@Override
 	public void setState(IdiotGameState state) {
 		// TODO Auto-generated method stub
@@ -26,4 +46,10 @@ public class MockMoveExecutor implements IMoveExecutor {
 
 	}
 
+	@Override
+	public void setChangeSet(GameStateChange changes) {
+		// TODO Auto-generated method stub
+
+	}
+
 }
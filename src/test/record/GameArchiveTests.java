@@ -0,0 +1,116 @@
+package test.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.record.GameArchive;
+import controller.record.GameRecord;
+import controller.record.GameRecorder;
+import controller.record.GameReplayer;
+import controller.simulation.GameSimulator;
+import controller.simulation.IBotPolicy;
+import controller.simulation.LowestCardBotPolicy;
+import controller.simulation.RandomBotPolicy;
+import controller.simulation.SimulationReport;
+import model.IdiotGameConfiguration;
+import model.card.GameCardRank;
+
+public class GameArchiveTests {
+
+	static final int SEGMENT_SIZE = 16 * 1024;
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	Path directory;
+
+	List<GameRecord> records = new ArrayList<GameRecord>();
+
+	@Before
+	public void setUp() throws Exception {
+		directory = Files.createTempDirectory("archive");
+
+		GameSimulator simulator = new GameSimulator(Arrays.<IBotPolicy>asList(new LowestCardBotPolicy(), new RandomBotPolicy()));
+		simulator.setMaxTurnsPerGame(60);
+		for (int game = 0; game < 200; game++) {
+			GameRecorder recorder = new GameRecorder(GameSimulator.createEngine());
+			simulator.playGame(recorder, () -> defaultConfig, new SimulationReport(defaultConfig, 2), new Random(game));
+			records.add(recorder.getRecord());
+		}
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+	}
+
+	@Test
+	public void get_GamesAcrossSegmentsAfterReopening_ReturnsEveryRecord() throws Exception {
+
+		try (GameArchive classUnderTest = new GameArchive(directory, SEGMENT_SIZE)) {
+			for (int game = 0; game < 150; game++) {
+				assertEquals(game, classUnderTest.append(records.get(game)));
+			}
+		}
+
+		try (GameArchive classUnderTest = new GameArchive(directory, SEGMENT_SIZE)) {
+			assertEquals(150, classUnderTest.size());
+			for (int game = 150; game < records.size(); game++) {
+				assertEquals(game, classUnderTest.append(records.get(game)));
+			}
+
+			assertTrue(directory.toFile().list().length > 2);
+			GameReplayer replayer = new GameReplayer();
+			for (int game = records.size() - 1; game >= 0; game--) {
+				ByteBuffer record = classUnderTest.get(game);
+				assertEquals(records.get(game).asByteBuffer(), record);
+				assertEquals(records.get(game).getWinner(), replayer.replay(record));
+			}
+		}
+	}
+
+	@Test
+	public void forEachWithWinner_EveryOutcome_VisitsExactlyTheGamesWithIt() throws Exception {
+
+		try (GameArchive classUnderTest = new GameArchive(directory, SEGMENT_SIZE)) {
+			for (GameRecord record : records) {
+				classUnderTest.append(record);
+			}
+
+			List<Long> all = new ArrayList<Long>();
+			classUnderTest.forEach((record, gameId) -> {
+				assertEquals(records.get((int) gameId).asByteBuffer(), record);
+				all.add(gameId);
+			});
+			assertEquals(records.size(), all.size());
+
+			int visited = 0;
+			for (int winner = 0; winner <= 2; winner++) {
+				List<Long> games = new ArrayList<Long>();
+				int expectedWinner = winner;
+				classUnderTest.forEachWithWinner(winner, (record, gameId) -> {
+					assertEquals(expectedWinner, GameRecord.winner(record));
+					games.add(gameId);
+				});
+
+				for (int game = 0; game < records.size(); game++) {
+					assertEquals(records.get(game).getWinner() == winner, games.contains((long) game));
+				}
+				assertTrue(winner + " never happened", games.size() > 0);
+				visited += games.size();
+			}
+			assertEquals(records.size(), visited);
+		}
+	}
+}
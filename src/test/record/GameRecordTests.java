@@ -0,0 +1,117 @@
+package test.record;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import controller.record.GameRecord;
+import controller.record.GameRecorder;
+import controller.record.GameReplayer;
+import controller.simulation.GameSimulator;
+import controller.simulation.IBotPolicy;
+import controller.simulation.LowestCardBotPolicy;
+import controller.simulation.RandomBotPolicy;
+import controller.simulation.SimulationReport;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.GameCardRank;
+
+public class GameRecordTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	GameSimulator simulator = new GameSimulator(Arrays.<IBotPolicy>asList(new LowestCardBotPolicy(), new RandomBotPolicy(), new LowestCardBotPolicy()));
+
+	@Test
+	public void replay_RecordedGames_EndsWithSameWinnerAndState() {
+
+		GameReplayer classUnderTest = new GameReplayer();
+
+		for (int game = 0; game < 50; game++) {
+			GameRecorder recorder = new GameRecorder(GameSimulator.createEngine());
+			SimulationReport report = new SimulationReport(defaultConfig, 3);
+			simulator.playGame(recorder, () -> defaultConfig, report, new Random(game));
+			GameRecord record = recorder.getRecord();
+
+			assertEquals(3, record.getNumberOfPlayers());
+			assertEquals(GameCardRank.Ten, record.getConfiguration().burnCard);
+			if (record.getWinner() > 0) assertEquals(1, report.getWins(record.getWinner()));
+
+			assertEquals(record.getWinner(), classUnderTest.replay(record));
+			assertEquals(describe(recorder.getCurrentGameState()), describe(classUnderTest.getEngine().getCurrentGameState()));
+		}
+	}
+
+	@Test
+	public void replay_RecordCutBeforeGameEnded_Throws() {
+
+		GameRecorder recorder = new GameRecorder(GameSimulator.createEngine());
+		simulator.playGame(recorder, () -> defaultConfig, new SimulationReport(defaultConfig, 3), new Random(1));
+		byte[] bytes = recorder.getRecord().toByteArray();
+		int winner = recorder.getRecord().getWinner();
+		assertTrue(winner > 0);
+
+		GameRecord cut = new GameRecord(bytes, recorder.getRecord().size() - 1);
+		assertEquals(0, cut.getWinner());
+		try {
+			new GameReplayer().replay(cut);
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("ended"));
+		}
+
+		bytes[recorder.getRecord().size() - 1] = (byte) (GameRecord.GAME_ENDED << 4 | winner % 3 + 1);
+		try {
+			new GameReplayer().replay(new GameRecord(bytes, recorder.getRecord().size()));
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage(), e.getMessage().contains("winner"));
+		}
+	}
+
+	@Test
+	public void readFrom_RecordsWrittenToOneStream_ReadBackInOrder() throws Exception {
+
+		List<GameRecord> records = new ArrayList<GameRecord>();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+
+		for (int game = 0; game < 5; game++) {
+			GameRecorder recorder = new GameRecorder(GameSimulator.createEngine());
+			simulator.playGame(recorder, () -> defaultConfig, new SimulationReport(defaultConfig, 3), new Random(game));
+			records.add(recorder.getRecord());
+			recorder.getRecord().writeTo(out);
+		}
+
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+		for (GameRecord record : records) {
+			GameRecord read = GameRecord.readFrom(in);
+			assertEquals(record.asByteBuffer(), read.asByteBuffer());
+			assertEquals(record.getSeed(), read.getSeed());
+			assertEquals(record.getWinner(), new GameReplayer().replay(read));
+		}
+		assertEquals(0, in.available());
+	}
+
+	private static String describe(IdiotGameStateFacade state) {
+		StringBuilder buf = new StringBuilder();
+		buf.append(state.CurrentGamePhase()).append(' ').append(state.CurrentPlayerTurn());
+		buf.append(' ').append(state.GetDeck().size()).append(' ').append(state.GetPile().getCards());
+		for (IdiotPlayerZoneFacade place : state.getPlayerPlaces()) {
+			buf.append(' ').append(place.getHand().getCards()).append(place.getPlayableCards());
+		}
+		return buf.toString();
+	}
+}
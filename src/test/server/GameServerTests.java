@@ -0,0 +1,174 @@
+package test.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.IdiotGameEngine;
+import controller.server.GameClient;
+import controller.server.GameServer;
+import controller.server.TableManager;
+import controller.server.WireFormat;
+import controller.simulation.GameSimulator;
+import controller.simulation.LowestCardBotPolicy;
+import controller.validators.ValidationResult;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.card.Card;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+public class GameServerTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	TableManager tables;
+	GameServer classUnderTest;
+	GameClient client;
+
+	@Before
+	public void setUp() throws Exception {
+		tables = new TableManager(2, GameSimulator::createEngine);
+		classUnderTest = new GameServer(tables, () -> defaultConfig, new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+		classUnderTest.start();
+		client = new GameClient(classUnderTest.getAddress());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		client.close();
+		classUnderTest.close();
+		tables.close();
+	}
+
+	@Test
+	public void sendMove_PipelinedRequests_RespondsToEveryRequestInOrder() throws Exception {
+
+		int tableId = client.openTable(2);
+		client.playerDoneSwapping(tableId, 1);
+		client.beginPlay(tableId, 2);
+
+		int requests = 20000;
+		int first = client.sendMove(tableId, 2, new TakePileMove("pile", "hand"));
+		for (int i = 1; i < requests; i++) {
+			client.sendMove(tableId, 2, new PlayOneCardMove("3C", "pile", GameCard.of("3C")));
+		}
+		client.flush();
+
+		for (int i = 0; i < requests; i++) {
+			byte[] response = client.receive();
+			MoveResult result = WireFormat.readResult(response);
+
+			assertEquals(first + i, WireFormat.sequence(response));
+			assertEquals(1, WireFormat.currentPlayer(response));
+			assertFalse(result.isSuccess());
+			assertEquals(IdiotGameEngine.NOT_PLAYERS_TURN.message, result.getMessage());
+		}
+	}
+
+	@Test
+	public void submitMove_WholeGameOverTheWire_EndsWithWinnerMessage() throws Exception {
+
+		int tableId = client.openTable(2);
+		client.playerDoneSwapping(tableId, 1);
+		client.beginPlay(tableId, 2);
+		LowestCardBotPolicy policy = new LowestCardBotPolicy();
+		Random random = new Random(3);
+
+		for (int turn = 0; turn < GameSimulator.DEFAULT_MAX_TURNS; turn++) {
+			IdiotGameStateFacade state = tables.send(tableId, engine -> engine.getCurrentGameState()).join();
+			int player = state.CurrentPlayerTurn();
+			List<Move> moves = tables.send(tableId, engine -> policy.chooseMoves(state, player, defaultConfig, random)).join();
+			boolean deckEmpty = tables.send(tableId, engine -> state.GetDeck().size() == 0).join();
+
+			MoveResult result = null;
+			for (Move move : moves) {
+				result = client.submitMove(tableId, player, move);
+				if (result.isSuccess()) break;
+			}
+			if (result == null || !result.isSuccess()) {
+				result = client.submitMove(tableId, player, deckEmpty ? new TakePileMove("pile", "hand") : new PlayTopOfDeck("drawCards", "pile"));
+			}
+
+			assertTrue(result.isSuccess());
+			if (result.isGameEnded()) {
+				assertEquals(IdiotGameEngine.gameOverMessage(player), result.getMessage());
+				return;
+			}
+		}
+		fail("Game did not end");
+	}
+
+	@Test
+	public void dispatch_SwappingRequestsOutOfTurnOrDuringPlay_AreRefused() throws Exception {
+
+		int tableId = client.openTable(2);
+
+		assertTrue(isRefused(tableId, WireFormat.DONE_SWAPPING, 2));
+		assertTrue(isRefused(tableId, WireFormat.BEGIN_PLAY, 2));
+		assertTrue(isRefused(tableId, WireFormat.BEGIN_PLAY, 1));
+
+		client.playerDoneSwapping(tableId, 1);
+		client.beginPlay(tableId, 2);
+
+		assertTrue(isRefused(tableId, WireFormat.DONE_SWAPPING, 1));
+		assertTrue(isRefused(tableId, WireFormat.BEGIN_PLAY, 2));
+		assertEquals(1, (int) tables.send(tableId, engine -> engine.getCurrentGameState().CurrentPlayerTurn()).join());
+	}
+
+	@Test
+	public void writeMove_EveryMoveType_ReadsBackSameMove() {
+
+		byte[] frame = new byte[WireFormat.SIZE];
+		List<Card> cards = Arrays.<Card>asList(GameCard.of("7C"), GameCard.of("7S"), GameCard.of("7H"));
+
+		WireFormat.writeMove(frame, 9, 4, 2, new PlayMultipleCardsMove("p2Hand", "pile", cards));
+		Move move = WireFormat.readMove(frame);
+
+		assertEquals(9, WireFormat.sequence(frame));
+		assertEquals(4, WireFormat.tableId(frame));
+		assertEquals(2, WireFormat.player(frame));
+		assertEquals(cards, ((PlayMultipleCardsMove) move).cards);
+
+		WireFormat.writeMove(frame, 10, 4, 2, new PlayOneCardMove("QH", "pile", GameCard.of("QH")));
+		assertEquals(GameCard.of("QH"), ((PlayOneCardMove) WireFormat.readMove(frame)).card);
+
+		WireFormat.writeMove(frame, 11, 4, 2, new PlayTopOfDeck("drawCards", "pile"));
+		assertTrue(WireFormat.readMove(frame) instanceof PlayTopOfDeck);
+
+		WireFormat.writeMove(frame, 12, 4, 2, new TakePileMove("pile", "hand"));
+		assertTrue(WireFormat.readMove(frame) instanceof TakePileMove);
+
+		WireFormat.writeMove(frame, 13, 4, 2, new PlayMultipleCardsMove("p2Hand", "pile", Arrays.<Card>asList(GameCard.of("6C"), GameCard.of("6C"))));
+		assertNull(WireFormat.readMove(frame));
+
+		byte[] response = WireFormat.response(frame, 4, ValidationResult.BELOW_PILE_CARD.toFailedMoveResult(), 1);
+		assertEquals(ValidationResult.BELOW_PILE_CARD.ErrorMessage, WireFormat.readResult(response).getMessage());
+	}
+
+	private boolean isRefused(int tableId, byte requestType, int player) throws Exception {
+		byte[] frame = new byte[WireFormat.SIZE];
+		WireFormat.writeRequest(frame, 0, tableId, requestType, player);
+		client.send(frame);
+		client.flush();
+		return WireFormat.isError(client.receive());
+	}
+}
@@ -0,0 +1,207 @@
+package test.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.IIdiotGameEngine;
+import controller.server.TableLog;
+import controller.server.TableManager;
+import controller.simulation.GameSimulator;
+import controller.simulation.LowestCardBotPolicy;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+public class TableLogTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	Path directory;
+
+	List<TableManager> managers = new ArrayList<TableManager>();
+
+	@Before
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("tables");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		for (TableManager manager : managers) {
+			manager.close();
+		}
+		Files.walk(directory).sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+	}
+
+	@Test
+	public void recover_AcknowledgedChangesWithoutClosing_RebuildsEveryTable() throws Exception {
+
+		TableManager classUnderTest = open();
+		List<Long> tables = openTables(classUnderTest, 16);
+		classUnderTest.closeTable(tables.remove(3)).join();
+		playTurns(classUnderTest, tables, 12);
+		Map<Long, String> before = describeAll(classUnderTest, tables);
+
+		// the first manager is left running, as if its process had died
+		TableManager recovered = open();
+		assertEquals(before, describeAll(recovered, tables));
+		assertFalse(recovered.closeTable(3).join());
+
+		playTurns(recovered, tables, GameSimulator.DEFAULT_MAX_TURNS);
+		for (long tableId : tables) {
+			assertEquals(GamePhases.GameCompleted, recovered.send(tableId, engine -> engine.getCurrentGameState().CurrentGamePhase()).join());
+		}
+	}
+
+	@Test
+	public void checkpoint_SnapshotsWhilePlaying_DeletesOldSegmentsAndRecovers() throws Exception {
+
+		TableManager classUnderTest = open();
+		classUnderTest.setCheckpointBytes(2048);
+		List<Long> tables = openTables(classUnderTest, 8);
+		playTurns(classUnderTest, tables, 25);
+		classUnderTest.checkpoint().join();
+		Map<Long, String> before = describeAll(classUnderTest, tables);
+
+		assertEquals(1, count("snapshot-*.snap"));
+		assertTrue(count("wal-*.log") <= 2);
+
+		assertEquals(before, describeAll(open(), tables));
+	}
+
+	@Test
+	public void recover_TornEntryAtEndOfSegment_IsIgnored() throws Exception {
+
+		TableManager classUnderTest = open();
+		List<Long> tables = openTables(classUnderTest, 4);
+		playTurns(classUnderTest, tables, 8);
+		Map<Long, String> before = describeAll(classUnderTest, tables);
+		close(classUnderTest);
+
+		Path segment = directory.resolve("wal-000000.log");
+		byte[] torn = new byte[TableLog.ENTRY_HEADER_SIZE + 3];
+		torn[3] = 40;
+		Files.write(segment, torn, StandardOpenOption.APPEND);
+
+		assertEquals(before, describeAll(open(), tables));
+	}
+
+	@Test
+	public void recover_HighestTablesClosed_DoesNotHandOutTheirIdsAgain() throws Exception {
+
+		TableManager classUnderTest = open();
+		List<Long> tables = openTables(classUnderTest, 4);
+		classUnderTest.closeTable(tables.get(3)).join();
+		close(classUnderTest);
+
+		TableManager recovered = open();
+		assertEquals(4L, (long) recovered.openTable(2, () -> defaultConfig).join());
+		recovered.closeTable(4).join();
+		recovered.checkpoint().join();
+		close(recovered);
+
+		assertEquals(1, count("snapshot-*.snap"));
+		assertEquals(5L, (long) open().openTable(2, () -> defaultConfig).join());
+	}
+
+	private TableManager open() throws IOException {
+		TableManager manager = new TableManager(3, GameSimulator::createEngine, new TableLog(directory));
+		managers.add(manager);
+		return manager;
+	}
+
+	private void close(TableManager manager) {
+		manager.close();
+		managers.remove(manager);
+	}
+
+	private List<Long> openTables(TableManager manager, int count) {
+		List<Long> tables = new ArrayList<Long>();
+		for (int i = 0; i < count; i++) {
+			long tableId = manager.openTable(2, () -> defaultConfig).join();
+			manager.send(tableId, engine -> {
+				engine.setRandom(new Random(tableId));
+				engine.initializeNewGame(2, () -> defaultConfig);
+				return null;
+			});
+			manager.playerDoneSwapping(tableId, 1);
+			manager.beginPlay(tableId);
+			tables.add(tableId);
+		}
+		return tables;
+	}
+
+	private void playTurns(TableManager manager, List<Long> tables, int turns) {
+		for (int turn = 0; turn < turns; turn++) {
+			List<CompletableFuture<Void>> results = new ArrayList<CompletableFuture<Void>>();
+			for (long tableId : tables) {
+				results.add(manager.send(tableId, engine -> playTurn(engine)));
+			}
+			results.forEach(CompletableFuture::join);
+		}
+	}
+
+	private Void playTurn(IIdiotGameEngine engine) {
+		IdiotGameStateFacade state = engine.getCurrentGameState();
+		if (state.CurrentGamePhase() == GamePhases.GameCompleted) return null;
+		int player = state.CurrentPlayerTurn();
+
+		for (Move move : new LowestCardBotPolicy().chooseMoves(state, player, defaultConfig, new Random(player))) {
+			MoveResult result = engine.submitMove(player, move);
+			if (result.isSuccess()) return null;
+		}
+		engine.submitMove(player, state.GetDeck().size() > 0 ? new PlayTopOfDeck("drawCards", "pile") : new TakePileMove("pile", "hand"));
+		return null;
+	}
+
+	private Map<Long, String> describeAll(TableManager manager, List<Long> tables) {
+		Map<Long, String> states = new HashMap<Long, String>();
+		for (long tableId : tables) {
+			states.put(tableId, manager.send(tableId, engine -> describe(engine.getCurrentGameState())).join());
+		}
+		return states;
+	}
+
+	private long count(String glob) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, glob)) {
+			long count = 0;
+			for (Path file : files) {
+				count++;
+			}
+			return count;
+		}
+	}
+
+	private static String describe(IdiotGameStateFacade state) {
+		StringBuilder buf = new StringBuilder();
+		buf.append(state.CurrentGamePhase()).append(' ').append(state.CurrentPlayerTurn());
+		buf.append(' ').append(state.GetDeck().size()).append(' ').append(state.GetPile().getCards());
+		for (IdiotPlayerZoneFacade place : state.getPlayerPlaces()) {
+			buf.append(' ').append(place.getHand().getCards()).append(place.getPlayableCards());
+		}
+		return buf.toString();
+	}
+}
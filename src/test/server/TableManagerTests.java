@@ -0,0 +1,147 @@
+package test.server;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import controller.IIdiotGameEngine;
+import controller.server.TableManager;
+import controller.simulation.GameSimulator;
+import controller.simulation.LowestCardBotPolicy;
+import model.IdiotGameConfiguration;
+import model.IdiotGameState.GamePhases;
+import model.IdiotGameStateFacade;
+import model.card.GameCardRank;
+import model.move.Move;
+import model.move.MoveResult;
+import model.move.PlayTopOfDeck;
+import model.move.TakePileMove;
+
+public class TableManagerTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	TableManager classUnderTest;
+
+	@Before
+	public void setUp() {
+		classUnderTest = new TableManager(4, GameSimulator::createEngine);
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		classUnderTest.close();
+	}
+
+	@Test
+	public void send_ManyTablesPlayedConcurrently_EveryTableStaysOnOneThreadAndFinishes() {
+
+		int tableCount = 64;
+		List<Long> tables = new ArrayList<Long>();
+		Map<Long, String> threadOfTable = new HashMap<Long, String>();
+
+		for (int i = 0; i < tableCount; i++) {
+			long tableId = classUnderTest.openTable(2, () -> defaultConfig).join();
+			classUnderTest.send(tableId, engine -> {
+				// deal again from a fixed seed so every run plays the same games
+				engine.setRandom(new Random(tableId));
+				engine.initializeNewGame(2, () -> defaultConfig);
+				return null;
+			});
+			classUnderTest.playerDoneSwapping(tableId, 1);
+			classUnderTest.beginPlay(tableId);
+			tables.add(tableId);
+		}
+
+		for (int turn = 0; turn < GameSimulator.DEFAULT_MAX_TURNS && !tables.isEmpty(); turn++) {
+			List<CompletableFuture<String>> results = new ArrayList<CompletableFuture<String>>();
+			for (long tableId : tables) {
+				results.add(classUnderTest.send(tableId, engine -> playTurn(engine)));
+			}
+
+			List<Long> open = new ArrayList<Long>();
+			for (int i = 0; i < tables.size(); i++) {
+				String thread = results.get(i).join();
+				long tableId = tables.get(i);
+				String previous = threadOfTable.put(tableId, thread.substring(1));
+				if (previous != null) assertEquals(previous, thread.substring(1));
+				if (thread.charAt(0) == '+') open.add(tableId);
+			}
+			tables = open;
+		}
+
+		assertTrue(tables.isEmpty());
+		assertEquals(tableCount, threadOfTable.size());
+		assertEquals(classUnderTest.getShardCount(), threadOfTable.values().stream().distinct().count());
+	}
+
+	@Test
+	public void send_ClosedTable_CompletesExceptionally() throws InterruptedException {
+
+		long tableId = classUnderTest.openTable(2, () -> defaultConfig).join();
+
+		assertTrue(classUnderTest.closeTable(tableId).join());
+		assertFalse(classUnderTest.closeTable(tableId).join());
+
+		try {
+			classUnderTest.submitMove(tableId, 1, new TakePileMove("pile", "hand")).get();
+			fail("Expected the move to fail");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalArgumentException);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void openTable_TooFewPlayers_ThrowsBeforeOpening() {
+
+		classUnderTest.openTable(1, () -> defaultConfig);
+	}
+
+	@Test
+	public void openTable_FailingConfigLoader_CompletesExceptionally() throws InterruptedException {
+
+		try {
+			classUnderTest.openTable(2, () -> {
+				throw new IllegalStateException("No rules");
+			}).get();
+			fail("Expected the table not to open");
+		} catch (ExecutionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+	}
+
+	/**
+	 * Plays one turn with a greedy bot.
+	 *
+	 * @return '+' if the game goes on or '-' if it ended, followed by the thread name
+	 */
+	private String playTurn(IIdiotGameEngine engine) {
+		IdiotGameStateFacade state = engine.getCurrentGameState();
+		int player = state.CurrentPlayerTurn();
+
+		MoveResult result = null;
+		for (Move move : new LowestCardBotPolicy().chooseMoves(state, player, defaultConfig, new Random(player))) {
+			result = engine.submitMove(player, move);
+			if (result.isSuccess()) break;
+		}
+		if (result == null || !result.isSuccess()) {
+			result = engine.submitMove(player, state.GetDeck().size() > 0 ? new PlayTopOfDeck("drawCards", "pile") : new TakePileMove("pile", "hand"));
+		}
+
+		boolean ended = !result.isSuccess() || engine.getCurrentGameState().CurrentGamePhase() == GamePhases.GameCompleted;
+		return (ended ? "-" : "+") + Thread.currentThread().getName();
+	}
+}
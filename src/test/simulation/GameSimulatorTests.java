@@ -0,0 +1,76 @@
+package test.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import controller.simulation.GameSimulator;
+import controller.simulation.IBotPolicy;
+import controller.simulation.LowestCardBotPolicy;
+import controller.simulation.RandomBotPolicy;
+import controller.simulation.SimulationReport;
+import model.IdiotGameConfiguration;
+import model.card.GameCardRank;
+
+public class GameSimulatorTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	@Test
+	public void run_TwoGreedyBots_PlaysRequestedNumberOfGames() {
+
+		GameSimulator classUnderTest = new GameSimulator(Arrays.<IBotPolicy>asList(new LowestCardBotPolicy(), new LowestCardBotPolicy()));
+
+		SimulationReport report = classUnderTest.run(defaultConfig, 20);
+
+		assertEquals(20, report.getGamesPlayed());
+		assertEquals(report.getGamesCompleted(), report.getWins(1) + report.getWins(2));
+		assertTrue(report.getMinTurns() > 0);
+	}
+
+	@Test
+	public void run_RandomBotAgainstGreedyBot_RecordsEveryGame() {
+
+		GameSimulator classUnderTest = new GameSimulator(Arrays.<IBotPolicy>asList(new RandomBotPolicy(), new LowestCardBotPolicy()));
+
+		SimulationReport report = classUnderTest.run(defaultConfig, 20);
+
+		assertEquals(20, report.getGamesPlayed());
+		assertEquals(report.getGamesCompleted(), report.getWins(1) + report.getWins(2));
+	}
+
+	@Test
+	public void run_SameSeed_PlaysSameGames() {
+
+		GameSimulator classUnderTest = new GameSimulator(Arrays.<IBotPolicy>asList(new RandomBotPolicy(), new LowestCardBotPolicy()));
+		classUnderTest.setSeed(42);
+
+		SimulationReport first = classUnderTest.run(defaultConfig, 200);
+		SimulationReport second = classUnderTest.run(defaultConfig, 200);
+
+		assertEquals(first.getAverageTurns(), second.getAverageTurns(), 0);
+		assertEquals(first.getMinTurns(), second.getMinTurns());
+		assertEquals(first.getMaxTurns(), second.getMaxTurns());
+		assertEquals(first.getWins(1), second.getWins(1));
+	}
+
+	@Test
+	public void run_FiveGreedyBots_EveryPlayerCanWin() {
+
+		GameSimulator classUnderTest = new GameSimulator(Arrays.<IBotPolicy>asList(new LowestCardBotPolicy(), new LowestCardBotPolicy(),
+				new LowestCardBotPolicy(), new LowestCardBotPolicy(), new LowestCardBotPolicy()));
+		classUnderTest.setSeed(5);
+
+		SimulationReport report = classUnderTest.run(defaultConfig, 200);
+
+		long wins = 0;
+		for (int player = 1; player <= 5; player++) {
+			assertTrue(report.getWins(player) > 0);
+			wins += report.getWins(player);
+		}
+		assertEquals(report.getGamesCompleted(), wins);
+	}
+}
@@ -0,0 +1,77 @@
+package test.simulation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import controller.IdiotGameEngine;
+import controller.simulation.GameSimulator;
+import controller.simulation.IBotPolicy;
+import controller.simulation.InformationSet;
+import controller.simulation.IsmctsBotPolicy;
+import controller.simulation.RandomBotPolicy;
+import controller.simulation.SimulationReport;
+import model.CompactGameState;
+import model.IdiotGameConfiguration;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.Card;
+import model.card.GameCardRank;
+
+public class IsmctsBotPolicyTests {
+
+	IdiotGameConfiguration defaultConfig = new IdiotGameConfiguration(GameCardRank.Two, GameCardRank.Ten, GameCardRank.Five);
+
+	@Test
+	public void determinize_NewGame_KeepsVisibleCardsAndDealsEveryCardOnce() {
+
+		IdiotGameEngine engine = GameSimulator.createEngine();
+		engine.setRandom(new Random(1));
+		engine.initializeNewGame(3, () -> defaultConfig);
+		engine.beginPlay();
+		IdiotGameStateFacade state = engine.getCurrentGameState();
+
+		InformationSet classUnderTest = new InformationSet(state, 1);
+		CompactGameState determinized = new CompactGameState(3);
+		classUnderTest.determinize(new Random(2), determinized, new byte[CompactGameState.DECK_SIZE]);
+
+		long all = determinized.discardedCards;
+		for (int i = 0; i < determinized.drawCount; i++) all |= 1L << determinized.drawCards[i];
+		for (long hand : determinized.hands) all |= hand;
+		for (int index = 0; index < determinized.tableCounts.length; index++) {
+			for (int i = 0; i < determinized.tableCounts[index]; i++) {
+				all |= 1L << determinized.tableCards[index * CompactGameState.TABLE_STACK_CAPACITY + i];
+			}
+		}
+
+		assertEquals((1L << CompactGameState.DECK_SIZE) - 1, all);
+		assertEquals(state.GetDeck().size(), determinized.drawCount);
+		for (IdiotPlayerZoneFacade place : state.getPlayerPlaces()) {
+			int player = place.getPlayerNumber();
+			assertEquals(place.getHand().size(), Long.bitCount(determinized.hands[player - 1]));
+			assertEquals(place.getTableCards2().getTopCard().getOrdinal(), determinized.tableTop(player, 2));
+		}
+		for (Card card : state.getPlayerPlaces().get(0).getHand().getCards()) {
+			assertTrue((determinized.hands[0] & 1L << card.getOrdinal()) != 0);
+		}
+	}
+
+	@Test
+	public void run_AgainstRandomBot_WinsMostGames() {
+
+		IsmctsBotPolicy classUnderTest = new IsmctsBotPolicy(ForkJoinPool.commonPool(), 2);
+		classUnderTest.setMaxIterations(50);
+		GameSimulator simulator = new GameSimulator(Arrays.<IBotPolicy>asList(classUnderTest, new RandomBotPolicy()));
+		simulator.setSeed(11);
+
+		SimulationReport report = simulator.run(defaultConfig, 10);
+
+		assertEquals(10, report.getGamesCompleted());
+		assertTrue(report.getWins(1) >= 8);
+	}
+}
@@ -2,9 +2,11 @@ package test.validators;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -19,6 +21,8 @@ import model.card.CardDeck;
 import model.card.GameCard;
 import model.card.GameCardRank;
 import model.card.GameCardSuit;
+import model.move.PlayMultipleCardsMove;
+import model.move.PlayOneCardMove;
 import model.move.TakePileMove;
 
 public class MoveValidatorTests {
@@ -117,6 +121,35 @@ public class MoveValidatorTests {
 		
 		assertTrue(result.Success);
 	}
+	
+	@Test
+	public void IsValidMove_RepeatedInvalidPlay_ReturnsSameSharedResult() {
 
-}
+		MoveValidator classUnderTest = new MoveValidator();
+		
+		classUnderTest.setState(state);
+		classUnderTest.setConfig(defaultConfig);
+		
+		ValidationResult first = classUnderTest.IsValidMove(new PlayOneCardMove("", "", playerOneNonHandCard));
+		ValidationResult second = classUnderTest.IsValidMove(new PlayOneCardMove("", "", playerOneNonHandCard));
+		
+		assertSame(ValidationResult.NOT_IN_HAND, first);
+		assertSame(first, second);
+		assertSame(first.toFailedMoveResult(), second.toFailedMoveResult());
+		assertEquals(first.ErrorMessage, first.toFailedMoveResult().getMessage());
+	}
+	
+	@Test
+	public void IsValidMove_MultipleCardsMoveRepeatingHandCard_ReturnsRepeatedCards() {
 
+		MoveValidator classUnderTest = new MoveValidator();
+		
+		classUnderTest.setState(state);
+		classUnderTest.setConfig(defaultConfig);
+		
+		ValidationResult result = classUnderTest.IsValidMove(new PlayMultipleCardsMove("", "",
+				Arrays.<Card>asList(GameCard.of("7C"), GameCard.of("7C"))));
+		
+		assertSame(ValidationResult.REPEATED_CARDS, result);
+	}
+}
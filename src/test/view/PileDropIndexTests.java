@@ -0,0 +1,101 @@
+package test.view;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import view.PileDropIndex;
+
+public class PileDropIndexTests {
+
+	@Test
+	public void nearest_LargeLayout_MatchesDistanceToEveryPile() {
+
+		PileDropIndex<String> classUnderTest = new PileDropIndex<String>(130, 180);
+		Map<String, double[]> zones = layout(40);
+		zones.forEach((pile, zone) -> classUnderTest.update(pile, zone[0], zone[1], zone[2], zone[3]));
+
+		Random random = new Random(7);
+		for (int i = 0; i < 2000; i++) {
+			double x = random.nextDouble() * 12000 - 1000;
+			double y = random.nextDouble() * 2400 - 500;
+			assertEquals(bruteForce(zones, x, y), classUnderTest.nearest(x, y));
+		}
+	}
+
+	@Test
+	public void update_PileRestacked_MovesItsDropZone() {
+
+		PileDropIndex<String> classUnderTest = new PileDropIndex<String>(130, 180);
+		classUnderTest.update("hand", 0, 0, 130, 180);
+		classUnderTest.update("pile", 400, 0, 530, 180);
+
+		assertEquals("hand", classUnderTest.nearest(250, 90));
+
+		classUnderTest.update("hand", 0, 0, 330, 180);
+
+		assertEquals("hand", classUnderTest.nearest(300, 90));
+		assertEquals("hand", classUnderTest.nearest(320, 90));
+
+		classUnderTest.update("hand", 0, 0, 130, 180);
+
+		assertEquals("pile", classUnderTest.nearest(300, 90));
+		assertEquals("pile", classUnderTest.nearest(320, 90));
+	}
+
+	@Test
+	public void remove_OnlyPile_FindsNothing() {
+
+		PileDropIndex<String> classUnderTest = new PileDropIndex<String>(130, 180);
+		classUnderTest.update("deck", -50, -50, 80, 130);
+
+		classUnderTest.remove("deck");
+
+		assertNull(classUnderTest.nearest(0, 0));
+
+		classUnderTest.update("pile", 400, 0, 530, 180);
+
+		assertEquals("pile", classUnderTest.nearest(0, 0));
+	}
+
+	/**
+	 * Hand and three foundations for each player in a row, each with a random number of cards
+	 */
+	private static Map<String, double[]> layout(int players) {
+		Random random = new Random(players);
+		Map<String, double[]> zones = new LinkedHashMap<String, double[]>();
+		for (int player = 1; player <= players; player++) {
+			double x = (player - 1) % 20 * 500;
+			double y = (player - 1) / 20 * 700;
+			int cards = random.nextInt(30) + 1;
+			double gap = cards > 10 ? 15 : 30;
+			zones.put("p" + player + "Hand", new double[] {x, y + 250, x + 130 + (cards - 1) * gap, y + 430});
+			for (int foundation = 1; foundation <= 3; foundation++) {
+				double fx = x + (foundation - 1) * 140;
+				zones.put("p" + player + "Foundation" + foundation, new double[] {fx, y, fx + 130, y + 180 + random.nextInt(2) * 5});
+			}
+		}
+		return zones;
+	}
+
+	private static String bruteForce(Map<String, double[]> zones, double x, double y) {
+		String best = null;
+		double bestDistance = Double.MAX_VALUE;
+		for (Map.Entry<String, double[]> entry : zones.entrySet()) {
+			double[] zone = entry.getValue();
+			double dx = Math.max(Math.max(zone[0] - x, 0), x - zone[2]);
+			double dy = Math.max(Math.max(zone[1] - y, 0), y - zone[3]);
+			double distance = Math.hypot(dx, dy);
+			if (distance < bestDistance) {
+				best = entry.getKey();
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+}
@@ -0,0 +1,441 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
+
+import javafx.animation.AnimationTimer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import controller.IGameStateChangeListener;
+import controller.IIdiotGameEngine;
+import model.IdiotGameStateFacade;
+import model.IdiotPlayerZoneFacade;
+import model.card.Card;
+import model.move.GameStateChange;
+
+/**
+ * Draws a whole game board onto a single {@link Canvas}, as a lighter alternative to
+ * {@link GameBoard} for showing many tables at once, e.g. on a spectator wall. There
+ * is no node per card: each pulse, the latest snapshot of the game state is compared
+ * with the one drawn before, and only the regions of the piles whose cards changed are
+ * cleared and drawn again, in one pass. Snapshots share the card lists that did not
+ * change, so finding the changed piles is a comparison of references.
+ *
+ * Snapshots may be handed over from any thread, so a board can follow an engine
+ * that runs on a table's shard. Clicks are resolved to a pile and card from the pile
+ * layout, without any event handlers on the cards.
+ */
+public class CanvasGameBoard extends Canvas implements IGameStateChangeListener {
+
+	public static final double CARD_WIDTH = 130;
+	public static final double CARD_HEIGHT = 180;
+
+	/**
+	 * Dirty regions merged into one once there are more than this many
+	 */
+	private static final int MAX_DIRTY_REGIONS = 8;
+
+	/**
+	 * Piles in the order they are drawn
+	 */
+	private final List<PileSlot> piles = new ArrayList<>();
+
+	/**
+	 * Engine followed as a listener, or null if snapshots are handed over with
+	 * {@link #show(IdiotGameStateFacade)}
+	 */
+	private final IIdiotGameEngine engine;
+
+	/**
+	 * Latest snapshot handed over, not drawn yet
+	 */
+	private final AtomicReference<IdiotGameStateFacade> pendingState = new AtomicReference<>();
+
+	/**
+	 * Snapshot last drawn
+	 */
+	private IdiotGameStateFacade drawnState;
+
+	/**
+	 * Regions to draw again on the next pulse
+	 */
+	private final List<Rectangle2D> dirtyRegions = new ArrayList<>();
+
+	private CardTheme cardTheme;
+
+	private Paint tableFill = Color.DARKGREEN;
+
+	private BiConsumer<String, Card> onCardClicked;
+
+	private final AnimationTimer pulse = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			redraw();
+		}
+	};
+
+	/**
+	 * Constructs a board that follows an engine. Listening starts straight away
+	 * and the engine's current state is drawn on the first pulse.
+	 *
+	 * @param width Width of the canvas
+	 * @param height Height of the canvas
+	 * @param layout Piles as loaded from the game board configuration; only their
+	 *            ids, positions and gaps are used
+	 * @param engine Engine to follow, or null to hand over snapshots with
+	 *            {@link #show(IdiotGameStateFacade)}
+	 */
+	public CanvasGameBoard(double width, double height, List<CardPileView> layout, IIdiotGameEngine engine) {
+		super(width, height);
+		this.engine = engine;
+		this.cardTheme = CardViewFactory.getCardTheme();
+		for (CardPileView pileView : layout) {
+			piles.add(new PileSlot(pileView));
+		}
+
+		setOnMouseClicked(e -> {
+			String zoneId = getPileAt(e.getX(), e.getY());
+			if (onCardClicked != null && zoneId != null) {
+				onCardClicked.accept(zoneId, getCardAt(e.getX(), e.getY()));
+			}
+		});
+
+		markAllDirty();
+		if (engine != null) {
+			engine.addStateChangeListener(this);
+			show(engine.getCurrentGameState());
+		}
+		pulse.start();
+	}
+
+	/**
+	 * Hands over a snapshot to draw on the next pulse. May be called from any
+	 * thread; only the latest snapshot handed over before a pulse is drawn.
+	 *
+	 * @param state Snapshot of the game state
+	 */
+	public void show(IdiotGameStateFacade state) {
+		pendingState.set(state);
+	}
+
+	/**
+	 * Shows the engine's state after the change. Called on the engine's thread.
+	 */
+	@Override
+	public void stateChanged(GameStateChange change) {
+		show(engine.getCurrentGameState());
+	}
+
+	/**
+	 * Stops drawing. The engine keeps the board as a listener, so a board that is
+	 * no longer shown should be dropped together with its engine.
+	 */
+	public void dispose() {
+		pulse.stop();
+	}
+
+	/**
+	 * @param cardTheme Theme to draw the cards with
+	 */
+	public void setCardTheme(CardTheme cardTheme) {
+		this.cardTheme = cardTheme;
+		markAllDirty();
+	}
+
+	/**
+	 * @param tableFill Paint for the table, e.g. an image pattern of the felt
+	 */
+	public void setTableFill(Paint tableFill) {
+		this.tableFill = tableFill;
+		markAllDirty();
+	}
+
+	/**
+	 * @param onCardClicked Receives the id of the clicked pile in the game state
+	 *            and the clicked card, or null for a face down card of the
+	 *            draw cards or an empty pile
+	 */
+	public void setOnCardClicked(BiConsumer<String, Card> onCardClicked) {
+		this.onCardClicked = onCardClicked;
+	}
+
+	/**
+	 * @param x X coordinate on the canvas
+	 * @param y Y coordinate on the canvas
+	 * @return Id in the game state of the topmost pile at the point, or null
+	 */
+	public String getPileAt(double x, double y) {
+		PileSlot pile = pileAt(x, y);
+		return pile == null ? null : pile.zoneId;
+	}
+
+	/**
+	 * @param x X coordinate on the canvas
+	 * @param y Y coordinate on the canvas
+	 * @return Topmost card at the point, or null if there is none or it is a card
+	 *         of the draw cards
+	 */
+	public Card getCardAt(double x, double y) {
+		PileSlot pile = pileAt(x, y);
+		if (pile == null) {
+			return null;
+		}
+		for (int i = pile.count - 1; i >= 0; i--) {
+			double cardX = pile.x + i * pile.gapHorizontal();
+			double cardY = pile.y + i * pile.gapVertical();
+			if (x >= cardX && x < cardX + CARD_WIDTH && y >= cardY && y < cardY + CARD_HEIGHT) {
+				return i < pile.cards.size() ? pile.cards.get(i) : null;
+			}
+		}
+		return null;
+	}
+
+	private PileSlot pileAt(double x, double y) {
+		for (int i = piles.size() - 1; i >= 0; i--) {
+			if (piles.get(i).bounds.contains(x, y)) {
+				return piles.get(i);
+			}
+		}
+		return null;
+	}
+
+	private void markAllDirty() {
+		dirtyRegions.clear();
+		dirtyRegions.add(new Rectangle2D(0, 0, getWidth(), getHeight()));
+	}
+
+	private void markDirty(Rectangle2D region) {
+		dirtyRegions.add(region);
+		if (dirtyRegions.size() > MAX_DIRTY_REGIONS) {
+			Rectangle2D union = dirtyRegions.get(0);
+			for (Rectangle2D dirty : dirtyRegions) {
+				union = union(union, dirty);
+			}
+			dirtyRegions.clear();
+			dirtyRegions.add(union);
+		}
+	}
+
+	private static Rectangle2D union(Rectangle2D a, Rectangle2D b) {
+		double minX = Math.min(a.getMinX(), b.getMinX());
+		double minY = Math.min(a.getMinY(), b.getMinY());
+		return new Rectangle2D(minX, minY, Math.max(a.getMaxX(), b.getMaxX()) - minX, Math.max(a.getMaxY(), b.getMaxY()) - minY);
+	}
+
+	/**
+	 * Takes over the latest snapshot and draws the regions that changed. Runs
+	 * once per pulse on the JavaFX thread.
+	 */
+	private void redraw() {
+		IdiotGameStateFacade state = pendingState.getAndSet(null);
+		if (state != null && state != drawnState) {
+			for (PileSlot pile : piles) {
+				Rectangle2D before = pile.bounds;
+				if (pile.update(state)) {
+					markDirty(union(before, pile.bounds));
+				}
+			}
+			drawnState = state;
+		}
+		if (dirtyRegions.isEmpty() || cardTheme == null) {
+			return;
+		}
+
+		GraphicsContext gc = getGraphicsContext2D();
+		List<Rectangle2D> regions = new ArrayList<>(dirtyRegions);
+		dirtyRegions.clear();
+		boolean loading = false;
+
+		for (Rectangle2D region : regions) {
+			gc.save();
+			gc.beginPath();
+			gc.rect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+			gc.clip();
+			gc.setFill(tableFill);
+			gc.fillRect(region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight());
+			for (PileSlot pile : piles) {
+				if (pile.bounds.intersects(region)) {
+					loading |= drawPile(gc, pile);
+				}
+			}
+			gc.restore();
+		}
+
+		// cards still decoding in the background are drawn again once they are ready
+		if (loading) {
+			dirtyRegions.addAll(regions);
+		}
+	}
+
+	/**
+	 * @return true if an image of the pile is still loading
+	 */
+	private boolean drawPile(GraphicsContext gc, PileSlot pile) {
+		gc.setFill(Color.gray(0.0, 0.2));
+		gc.fillRect(pile.x, pile.y, CARD_WIDTH, CARD_HEIGHT);
+
+		boolean loading = false;
+		for (int i = 0; i < pile.count; i++) {
+			double cardX = pile.x + i * pile.gapHorizontal();
+			double cardY = pile.y + i * pile.gapVertical();
+			Card card = i < pile.cards.size() ? pile.cards.get(i) : null;
+
+			Image image;
+			Rectangle2D viewport = null;
+			if (card != null && pile.isFaceUp(i)) {
+				image = cardTheme.getFrontFace(card.getId());
+				viewport = cardTheme.getFrontViewport(card.getId());
+			} else {
+				image = cardTheme.getBackFace();
+			}
+			if (image == null) {
+				continue;
+			}
+			loading |= image.getProgress() < 1;
+
+			if (viewport == null) {
+				gc.drawImage(image, cardX, cardY, CARD_WIDTH, CARD_HEIGHT);
+			} else {
+				gc.drawImage(image, viewport.getMinX(), viewport.getMinY(), viewport.getWidth(), viewport.getHeight(),
+						cardX, cardY, CARD_WIDTH, CARD_HEIGHT);
+			}
+		}
+		return loading;
+	}
+
+	/**
+	 * A pile of the layout and the cards last drawn on it. Cards are laid out
+	 * like {@link InputManager#restack(CardPileView)} does, with the gaps halved
+	 * once a pile holds more than 10 cards.
+	 */
+	private static class PileSlot {
+
+		final String layoutId;
+		final double x;
+		final double y;
+		final double cardGapHorizontal;
+		final double cardGapVertical;
+
+		/**
+		 * Id of the pile in the game state
+		 */
+		String zoneId;
+
+		/**
+		 * Cards of the pile, empty for the draw cards whose faces are not known
+		 */
+		List<Card> cards = Collections.emptyList();
+
+		int count;
+
+		/**
+		 * Whether the pile is a hand that is shown face up
+		 */
+		boolean handShown;
+
+		Rectangle2D bounds;
+
+		PileSlot(CardPileView pileView) {
+			layoutId = pileView.getShortID();
+			zoneId = layoutId;
+			x = pileView.getInitialX();
+			y = pileView.getInitialY();
+			cardGapHorizontal = pileView.getCardGapHorizontal();
+			cardGapVertical = pileView.getCardGapVertical();
+			bounds = measure();
+		}
+
+		double gapHorizontal() {
+			return count > 10 ? cardGapHorizontal / 2 : cardGapHorizontal;
+		}
+
+		double gapVertical() {
+			return count > 10 ? cardGapVertical / 2 : cardGapVertical;
+		}
+
+		Rectangle2D measure() {
+			int shown = Math.max(count, 1);
+			return new Rectangle2D(x, y, CARD_WIDTH + (shown - 1) * gapHorizontal(), CARD_HEIGHT + (shown - 1) * gapVertical());
+		}
+
+		/**
+		 * The hand of the player whose turn it is and the waste are face up. A table
+		 * stack shows its top card while there is a face down card under it.
+		 */
+		boolean isFaceUp(int index) {
+			String id = layoutId.toLowerCase();
+			if (id.contains("hand")) {
+				return handShown;
+			} else if (id.contains("foundation")) {
+				return index == count - 1 && count > 1;
+			}
+			return id.contains("waste");
+		}
+
+		/**
+		 * Takes the cards of the pile from the snapshot.
+		 *
+		 * @return true if the pile looks different
+		 */
+		boolean update(IdiotGameStateFacade state) {
+			String id = layoutId.toLowerCase();
+			List<Card> newCards = Collections.emptyList();
+			int newCount;
+			boolean newHandShown = false;
+
+			if (id.contains("deck")) {
+				zoneId = state.GetDrawCardsId();
+				newCount = state.GetDeck().size();
+			} else if (id.contains("waste")) {
+				zoneId = state.GetPileId();
+				newCards = state.GetPile().getCards();
+				newCount = newCards.size();
+			} else {
+				int playerNumber = playerNumberOf(layoutId);
+				if (playerNumber > state.getPlayerPlaces().size()) {
+					return false;
+				}
+				IdiotPlayerZoneFacade place = state.getPlayerPlaces().get(playerNumber - 1);
+				if (id.contains("hand")) {
+					newCards = place.getHand().getCards();
+					newHandShown = playerNumber == state.CurrentPlayerTurn();
+				} else if (id.endsWith("1")) {
+					newCards = place.getAllTableCards1();
+				} else if (id.endsWith("2")) {
+					newCards = place.getAllTableCards2();
+				} else {
+					newCards = place.getAllTableCards3();
+				}
+				newCount = newCards.size();
+			}
+
+			if (newCards == cards && newCount == count && newHandShown == handShown) {
+				return false;
+			}
+			cards = newCards;
+			count = newCount;
+			handShown = newHandShown;
+			bounds = measure();
+			return true;
+		}
+
+		/**
+		 * @param id Player pile id, like p1Hand or p2Foundation3
+		 * @return Number of the player owning the pile
+		 */
+		static int playerNumberOf(String id) {
+			int end = 1;
+			while (end < id.length() && Character.isDigit(id.charAt(end))) {
+				end++;
+			}
+			return Integer.parseInt(id.substring(1, end));
+		}
+	}
+}
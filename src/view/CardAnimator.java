@@ -0,0 +1,350 @@
+package view;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.animation.AnimationTimer;
+import javafx.animation.Interpolator;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.scene.effect.DropShadow;
+import javafx.util.Duration;
+
+/**
+ * Schedules the card animations of a board. Card moves and fades asked for during
+ * one frame are collected and started on the next pulse as a single {@link Timeline},
+ * instead of one transition per card. A slide sets the card at its source straight
+ * away and animates its translation back to zero, so the card has to be laid out at
+ * its target before it is scheduled. The timeline only drives the time of its batch;
+ * every card is moved from that time, so one card can be completed on its own while
+ * the rest of its batch keeps moving.
+ *
+ * The number of cards animated at once is capped: the oldest timelines are
+ * fast-forwarded to make room for new ones. Everything is fast-forwarded when frames
+ * are dropped, and nothing is animated at all while animations are disabled.
+ */
+public class CardAnimator {
+
+	/**
+	 * Default maximum of cards animated at the same time
+	 */
+	public static final int DEFAULT_MAX_CARDS_IN_FLIGHT = 64;
+
+	/**
+	 * Time between two pulses (in nanoseconds) after which the board counts as
+	 * loaded and all animations are fast-forwarded
+	 */
+	private static final long LOADED_PULSE_GAP = 200_000_000L;
+
+	private boolean enabled = true;
+
+	private int maxCardsInFlight = DEFAULT_MAX_CARDS_IN_FLIGHT;
+
+	/**
+	 * Motions asked for since the last pulse
+	 */
+	private final List<Motion> pending = new ArrayList<>();
+
+	/**
+	 * Running timelines, oldest first
+	 */
+	private final Deque<Batch> running = new ArrayDeque<>();
+
+	/**
+	 * Latest slide of each card, pending or running
+	 */
+	private final Map<CardView, Motion> slides = new HashMap<>();
+
+	private int cardsInFlight;
+
+	private long lastPulse;
+
+	private final AnimationTimer pulse = new AnimationTimer() {
+		@Override
+		public void handle(long now) {
+			onPulse(now);
+		}
+	};
+
+	/**
+	 * Slides a card from a point to where it is laid out. A slide of the same card that
+	 * is still pending or running is completed first, without touching other cards.
+	 * @param card Card view, already laid out at its target
+	 * @param sourceX X coordinate to slide from
+	 * @param sourceY Y coordinate to slide from
+	 * @param duration Duration of the slide
+	 * @param doAfter Action to perform once the card arrived, or null
+	 */
+	public void slide(CardView card, double sourceX, double sourceY, Duration duration, Runnable doAfter) {
+		Motion previous = slides.get(card);
+		if (previous != null) {
+			pending.remove(previous);
+			complete(previous);
+		}
+
+		card.setTranslateX(sourceX - card.getLayoutX());
+		card.setTranslateY(sourceY - card.getLayoutY());
+		Motion motion = new Motion(card, false, Duration.ZERO, duration, doAfter);
+		slides.put(card, motion);
+		schedule(motion);
+	}
+
+	/**
+	 * Fades a card out
+	 * @param card Card view
+	 * @param delay Time to wait before fading
+	 * @param duration Duration of the fade
+	 * @param doAfter Action to perform once the card is faded out, or null
+	 */
+	public void fadeOut(CardView card, Duration delay, Duration duration, Runnable doAfter) {
+		schedule(new Motion(card, true, delay, duration, doAfter));
+	}
+
+	/**
+	 * @return Whether cards are animated
+	 */
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Turns animations on or off. Turning them off finishes the running ones.
+	 * @param enabled Whether cards are animated
+	 */
+	public void setEnabled(boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			finishAll();
+		}
+	}
+
+	/**
+	 * @param maxCardsInFlight Maximum of cards animated at the same time
+	 */
+	public void setMaxCardsInFlight(int maxCardsInFlight) {
+		this.maxCardsInFlight = maxCardsInFlight;
+	}
+
+	/**
+	 * Fast-forwards all pending and running animations to their end
+	 */
+	public void finishAll() {
+		while (!running.isEmpty()) {
+			running.peekFirst().finish();
+		}
+		List<Motion> motions = new ArrayList<>(pending);
+		pending.clear();
+		motions.forEach(this::complete);
+	}
+
+	private void schedule(Motion motion) {
+		if (!enabled) {
+			complete(motion);
+			return;
+		}
+		pending.add(motion);
+		pulse.start();
+	}
+
+	private void onPulse(long now) {
+		boolean loaded = lastPulse != 0 && now - lastPulse > LOADED_PULSE_GAP;
+		lastPulse = now;
+
+		if (loaded) {
+			finishAll();
+		} else if (!pending.isEmpty()) {
+			start();
+		}
+
+		if (pending.isEmpty() && running.isEmpty()) {
+			pulse.stop();
+			lastPulse = 0;
+		}
+	}
+
+	/**
+	 * Starts the pending motions as one timeline, making room for them first
+	 */
+	private void start() {
+		List<Motion> motions = new ArrayList<>(pending);
+		pending.clear();
+
+		while (!running.isEmpty() && cardsInFlight + motions.size() > maxCardsInFlight) {
+			running.peekFirst().finish();
+		}
+		if (motions.size() > maxCardsInFlight) {
+			List<Motion> overflow = motions.subList(0, motions.size() - maxCardsInFlight);
+			overflow.forEach(this::complete);
+			overflow.clear();
+		}
+
+		Duration length = Duration.ZERO;
+		for (Motion motion : motions) {
+			motion.begin();
+			length = Duration.millis(Math.max(length.toMillis(), motion.delay.add(motion.duration).toMillis()));
+		}
+		Batch batch = new Batch(motions, length);
+		motions.forEach(motion -> motion.batch = batch);
+
+		running.addLast(batch);
+		cardsInFlight += motions.size();
+		batch.timeline.play();
+	}
+
+	/**
+	 * Moves a card to where its motion is at the given time of its batch
+	 */
+	private void step(Motion motion, double millis) {
+		double fraction = (millis - motion.delay.toMillis()) / motion.duration.toMillis();
+		if (!(fraction < 1)) {
+			complete(motion);
+			return;
+		}
+		if (fraction < 0) {
+			return;
+		}
+
+		CardView card = motion.card;
+		if (motion.fade) {
+			card.setOpacity(Interpolator.LINEAR.interpolate(motion.fromOpacity, 0, fraction));
+		} else {
+			card.setTranslateX(Interpolator.EASE_OUT.interpolate(motion.fromX, 0, fraction));
+			card.setTranslateY(Interpolator.EASE_OUT.interpolate(motion.fromY, 0, fraction));
+			if (motion.shadow != null) {
+				motion.shadow.setOffsetX(Interpolator.EASE_OUT.interpolate(motion.fromOffsetX, 0, fraction));
+				motion.shadow.setOffsetY(Interpolator.EASE_OUT.interpolate(motion.fromOffsetY, 0, fraction));
+				motion.shadow.setRadius(Interpolator.EASE_OUT.interpolate(motion.fromRadius, 2, fraction));
+			}
+		}
+	}
+
+	/**
+	 * Sets a card to where its motion ends and performs the action after it
+	 */
+	private void complete(Motion motion) {
+		if (motion.done) {
+			return;
+		}
+		motion.done = true;
+
+		CardView card = motion.card;
+		if (motion.fade) {
+			card.setOpacity(0);
+		} else {
+			card.setTranslateX(0);
+			card.setTranslateY(0);
+			card.setResting();
+			slides.remove(card, motion);
+		}
+		if (motion.batch != null) {
+			cardsInFlight--;
+			if (--motion.batch.remaining == 0) {
+				motion.batch.finish();
+			}
+		}
+		if (motion.doAfter != null) {
+			motion.doAfter.run();
+		}
+	}
+
+	/**
+	 * A slide or fade of one card
+	 */
+	private static class Motion {
+
+		final CardView card;
+		final boolean fade;
+		final Duration delay;
+		final Duration duration;
+		final Runnable doAfter;
+
+		Batch batch;
+		boolean done;
+
+		double fromX;
+		double fromY;
+		double fromOpacity;
+
+		/**
+		 * Shadow lowered along with the slide, or null when the card is not lifted
+		 */
+		DropShadow shadow;
+		double fromOffsetX;
+		double fromOffsetY;
+		double fromRadius;
+
+		Motion(CardView card, boolean fade, Duration delay, Duration duration, Runnable doAfter) {
+			this.card = card;
+			this.fade = fade;
+			this.delay = delay;
+			this.duration = duration;
+			this.doAfter = doAfter;
+		}
+
+		/**
+		 * Remembers where the card starts from
+		 */
+		void begin() {
+			if (fade) {
+				fromOpacity = card.getOpacity();
+				return;
+			}
+			fromX = card.getTranslateX();
+			fromY = card.getTranslateY();
+			// only a lifted card has a shadow of its own to lower
+			if (card.isLifted()) {
+				shadow = card.getDropShadow();
+				fromOffsetX = shadow.getOffsetX();
+				fromOffsetY = shadow.getOffsetY();
+				fromRadius = shadow.getRadius();
+			}
+		}
+	}
+
+	/**
+	 * The motions started on one pulse and the timeline driving their time
+	 */
+	private class Batch {
+
+		final List<Motion> motions;
+		final DoubleProperty elapsed = new SimpleDoubleProperty();
+		final Timeline timeline;
+
+		/**
+		 * Motions not completed yet
+		 */
+		int remaining;
+
+		Batch(List<Motion> motions, Duration length) {
+			this.motions = motions;
+			this.remaining = motions.size();
+			timeline = new Timeline(new KeyFrame(length, new KeyValue(elapsed, length.toMillis())));
+			elapsed.addListener((observable, oldMillis, millis) -> {
+				for (Motion motion : motions) {
+					if (!motion.done) {
+						step(motion, millis.doubleValue());
+					}
+				}
+			});
+			timeline.setOnFinished(e -> finish());
+		}
+
+		/**
+		 * Stops the timeline and completes the motions it has not finished yet
+		 */
+		void finish() {
+			if (!running.remove(this)) {
+				return;
+			}
+			timeline.stop();
+			motions.forEach(CardAnimator.this::complete);
+		}
+	}
+}
@@ -0,0 +1,124 @@
+package view;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import model.card.GameCard;
+import model.card.GameCardRank;
+import model.card.GameCardSuit;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Map;
+import javax.imageio.ImageIO;
+
+/**
+ * Build step that packs the front faces of each card theme into one atlas image, so a
+ * theme is a single texture that every {@link CardView} shows a part of.
+ *
+ * For every theme directory under <code>cardfaces</code> holding a
+ * <code>theme.json</code>, the faces are laid out one suit per row in rank order and
+ * written to <code>atlas.png</code>, next to an <code>atlas.json</code> manifest that
+ * holds the path of the atlas and the <code>[x, y, width, height]</code> of every card
+ * in it. {@link CardTheme} uses the atlas of a theme whenever it finds the manifest.
+ */
+public class CardAtlasPacker {
+
+  /**
+   * Name of the atlas image in a theme directory.
+   */
+  public static final String ATLAS_IMAGE = "atlas.png";
+
+  /**
+   * Name of the atlas manifest in a theme directory.
+   */
+  public static final String ATLAS_MANIFEST = "atlas.json";
+
+  /**
+   * Packs every theme: <code>CardAtlasPacker [resources directory]</code>, by default
+   * <code>resources</code>. Run it again whenever a card face changes.
+   *
+   * @param args Command line arguments.
+   * @throws IOException If a theme cannot be read or its atlas written.
+   */
+  public static void main(String[] args) throws IOException {
+    File resources = new File(args.length > 0 ? args[0] : "resources");
+    File[] themes = new File(resources, "cardfaces").listFiles();
+    if (themes == null) {
+      throw new IOException("No cardfaces directory in " + resources);
+    }
+
+    for (File theme : themes) {
+      if (new File(theme, "theme.json").isFile()) {
+        pack(resources, theme);
+        System.out.println("Packed " + theme);
+      }
+    }
+  }
+
+  /**
+   * Packs the front faces of one theme into its atlas and writes the manifest.
+   *
+   * @param resources The resources directory the image paths of the theme are relative to.
+   * @param theme     The theme directory.
+   * @throws IOException If the theme cannot be read or its atlas written.
+   */
+  public static void pack(File resources, File theme) throws IOException {
+    Gson gson = new GsonBuilder().setPrettyPrinting().create();
+
+    JsonObject jo;
+    try (Reader reader = new FileReader(new File(theme, "theme.json"))) {
+      jo = gson.fromJson(reader, JsonObject.class);
+    }
+
+    int columns = GameCardRank.values().length;
+    int cellWidth = 0;
+    int cellHeight = 0;
+    int rows = 0;
+    BufferedImage[] faces = new BufferedImage[GameCardSuit.values().length * columns];
+    for (Map.Entry<String, JsonElement> elem : jo.entrySet()) {
+      BufferedImage face = ImageIO.read(new File(resources, elem.getValue().getAsString()));
+      int ordinal = GameCard.of(elem.getKey()).getOrdinal();
+      faces[ordinal] = face;
+      cellWidth = Math.max(cellWidth, face.getWidth());
+      cellHeight = Math.max(cellHeight, face.getHeight());
+      rows = Math.max(rows, ordinal / columns + 1);
+    }
+
+    BufferedImage atlas = new BufferedImage(columns * cellWidth, rows * cellHeight, BufferedImage.TYPE_INT_ARGB);
+    Graphics2D graphics = atlas.createGraphics();
+    JsonObject cards = new JsonObject();
+    for (Map.Entry<String, JsonElement> elem : jo.entrySet()) {
+      int ordinal = GameCard.of(elem.getKey()).getOrdinal();
+      BufferedImage face = faces[ordinal];
+      int x = ordinal % columns * cellWidth;
+      int y = ordinal / columns * cellHeight;
+      graphics.drawImage(face, x, y, null);
+
+      JsonArray bounds = new JsonArray();
+      for (int value : new int[] {x, y, face.getWidth(), face.getHeight()}) {
+        bounds.add(gson.toJsonTree(value));
+      }
+      cards.add(elem.getKey(), bounds);
+    }
+    graphics.dispose();
+
+    ImageIO.write(atlas, "png", new File(theme, ATLAS_IMAGE));
+
+    JsonObject manifest = new JsonObject();
+    manifest.addProperty("image", "/cardfaces/" + theme.getName() + "/" + ATLAS_IMAGE);
+    manifest.add("cards", cards);
+    try (Writer writer = new FileWriter(new File(theme, ATLAS_MANIFEST))) {
+      gson.toJson(manifest, writer);
+    }
+  }
+
+}
@@ -0,0 +1,224 @@
+package view;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Cache of the card images of every {@link CardTheme}.
+ *
+ * Images are created with background loading, so asking for one never blocks the
+ * JavaFX thread: the {@link Image} is handed out straight away and is decoded on the
+ * toolkit's background threads, many at a time, showing up in its views once it is
+ * ready. Every image path is only loaded once and the same {@link Image} is shared by
+ * all themes and boards that show it. A theme packed by {@link CardAtlasPacker} is
+ * loaded as its one atlas image, with a viewport into it for every card.
+ *
+ * Themes are kept in least recently used order. Once the decoded images take up more
+ * than the memory budget, the least recently used themes are dropped from the cache,
+ * never the one asked for last. Images only count once they are decoded, so the
+ * budget is checked again every time an image finishes loading. Views still showing a dropped image keep it until they
+ * are given another one.
+ */
+public class CardImageCache {
+
+  /**
+   * Default memory budget in bytes, enough for a few themes.
+   */
+  public static final long DEFAULT_MEMORY_BUDGET = 64L << 20;
+
+  /**
+   * The cache shared by all themes and boards.
+   */
+  private static final CardImageCache shared = new CardImageCache(DEFAULT_MEMORY_BUDGET);
+
+  /**
+   * Bytes the decoded images may take up before themes are dropped.
+   */
+  private final long memoryBudget;
+
+  /**
+   * Images by path.
+   */
+  private final Map<String, Image> images = new HashMap<>();
+
+  /**
+   * Front faces of each theme, by theme file, least recently used first.
+   */
+  private final LinkedHashMap<String, Faces> themes = new LinkedHashMap<>(16, 0.75f, true);
+
+  /**
+   * Constructs an empty <code>CardImageCache</code>.
+   *
+   * @param memoryBudget Bytes the decoded images may take up.
+   */
+  public CardImageCache(long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+  }
+
+  /**
+   * Returns the cache shared by all themes and boards.
+   *
+   * @return The shared <code>CardImageCache</code>.
+   */
+  public static CardImageCache getShared() {
+    return shared;
+  }
+
+  /**
+   * Returns the {@link Image} for the path, starting to load it if it is not cached.
+   *
+   * @param path Path to the image file.
+   * @return The {@link Image}, which may still be loading.
+   */
+  public synchronized Image getImage(String path) {
+    Image image = images.get(path);
+    if (image == null) {
+      image = new Image(path, true);
+      image.progressProperty().addListener((observable, oldProgress, progress) -> {
+        if (progress.doubleValue() >= 1) {
+          imageLoaded();
+        }
+      });
+      images.put(path, image);
+    }
+    return image;
+  }
+
+  /**
+   * Drops themes if the image that finished loading took the cache over its budget.
+   */
+  private synchronized void imageLoaded() {
+    evict();
+  }
+
+  /**
+   * Returns the front faces of a theme, parsing the theme file and starting to load
+   * its images if the theme is not cached. All faces of a packed theme are the same
+   * atlas {@link Image}.
+   *
+   * @param themeFile Path to the theme json file.
+   * @return Unmodifiable map of the front face {@link Image} objects by card id.
+   */
+  public synchronized Map<String, Image> getFrontFaces(String themeFile) {
+    return getTheme(themeFile).images;
+  }
+
+  /**
+   * Returns where each card is in the atlas of a theme.
+   *
+   * @param themeFile Path to the theme json file.
+   * @return Unmodifiable map of the viewports by card id, empty if the theme is not
+   *         packed into an atlas.
+   */
+  public synchronized Map<String, Rectangle2D> getFrontViewports(String themeFile) {
+    return getTheme(themeFile).viewports;
+  }
+
+  private Faces getTheme(String themeFile) {
+    Faces faces = themes.get(themeFile);
+    if (faces != null) {
+      return faces;
+    }
+
+    Map<String, Image> images = new HashMap<>();
+    Map<String, Rectangle2D> viewports = new HashMap<>();
+    String atlasFile = themeFile.substring(0, themeFile.lastIndexOf('/') + 1) + CardAtlasPacker.ATLAS_MANIFEST;
+    JsonObject atlas = readJson(atlasFile);
+
+    if (atlas != null) {
+      Image image = getImage(atlas.get("image").getAsString());
+      for (Map.Entry<String, JsonElement> elem : atlas.getAsJsonObject("cards").entrySet()) {
+        JsonArray bounds = elem.getValue().getAsJsonArray();
+        images.put(elem.getKey(), image);
+        viewports.put(elem.getKey(), new Rectangle2D(bounds.get(0).getAsDouble(), bounds.get(1).getAsDouble(),
+            bounds.get(2).getAsDouble(), bounds.get(3).getAsDouble()));
+      }
+    } else {
+      for (Map.Entry<String, JsonElement> elem : readJson(themeFile).entrySet()) {
+        images.put(elem.getKey(), getImage(elem.getValue().getAsString()));
+      }
+    }
+
+    faces = new Faces(Collections.unmodifiableMap(images), Collections.unmodifiableMap(viewports));
+    themes.put(themeFile, faces);
+
+    evict();
+    return faces;
+  }
+
+  /**
+   * Reads a json resource.
+   *
+   * @param path Path to the json file.
+   * @return The parsed object, or null if there is no such resource.
+   */
+  private JsonObject readJson(String path) {
+    InputStream in = getClass().getResourceAsStream(path);
+    if (in == null) {
+      return null;
+    }
+
+    Gson gson = new Gson();
+
+    BufferedReader br
+        = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")));
+
+    return gson.fromJson(br, JsonObject.class);
+  }
+
+  /**
+   * Returns the bytes taken up by the images decoded so far.
+   *
+   * @return The bytes taken up.
+   */
+  public synchronized long getMemoryUsed() {
+    long bytes = 0;
+    for (Image image : images.values()) {
+      bytes += (long) image.getWidth() * (long) image.getHeight() * 4;
+    }
+    return bytes;
+  }
+
+  /**
+   * Drops least recently used themes until the images fit the memory budget.
+   * Images that are still loading are not counted yet.
+   */
+  private void evict() {
+    Iterator<Map.Entry<String, Faces>> oldest = themes.entrySet().iterator();
+    while (themes.size() > 1 && getMemoryUsed() > memoryBudget) {
+      Faces faces = oldest.next().getValue();
+      oldest.remove();
+      images.values().removeAll(faces.images.values());
+    }
+  }
+
+  /**
+   * The front faces of one theme.
+   */
+  private static class Faces {
+
+    final Map<String, Image> images;
+
+    final Map<String, Rectangle2D> viewports;
+
+    Faces(Map<String, Image> images, Map<String, Rectangle2D> viewports) {
+      this.images = images;
+      this.viewports = viewports;
+    }
+  }
+
+}
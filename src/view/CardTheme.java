@@ -1,19 +1,19 @@
 package view;
 
-import com.google.gson.Gson;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonObject;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
-import java.nio.charset.Charset;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
  * Class representing a card theme.
  * 
+ * Images are taken from the shared {@link CardImageCache}, so they load in the
+ * background and are only loaded once however often a theme is selected. For a theme
+ * packed into an atlas, every front face is the atlas image and the card is shown
+ * through its viewport.
+ * 
  * This class has code based upon the following project:
  * Zoltan Dalmadi, "JCardGamesFX", 2015, GitHub repository, github.com/ZoltanDalmadi/JCardGamesFX.
  */
@@ -24,6 +24,12 @@ public class CardTheme {
    */
   private Map<String, Image> frontFaces = new HashMap<>();
 
+  /**
+   * This map holds the part of the front face {@link Image} showing each card,
+   * for themes packed into an atlas.
+   */
+  private Map<String, Rectangle2D> frontViewports = new HashMap<>();
+
   /**
    * This {@link Image} object holds the back face,
    * which is the same for all cards.
@@ -44,7 +50,7 @@ public class CardTheme {
    */
   public CardTheme(String themeFile, String backFacePath) {
     this.themeFile = themeFile;
-    this.backFace = new Image(backFacePath);
+    this.backFace = CardImageCache.getShared().getImage(backFacePath);
     parseTheme();
   }
 
@@ -104,6 +110,17 @@ public class CardTheme {
     return frontFaces.get(key);
   }
 
+  /**
+   * Returns the part of the front face {@link Image} that shows the card
+   * for the specific id.
+   *
+   * @param key The id of the card.
+   * @return The viewport into the front face, or null if the whole image shows the card.
+   */
+  public Rectangle2D getFrontViewport(String key) {
+    return frontViewports.get(key);
+  }
+
   /**
    * Adds an {@link Image} object to the theme with the specified key.
    *
@@ -133,20 +150,13 @@ public class CardTheme {
   }
 
   /**
-   * Parses the json file and creates the {@link Image} objects.
+   * Parses the json file and takes the {@link Image} objects from the cache,
+   * which loads the ones it does not hold yet in the background.
    */
   public void parseTheme() {
-    Gson gson = new Gson();
-
-    BufferedReader br
-        = new BufferedReader(new InputStreamReader(
-        getClass().getResourceAsStream(themeFile), Charset.forName("UTF-8")));
-
-    JsonObject jo = gson.fromJson(br, JsonObject.class);
-
-    for (Map.Entry<String, JsonElement> elem : jo.entrySet()) {
-      frontFaces.put(elem.getKey(), new Image(elem.getValue().getAsString()));
-    }
+    frontFaces.putAll(CardImageCache.getShared().getFrontFaces(themeFile));
+    frontViewports.clear();
+    frontViewports.putAll(CardImageCache.getShared().getFrontViewports(themeFile));
   }
 
 }
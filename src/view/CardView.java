@@ -2,6 +2,7 @@ package view;
 
 import model.card.Card;
 import model.card.GameCard;
+import javafx.geometry.Rectangle2D;
 import javafx.scene.effect.DropShadow;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
@@ -28,6 +29,12 @@ public class CardView extends ImageView {
    */
   private Image frontFace;
 
+  /**
+   * The part of the front face Image that shows this card,
+   * or null to show all of it.
+   */
+  private Rectangle2D frontViewport;
+
   /**
    * Short identifier.
    */
@@ -45,7 +52,13 @@ public class CardView extends ImageView {
   private boolean faceDown;
 
   /**
-   * Drop shadow effect of the card.
+   * Drop shadow of every card that has not been given its own.
+   */
+  private static final DropShadow RESTING_SHADOW = new DropShadow(2, Color.gray(0, 0.75));
+
+  /**
+   * Drop shadow effect of the card, created once the card is first lifted and
+   * shown until it is put down again.
    */
   private DropShadow dropShadow;
 
@@ -72,20 +85,50 @@ public class CardView extends ImageView {
    * @param faceDown Whether the card is facing down.
    */
   public CardView(boolean faceDown) {
-    this.dropShadow = new DropShadow(2, Color.gray(0, 0.75));
     this.faceDown = faceDown;
-    setEffect(dropShadow);
+    setEffect(RESTING_SHADOW);
   }
 
   /**
-   * Returns the {@link DropShadow} object associated with this card.
+   * Returns the {@link DropShadow} object of this card and shows it, so the
+   * card can be lifted without changing the shadow of the others. Cards share
+   * one resting shadow until this is called, and again once they are put down
+   * with {@link #setResting()}.
    *
    * @return The {@link DropShadow} object.
    */
   public DropShadow getDropShadow() {
+    if (dropShadow == null) {
+      dropShadow = new DropShadow(RESTING_SHADOW.getRadius(), RESTING_SHADOW.getColor());
+    }
+    if (getEffect() != dropShadow) {
+      setEffect(dropShadow);
+    }
     return dropShadow;
   }
 
+  /**
+   * Returns whether the card shows its own shadow, i.e. it has been lifted and
+   * not put down yet.
+   *
+   * @return true if the card is lifted, false otherwise.
+   */
+  public boolean isLifted() {
+    return dropShadow != null && getEffect() == dropShadow;
+  }
+
+  /**
+   * Puts the card down, going back to the shared resting shadow.
+   */
+  public void setResting() {
+    if (dropShadow != null) {
+      dropShadow.setRadius(RESTING_SHADOW.getRadius());
+      dropShadow.setOffsetX(0);
+      dropShadow.setOffsetY(0);
+    }
+    setEffect(RESTING_SHADOW);
+  }
+
   /**
    * Returns whether the {@link CardView} is facing down.
    *
@@ -149,7 +192,7 @@ public class CardView extends ImageView {
   public void setBackFace(Image backFace) {
     this.backFace = backFace;
     if (faceDown)
-      setImage(this.backFace);
+      showFace(this.backFace, null);
   }
 
   /**
@@ -167,9 +210,21 @@ public class CardView extends ImageView {
    * @param frontFace The {@link Image} object to be set.
    */
   public void setFrontFace(Image frontFace) {
+    setFrontFace(frontFace, null);
+  }
+
+  /**
+   * Sets the {@link Image} object that holds the front face of this card
+   * and the part of it that shows the card, e.g. from a texture atlas.
+   *
+   * @param frontFace     The {@link Image} object to be set.
+   * @param frontViewport The part of the image to show, or null for all of it.
+   */
+  public void setFrontFace(Image frontFace, Rectangle2D frontViewport) {
     this.frontFace = frontFace;
+    this.frontViewport = frontViewport;
     if (!faceDown)
-      setImage(this.frontFace);
+      showFace(this.frontFace, this.frontViewport);
   }
 
   /**
@@ -178,16 +233,21 @@ public class CardView extends ImageView {
    */
   public void setToFaceUp() {
 	  faceDown = false;
-	  setImage(frontFace);
+	  showFace(frontFace, frontViewport);
   }
   
   public void setToFaceDown() {
     faceDown = true;
-    setImage(backFace);
+    showFace(backFace, null);
+  }
+
+  private void showFace(Image face, Rectangle2D viewport) {
+    setImage(face);
+    setViewport(viewport);
   }
   
   public Card asGameCard() {
-	  return new GameCard(getShortID());
+	  return GameCard.of(getShortID());
   }
 
 }
@@ -43,7 +43,7 @@ public class CardViewFactory {
   public static CardView createCardView(Card card) {
     CardView result = new CardView(card.isFaceDown());
 
-    result.setFrontFace(cardTheme.getFrontFace(card.getId()));
+    result.setFrontFace(cardTheme.getFrontFace(card.getId()), cardTheme.getFrontViewport(card.getId()));
     result.setBackFace(cardTheme.getBackFace());
     result.setShortID(card.getId());
 
@@ -2,11 +2,16 @@ package view;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import javafx.collections.FXCollections;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.effect.GaussianBlur;
@@ -19,8 +24,11 @@ import javafx.scene.layout.BackgroundRepeat;
 import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
+import controller.IGameStateChangeListener;
 import model.IdiotGameStateFacade;
 import model.card.Card;
+import model.move.CardTransfer;
+import model.move.GameStateChange;
 
 /**
  * This class represents the area where the game is taking place.
@@ -29,13 +37,21 @@ import model.card.Card;
  * "JCardGamesFX", 2015, GitHub repository,
  * github.com/ZoltanDalmadi/JCardGamesFX.
  */
-public class GameBoard extends Pane {
+public class GameBoard extends Pane implements IGameStateChangeListener {
+
+	private static final double CARD_WIDTH = 130;
+	private static final double CARD_HEIGHT = 180;
 
 	/**
 	 * The list of {@link CardView} objects that are on the playing area.
 	 */
 	List<CardView> cardViewList = new ArrayList<>();
 
+	/**
+	 * The {@link CardView} objects of {@link #cardViewList} by short ID.
+	 */
+	private Map<String, CardView> cardViewsById = new HashMap<>();
+
 	/**
 	 * List of playerhands per player(index)
 	 */
@@ -57,41 +73,51 @@ public class GameBoard extends Pane {
 	private CardPileView wasteView;
 
 	/**
-	 * Represents string of player 1's name
+	 * Number of players seated at the board, one per hand pile in the layout
 	 */
-	private Label p1_name;
+	private int numberOfPlayers;
 
 	/**
-	 * Represents string of player 2's name
+	 * Player whose cards are active, or 0 while the board is not set up for a player yet
 	 */
-	private Label p2_name;
+	private int activePlayer;
+
+	/**
+	 * Name label per player(index = player number - 1)
+	 */
+	private List<Label> playerNames = new ArrayList<>();
 
 	private Label messageLabel;
 
 	/**
-	 * Ready button for player 1
+	 * Ready button per player(index = player number - 1)
+	 */
+	private List<Button> readyButtons = new ArrayList<>();
+	
+	/**
+	 * Sort button per player(index = player number - 1)
 	 */
-	private Button p1_ready;
+	private List<Button> sortButtons = new ArrayList<>();
 
 	/**
-	 * Ready button for player 2
+	 * All card pile views
 	 */
-	private Button p2_ready;
-	
+	private List<CardPileView> allPileViews;
+
 	/**
-	 * Sort button for player 1
+	 * All card pile views by short ID
 	 */
-	private Button p1_sort;
-	
+	private Map<String, CardPileView> pileViewsById = new HashMap<>();
+
 	/**
-	 * Sort button for player 2
+	 * Drop zones of all card pile views, updated when a pile is restacked
 	 */
-	private Button p2_sort;
+	private PileDropIndex<CardPileView> dropIndex = new PileDropIndex<>(CARD_WIDTH, CARD_HEIGHT);
 
 	/**
-	 * All card pile views
+	 * Changes published by the game engine that are not shown yet
 	 */
-	private List<CardPileView> allPileViews;
+	private List<GameStateChange> pendingChanges = new ArrayList<>();
 
 	/**
 	 * List of cards currently selected
@@ -112,27 +138,30 @@ public class GameBoard extends Pane {
 	 * Constructs a new {@link DeCoupGameBoard} object.
 	 */
 	public GameBoard(ArrayList<CardPileView> piles) {
-		int TOTAL_NUM_OF_PLAYERS = 2;
+		for (CardPileView pileView : piles) {
+			if (pileView.getShortID().toLowerCase().contains("hand")) {
+				numberOfPlayers = Math.max(numberOfPlayers, playerNumberOf(pileView));
+			}
+		}
 		
 		playerHands = new ArrayList<List<CardPileView>>();
 		foundationPiles = new HashMap<Integer, List<CardPileView>>();
 		
-		// feed game rules # of players in
 		playerHands.add(0, new ArrayList<CardPileView>());
-		for (int i = 1; i < TOTAL_NUM_OF_PLAYERS + 1; i++) {
+		for (int i = 1; i < numberOfPlayers + 1; i++) {
 			foundationPiles.put(i, FXCollections.observableArrayList());
 			playerHands.add(i, new ArrayList<CardPileView>());
+			
+			playerNames.add(new Label("Player " + i));
+			
+			Button ready = new Button("Player " + i + " Ready?");
+			ready.setId("default-btn");
+			readyButtons.add(ready);
+			
+			Button sort = new Button("Sort Cards");
+			sort.setId("default-btn");
+			sortButtons.add(sort);
 		}
-		this.p1_ready = new Button("Player 1 Ready?");
-		this.p1_ready.setId("default-btn");
-		this.p2_ready = new Button("Player 2 Ready?");
-		this.p2_ready.setId("default-btn");
-		
-		this.p1_sort = new Button("Sort Cards");
-		this.p1_sort.setId("default-btn");
-		
-		this.p2_sort = new Button("Sort Cards");
-		this.p2_sort.setId("default-btn");
 		
 
 		this.messageLabel = new Label("");
@@ -241,25 +270,13 @@ public class GameBoard extends Pane {
 	 * card pile views.
 	 */
 	private void initGameArea(ArrayList<CardPileView> piles) {
-		this.p1_name = new Label("Player 1");
-		this.p2_name = new Label("Player 2");
-
-		placeLabel(p1_name, 525, 600, 18);
-		placeLabel(p2_name, 525, 75, 18);
-
 		for (CardPileView pileView : piles) {
 			if (pileView.getShortID().toLowerCase().contains("hand")) {
-				playerHands.get(
-						Integer.parseInt(pileView.getShortID().toLowerCase()
-								.substring(1, 2)))
-						.add(pileView);
+				playerHands.get(playerNumberOf(pileView)).add(pileView);
 				buildPile(pileView);
 			} else if (pileView.getShortID().toLowerCase()
 					.contains("foundation")) {
-				foundationPiles.get(
-						Integer.parseInt(pileView.getShortID().toLowerCase()
-								.substring(1, 2)))
-						.add(pileView);
+				foundationPiles.get(playerNumberOf(pileView)).add(pileView);
 				buildPile(pileView);
 			} else if (pileView.getShortID().toLowerCase().contains("deck")) {
 				this.deckView = pileView;
@@ -270,26 +287,30 @@ public class GameBoard extends Pane {
 			}
 
 			allPileViews.add(pileView);
+			pileViewsById.put(pileView.getShortID(), pileView);
+			pileRestacked(pileView);
 		}
 
-		placeButton(p1_ready, 1000, 625);
-		placeButton(p2_ready, 1000, 75);
-		placeButton(p1_sort, 525, 650);
-		
-		placeButton(p2_sort, 525, 125);
-		
-		p1_sort.setOnMouseClicked(e-> {
-			inputManager.sortPile(playerHands.get(1).get(0));
-			e.consume();
-		});
-		
-		p2_sort.setOnMouseClicked(e-> {
-			inputManager.sortPile(playerHands.get(2).get(0));
-			e.consume();
-		});
-		
-		p2_ready.setVisible(false);
-		p2_sort.setVisible(false);
+		// name, sort and ready controls are placed relative to each player's hand
+		for (int i = 1; i < numberOfPlayers + 1; i++) {
+			CardPileView handPileView = playerHands.get(i).get(0);
+			int x = (int) handPileView.getInitialX();
+			int y = (int) handPileView.getInitialY();
+			
+			placeLabel(playerNames.get(i - 1), x - 125, y + 50, 18);
+			placeButton(sortButtons.get(i - 1), x - 125, y + 100);
+			placeButton(readyButtons.get(i - 1), x + 350, y + 75);
+			
+			sortButtons.get(i - 1).setOnMouseClicked(e-> {
+				inputManager.sortPile(handPileView);
+				e.consume();
+			});
+			
+			if (i > 1) {
+				readyButtons.get(i - 1).setVisible(false);
+				sortButtons.get(i - 1).setVisible(false);
+			}
+		}
 
 		placeLabel(messageLabel, 50, 500, 14);
 	}
@@ -306,7 +327,7 @@ public class GameBoard extends Pane {
 
 		GaussianBlur gaussianBlur = new GaussianBlur(10);
 
-		cardPileView.setPrefSize(130, 180);
+		cardPileView.setPrefSize(CARD_WIDTH, CARD_HEIGHT);
 		cardPileView.setBackground(background);
 		cardPileView.setLayoutX(cardPileView.getInitialX());
 		cardPileView.setLayoutY(cardPileView.getInitialY());
@@ -335,6 +356,26 @@ public class GameBoard extends Pane {
 		getChildren().add(button);
 	}
 
+	/**
+	 * @param pileView Player pile view, with a short ID like p1Hand or p2Foundation3
+	 * @return Number of the player owning the pile
+	 */
+	private static int playerNumberOf(CardPileView pileView) {
+		String id = pileView.getShortID();
+		int end = 1;
+		while (end < id.length() && Character.isDigit(id.charAt(end))) {
+			end++;
+		}
+		return Integer.parseInt(id.substring(1, end));
+	}
+
+	/**
+	 * @return Number of players seated at the board
+	 */
+	public int getNumberOfPlayers() {
+		return numberOfPlayers;
+	}
+
 	public CardPileView getPlayerHandView(int playerNumber) {
 		return playerHands.get(playerNumber).get(0);
 	}
@@ -386,6 +427,7 @@ public class GameBoard extends Pane {
 		cardViewList
 				.forEach(cardView -> {
 					cardView.setFrontFace(cardTheme.getFrontFace(cardView
+							.getShortID()), cardTheme.getFrontViewport(cardView
 							.getShortID()));
 					cardView.setBackFace(cardTheme.getBackFace());
 					/* TODO: solve update issue for theme files */
@@ -398,66 +440,88 @@ public class GameBoard extends Pane {
 	 * @return Card view represented by this card view
 	 */
 	CardView getCardViewById(String id) {
-		for (CardView cardView : cardViewList) {
-			if (cardView.getShortID().equals(id)) {
-				return cardView;
-			}
-		}
-		return null;
+		return cardViewsById.get(id);
+	}
+
+	/**
+	 * Adds a card view to the playing area's list of card views
+	 * @param cardView Card view to add
+	 */
+	private void addToCardViewList(CardView cardView) {
+		cardViewList.add(cardView);
+		cardViewsById.put(cardView.getShortID(), cardView);
+	}
+
+	/**
+	 * Updates the drop zone of a pile view to the cards it holds, laid out as
+	 * {@link InputManager#restack(CardPileView)} does. Called whenever a pile is
+	 * restacked or loses cards.
+	 * @param pileView Pile view that changed
+	 */
+	public void pileRestacked(CardPileView pileView) {
+		int cards = pileView.getCards().size();
+		double gapHorizontal = cards > 10 ? pileView.getCardGapHorizontal() / 2 : pileView.getCardGapHorizontal();
+		double gapVertical = cards > 10 ? pileView.getCardGapVertical() / 2 : pileView.getCardGapVertical();
+		double x = pileView.getLayoutX();
+		double y = pileView.getLayoutY();
+		int shown = Math.max(cards, 1);
+
+		dropIndex.update(pileView, x, y, x + CARD_WIDTH + (shown - 1) * gapHorizontal,
+				y + CARD_HEIGHT + (shown - 1) * gapVertical);
 	}
 
 	/**
-	 * Gets nearest pile view to current card view (hypotenuse distance calculation)
+	 * Gets the pile view to drop a card view on: the pile whose cards are under
+	 * the middle of the card view, otherwise the closest one
 	 * @param cardView Card view to check against pile view locations
 	 * @return Nearest pile view
 	 */
 	public CardPileView getNearestPile(CardView cardView) {
-		double cardWidth = cardView.getFitWidth();
-		double cardHeight = cardView.getFitHeight();
-
+		Bounds bounds = cardView.getLayoutBounds();
 		double viewX = cardView.getLayoutX() + cardView.getTranslateX()
-				+ (cardWidth / 2);
+				+ (bounds.getWidth() / 2);
 		double viewY = cardView.getLayoutY() + cardView.getTranslateY()
-				+ (cardHeight / 2);
-		double diffX, diffY;
-		double distance = 0, prevDistance = 0;
-		int closestPileByIndex = 0;
-
-		for (int i = 0; i < allPileViews.size(); i++) {
-			CardPileView currentPile = allPileViews.get(i);
-
-			double cardPileWidth = (currentPile.getCards().size() * cardWidth)
-					+ (currentPile.getCards().size() - 2 * currentPile
-							.getCardGapHorizontal());
-			double cardPileHeight = (currentPile.getCards().size() * cardHeight)
-					+ (currentPile.getCards().size() - 2 * currentPile
-							.getCardGapVertical());
-
-			diffX = viewX - (currentPile.getLayoutX() + cardPileWidth / 2);
-			diffY = viewY - (currentPile.getLayoutY() + cardPileHeight / 2);
-
-			distance = Math.hypot(diffX, diffY);
-			if (i == 0 || distance < prevDistance) {
-				prevDistance = distance;
-				closestPileByIndex = i;
-			}
-		}
+				+ (bounds.getHeight() / 2);
 
-		return allPileViews.get(closestPileByIndex);
+		return dropIndex.nearest(viewX, viewY);
+	}
+
+	/**
+	 * @param cardView Card view being dragged
+	 * @param pileView Pile view to drop on
+	 * @return Whether the card view overlaps the top card of the pile view, or
+	 *         the pile view itself when it is empty
+	 */
+	public boolean isOverPile(CardView cardView, CardPileView pileView) {
+		Bounds bounds = cardView.getLayoutBounds();
+		double x = cardView.getLayoutX() + cardView.getTranslateX();
+		double y = cardView.getLayoutY() + cardView.getTranslateY();
+		Node top = pileView.isEmpty() ? pileView : pileView.getTopCardView();
+
+		return x < top.getLayoutX() + CARD_WIDTH && top.getLayoutX() < x + bounds.getWidth()
+				&& y < top.getLayoutY() + CARD_HEIGHT && top.getLayoutY() < y + bounds.getHeight();
+	}
+
+	/**
+	 * @param playerNumber Player number
+	 * @return Ready button of the player
+	 */
+	public Button getReadyButton(int playerNumber) {
+		return readyButtons.get(playerNumber - 1);
 	}
 
 	/**
 	 * @return P1 Ready Button
 	 */
 	public Button getP1_ReadyButton() {
-		return p1_ready;
+		return getReadyButton(1);
 	}
 
 	/**
 	 * @return P2 Ready Button
 	 */
 	public Button getP2_ReadyButton() {
-		return p2_ready;
+		return getReadyButton(2);
 	}
 
 	/**
@@ -503,7 +567,7 @@ public class GameBoard extends Pane {
 		deckIterator.forEachRemaining(card -> {
 			getDeckView().addCardView(CardViewFactory.createCardView(card));
 			inputManager.restack(getDeckView());
-			cardViewList.add(getDeckView().getTopCardView());
+			addToCardViewList(getDeckView().getTopCardView());
 			getChildren().add(getDeckView().getTopCardView());
 			inputManager.makeClickable(getDeckView().getTopCardView());
 		});
@@ -514,6 +578,7 @@ public class GameBoard extends Pane {
 	 * Called at the start of the game to draw initialized board state
 	 */
 	public void setupGameBoard() {
+		activePlayer = 0;
 		for (int i = 1; i < playerHands.size(); i++) {
 			CardPileView foundationPileView_1 = foundationPiles.get(i).get(0);
 			CardPileView foundationPileView_2 = foundationPiles.get(i).get(1);
@@ -551,6 +616,7 @@ public class GameBoard extends Pane {
 			inputManager.fadeOutAndRemove(cardView);
 		}
 		pile.clearContents();
+		pileRestacked(pile);
 	}
 
 	/**
@@ -565,7 +631,7 @@ public class GameBoard extends Pane {
 					.createCardView(card));
 			inputManager.restack(pile);
 			getChildren().add(pile.getTopCardView());
-			cardViewList.add(pile.getTopCardView());
+			addToCardViewList(pile.getTopCardView());
 			inputManager.slideFromDeck(pile.getTopCardView(), dealDelay);
 
 		}
@@ -622,191 +688,188 @@ public class GameBoard extends Pane {
 	}
 
 	/**
-	 * @param cardPileView Pile view
-	 * @param cards Corresponding model data cards in pile
+	 * @param zoneId Id of a pile in the game state
+	 * @return Pile view showing that pile, or null if it is not shown
 	 */
-	private void checkForAdditions(CardPileView cardPileView, List<Card> cards) {
-		List<CardView> cardViews = cardPileView.getCards();
-
-		for (Card card : cards) {
-			CardView tempView = getCardViewById(card.getId());
-			if (tempView == null) {
-				System.out.println("Could not find " + card.getId());
-			}
-			if (!cardViews.contains(tempView) && tempView != null) {
-				inputManager.slideToPile(tempView,
-						tempView.getContainingPile(), cardPileView, false);
-			}
+	private CardPileView getPileViewForZone(String zoneId) {
+		if (zoneId.equals(currentGameState.GetDrawCardsId())) {
+			return getDeckView();
+		}
+		if (zoneId.equals(currentGameState.GetPileId())) {
+			return getWasteView();
 		}
+		return pileViewsById.get(zoneId);
 	}
 
 	/**
-	 * @param wastePileView Waste pile view
-	 * @param cards Model view representation of Waste pile view
+	 * Queues the cards moved by a move, to be shown by the next
+	 * {@link #updateGameBoard()}.
 	 */
-	private void checkForWasteChanges(CardPileView wastePileView,
-			List<Card> cards) {
-		List<CardView> cardViews = wastePileView.getCards();
-
-		if (!cardViews.isEmpty() && cards.isEmpty()) {
-			removePileViewCards(wastePileView);
-		}
-
+	@Override
+	public void stateChanged(GameStateChange change) {
+		pendingChanges.add(change);
 	}
 
 	/**
-	 * Update game board to reflect any updates to model data.
+	 * Update game board to reflect the moves made since the last update. Only
+	 * card views that moved are touched, and only the piles of players whose
+	 * cards moved are set up again.
 	 */
 	public void updateGameBoard() {
 
-		CardPileView foundationPileView_1;
-		CardPileView foundationPileView_2;
-		CardPileView foundationPileView_3;
-		CardPileView handPileView;
+		// final zone of each card moved since the last update, in order of last move
+		Map<String, String> destinations = new LinkedHashMap<>();
+		for (GameStateChange change : pendingChanges) {
+			for (CardTransfer transfer : change.transfers) {
+				destinations.remove(transfer.card.getId());
+				destinations.put(transfer.card.getId(), transfer.toZone);
+			}
+		}
+		pendingChanges.clear();
 
-		boolean allTableCardsVisible;
+		Set<Integer> changedPlayers = new HashSet<>();
+		boolean wasteChanged = false;
 
-		for (int i = 1; i < playerHands.size(); i++) {
-			allTableCardsVisible = false;
-			foundationPileView_1 = foundationPiles.get(i).get(0);
-			foundationPileView_2 = foundationPiles.get(i).get(1);
-			foundationPileView_3 = foundationPiles.get(i).get(2);
-			handPileView = playerHands.get(i).get(0);
-
-			checkForAdditions(foundationPileView_1, currentGameState
-					.getPlayerPlaces().get(i - 1).getAllTableCards1());
-			checkForAdditions(foundationPileView_2, currentGameState
-					.getPlayerPlaces().get(i - 1).getAllTableCards2());
-			checkForAdditions(foundationPileView_3, currentGameState
-					.getPlayerPlaces().get(i - 1).getAllTableCards3());
-			checkForAdditions(handPileView, currentGameState.getPlayerPlaces()
-					.get(i - 1).getHand().getCards());
-
-			if (foundationPileView_1.getCards().size() <= 1 && foundationPileView_2.getCards().size() <= 1
-					&& foundationPileView_3.getCards().size() <= 1) {
-				allTableCardsVisible = true;
+		for (Map.Entry<String, String> destination : destinations.entrySet()) {
+			CardView cardView = getCardViewById(destination.getKey());
+			if (cardView == null) {
+				continue;
 			}
 
-			setupFoundation(foundationPileView_1, handPileView.getCards()
-					.size(), allTableCardsVisible);
-			setupFoundation(foundationPileView_2, handPileView.getCards()
-					.size(), allTableCardsVisible);
-			setupFoundation(foundationPileView_3, handPileView.getCards()
-					.size(), allTableCardsVisible);
-
-			setupHand(handPileView);
+			CardPileView sourcePileView = cardView.getContainingPile();
+			CardPileView destPileView = getPileViewForZone(destination.getValue());
+			boolean discarded = destination.getValue().equals(currentGameState.GetDiscardedCardsId());
+
+			if (discarded) {
+				sourcePileView.removeCardViewFromPile(cardView);
+				pileRestacked(sourcePileView);
+				inputManager.fadeOutAndRemove(cardView);
+			} else if (destPileView == null) {
+				continue;
+			} else if (destPileView != sourcePileView) {
+				inputManager.slideToPile(cardView, sourcePileView, destPileView, false);
+			}
 
+			for (CardPileView pileView : new CardPileView[] { sourcePileView, destPileView }) {
+				if (pileView == getWasteView()) {
+					wasteChanged = true;
+				} else if (pileView != null && pileView != getDeckView()) {
+					changedPlayers.add(playerNumberOf(pileView));
+				}
+			}
 		}
-		checkForAdditions(getWasteView(), currentGameState.GetPile().getCards());
-		checkForWasteChanges(getWasteView(), currentGameState.GetPile()
-				.getCards());
 
-		setupWaste(getWasteView());
+		for (int playerNumber : changedPlayers) {
+			setupPlayer(playerNumber);
+		}
 
+		if (wasteChanged) {
+			setupWaste(getWasteView());
+		}
 	}
 
 	/**
-	 * Deactivates current player's cards and activates the other player's
-	 * cards. 
+	 * Sets up the hand and foundation pile views of a player
+	 * @param playerNumber Player number
 	 */
-	public void setActivePlayer(int activePlayerNumber) {
-		resetSelection(false);
-		if (activePlayerNumber == 1) {
-			p1_sort.setVisible(true);
-			p2_sort.setVisible(false);
-			for (CardView cardView : playerHands.get(1).get(0)) {
-				inputManager.makeDraggable(cardView);
-				cardView.setToFaceUp();
-			}
+	private void setupPlayer(int playerNumber) {
+		CardPileView foundationPileView_1 = foundationPiles.get(playerNumber).get(0);
+		CardPileView foundationPileView_2 = foundationPiles.get(playerNumber).get(1);
+		CardPileView foundationPileView_3 = foundationPiles.get(playerNumber).get(2);
+		CardPileView handPileView = playerHands.get(playerNumber).get(0);
 
-			for (CardView cardView : playerHands.get(2).get(0)) {
-				inputManager.removeDraggable(cardView);
-				cardView.setToFaceDown();
-			}
+		boolean allTableCardsVisible = foundationPileView_1.getCards().size() <= 1 && foundationPileView_2.getCards().size() <= 1
+				&& foundationPileView_3.getCards().size() <= 1;
 
-			boolean setFoundationCardsUp = false;
-			int count = 0;
-			for (CardPileView pile : foundationPiles.get(1)) {
-				if (pile.getCards().size() <= 1) {
-					count++;
-				}
+		setupFoundation(foundationPileView_1, handPileView.getCards()
+				.size(), allTableCardsVisible);
+		setupFoundation(foundationPileView_2, handPileView.getCards()
+				.size(), allTableCardsVisible);
+		setupFoundation(foundationPileView_3, handPileView.getCards()
+				.size(), allTableCardsVisible);
 
-				if (count == foundationPiles.get(1).size()) {
-					setFoundationCardsUp = true;
-				}
-			}
-			for (CardPileView pile : foundationPiles.get(1)) {
-				if (!pile.getCards().isEmpty()) {
-					if (setFoundationCardsUp) {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
-					}
-				}
-			}
+		setupHand(handPileView);
+	}
 
-			for (CardPileView pile : foundationPiles.get(2)) {
-				if (!pile.getCards().isEmpty()) {
-					if (pile.getCards().size() != 1) {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
-					} else {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceDown();
-					}
+	/**
+	 * Activates the given player's cards and deactivates the cards of the
+	 * player who was active before. The first call after the board is set up
+	 * deactivates every other player.
+	 */
+	public void setActivePlayer(int activePlayerNumber) {
+		resetSelection(false);
+		if (activePlayer == 0) {
+			for (int i = 1; i < numberOfPlayers + 1; i++) {
+				if (i == activePlayerNumber) {
+					activatePlayer(i);
+				} else {
+					deactivatePlayer(i);
 				}
 			}
-
-		} else if (activePlayerNumber == 2) {
-			p1_sort.setVisible(false);
-			p2_sort.setVisible(true);
-			for (CardView cardView : playerHands.get(2).get(0)) {
-				inputManager.makeDraggable(cardView);
-				cardView.setToFaceUp();
-			}
-
-			for (CardView cardView : playerHands.get(1).get(0)) {
-				inputManager.removeDraggable(cardView);
-				cardView.setToFaceDown();
+		} else {
+			// only the previous player's cards can have moved since the last call
+			if (activePlayer != activePlayerNumber) {
+				deactivatePlayer(activePlayer);
 			}
+			activatePlayer(activePlayerNumber);
+		}
+		activePlayer = activePlayerNumber;
+	}
 
-			boolean setFoundationCardsUp = false;
-			int count = 0;
-			for (CardPileView pile : foundationPiles.get(2)) {
-				if (pile.getCards().size() <= 1) {
-					count++;
-				}
+	/**
+	 * Makes the hand of a player draggable and face up. The top table cards are
+	 * turned face up once no table stack holds more than one card.
+	 * @param playerNumber Player number
+	 */
+	private void activatePlayer(int playerNumber) {
+		sortButtons.get(playerNumber - 1).setVisible(true);
+		for (CardView cardView : playerHands.get(playerNumber).get(0)) {
+			inputManager.makeDraggable(cardView);
+			cardView.setToFaceUp();
+		}
 
-				if (count == foundationPiles.get(1).size()) {
-					setFoundationCardsUp = true;
-				}
+		boolean setFoundationCardsUp = true;
+		for (CardPileView pile : foundationPiles.get(playerNumber)) {
+			if (pile.getCards().size() > 1) {
+				setFoundationCardsUp = false;
 			}
-
-			for (CardPileView pile : foundationPiles.get(1)) {
+		}
+		if (setFoundationCardsUp) {
+			for (CardPileView pile : foundationPiles.get(playerNumber)) {
 				if (!pile.getCards().isEmpty()) {
-					if (pile.getCards().size() != 1) {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
-					} else {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceDown();
-					}
+					pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
 				}
 			}
+		}
+	}
 
-			for (CardPileView pile : foundationPiles.get(2)) {
-				if (!pile.getCards().isEmpty()) {
-					if (setFoundationCardsUp) {
-						pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
-					}
+	/**
+	 * Hides the hand of a player and turns a last table card face down.
+	 * @param playerNumber Player number
+	 */
+	private void deactivatePlayer(int playerNumber) {
+		sortButtons.get(playerNumber - 1).setVisible(false);
+		for (CardView cardView : playerHands.get(playerNumber).get(0)) {
+			inputManager.removeDraggable(cardView);
+			cardView.setToFaceDown();
+		}
+
+		for (CardPileView pile : foundationPiles.get(playerNumber)) {
+			if (!pile.getCards().isEmpty()) {
+				if (pile.getCards().size() != 1) {
+					pile.getCards().get(pile.getCards().size() - 1).setToFaceUp();
+				} else {
+					pile.getCards().get(pile.getCards().size() - 1).setToFaceDown();
 				}
 			}
 		}
 	}
 
 	/**
-	 * Changes player turn based on current player info submitted
+	 * Changes player turn to the next player around the table
 	 * @param currentPlayer Current players turn
 	 */
 	public void changePlayerTurn(int currentPlayer) {
-		if (currentPlayer == 1) {
-			setActivePlayer(2);
-		} else {
-			setActivePlayer(1);
-		}
+		setActivePlayer(currentPlayer % numberOfPlayers + 1);
 	}
 }
@@ -1,6 +1,7 @@
 package view;
 
 import javafx.application.Platform;
+import javafx.scene.control.CheckMenuItem;
 import javafx.scene.control.Menu;
 import javafx.scene.control.MenuBar;
 import javafx.scene.control.MenuItem;
@@ -69,42 +70,42 @@ public class GameMenu extends MenuBar {
     RadioMenuItem classicBlueMenuItem = new RadioMenuItem("Classic blue");
     classicBlueMenuItem.setToggleGroup(cardBackToggleGroup);
     classicBlueMenuItem.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/bb.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/bb.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
     RadioMenuItem hearthStoneMenuItem = new RadioMenuItem("Hearthstone");
     hearthStoneMenuItem.setToggleGroup(cardBackToggleGroup);
     hearthStoneMenuItem.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/hearthstone.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/hearthstone.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
     RadioMenuItem piatnikImperialBack1 = new RadioMenuItem("Piatnik Imperial 1");
     piatnikImperialBack1.setToggleGroup(cardBackToggleGroup);
     piatnikImperialBack1.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/piatnik_imperial_1.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/piatnik_imperial_1.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
     RadioMenuItem piatnikImperialBack2 = new RadioMenuItem("Piatnik Imperial 2");
     piatnikImperialBack2.setToggleGroup(cardBackToggleGroup);
     piatnikImperialBack2.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/piatnik_imperial_2.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/piatnik_imperial_2.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
     RadioMenuItem piatnikLuxuryBack1 = new RadioMenuItem("Piatnik Luxury 1");
     piatnikLuxuryBack1.setToggleGroup(cardBackToggleGroup);
     piatnikLuxuryBack1.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/piatnik_luxury_1.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/piatnik_luxury_1.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
     RadioMenuItem piatnikLuxuryBack2 = new RadioMenuItem("Piatnik Luxury 2");
     piatnikLuxuryBack2.setToggleGroup(cardBackToggleGroup);
     piatnikLuxuryBack2.setOnAction(e -> {
-      cardGameApp.cardTheme.setBackFace(new Image("/backfaces/piatnik_luxury_2.png"));
+      cardGameApp.cardTheme.setBackFace(CardImageCache.getShared().getImage("/backfaces/piatnik_luxury_2.png"));
       cardGameApp.gameBoard.updateCardViews(cardGameApp.cardTheme);
     });
 
@@ -137,8 +138,14 @@ public class GameMenu extends MenuBar {
 
     tableToggleGroup.selectToggle(tableToggleGroup.getToggles().get(1));
 
+    // animations
+    CheckMenuItem animateCardsItem = new CheckMenuItem("Animate cards");
+    animateCardsItem.setSelected(true);
+    animateCardsItem.setOnAction(e ->
+        cardGameApp.getMouseUtility().getAnimator().setEnabled(animateCardsItem.isSelected()));
+
     settingsMenu.getItems().addAll(cardThemeSettingsMenu, cardBackSettingsMenu,
-        tableBackgroundsMenu);
+        tableBackgroundsMenu, animateCardsItem);
     
 
   }
@@ -6,21 +6,9 @@ import java.util.List;
 
 import controller.CardGame;
 import controller.IIdiotGameEngine;
-import javafx.animation.FadeTransition;
-import javafx.animation.Interpolator;
-import javafx.animation.KeyFrame;
-import javafx.animation.KeyValue;
-import javafx.animation.ParallelTransition;
-import javafx.animation.PathTransition;
-import javafx.animation.Timeline;
-import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
-import javafx.scene.Node;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.shape.LineTo;
-import javafx.scene.shape.MoveTo;
-import javafx.scene.shape.Path;
 import javafx.util.Duration;
 import model.IdiotGameState;
 import model.IdiotGameState.GamePhases;
@@ -75,6 +63,11 @@ public class InputManager {
 	 */
 	private GameBoard gameBoard;
 
+	/**
+	 * Schedules the card animations of the game board.
+	 */
+	private CardAnimator animator = new CardAnimator();
+
 	/**
 	 * This event handler is attached to cards that are still on the stock. When
 	 * the user clicks on a card, it will be flipped and put on the waste.
@@ -350,6 +343,13 @@ public class InputManager {
 		this.statusBar = statusBar;
 	}
 
+	/**
+	 * @return The {@link CardAnimator} that animates the cards
+	 */
+	public CardAnimator getAnimator() {
+		return animator;
+	}
+
 	/**
 	 * Applies the appropriate event handlers for cards not on the stock.
 	 *
@@ -546,13 +546,7 @@ public class InputManager {
 	 * @return true if the card is over the pile, false otherwise.
 	 */
 	private boolean isOverPile(CardView cardView, CardPileView pileView) {
-		if (pileView.isEmpty()) {
-			return cardView.getBoundsInParent().intersects(
-					pileView.getBoundsInParent());
-		} else {
-			return cardView.getBoundsInParent().intersects(
-					pileView.getTopCardView().getBoundsInParent());
-		}
+		return gameBoard.isOverPile(cardView, pileView);
 	}
 
 	/**
@@ -567,15 +561,7 @@ public class InputManager {
 
 		moveToEnd(card, card.getContainingPile());
 
-		double targetX = card.getLayoutX();
-		double targetY = card.getLayoutY();
-
-		animateCardMovement(card, sourceX, sourceY,
-				targetX, targetY, Duration.millis(400), e -> {
-					card.getDropShadow().setRadius(2);
-					card.getDropShadow().setOffsetX(0);
-					card.getDropShadow().setOffsetY(0);
-				});
+		animateCardMovement(card, sourceX, sourceY, Duration.millis(400), null);
 	}
 
 	/**
@@ -588,22 +574,12 @@ public class InputManager {
 		if (cardToSlide == null)
 			return;
 
-		double targetX, targetY, sourceX, sourceY;
-
-		targetX = cardToSlide.getLayoutX();
-		targetY = cardToSlide.getLayoutY();
+		double sourceX, sourceY;
 
 		sourceX = gameBoard.getDeckView().getLayoutX();
 		sourceY = gameBoard.getDeckView().getLayoutY();
 
-		animateCardMovement(cardToSlide, sourceX, sourceY, targetX,
-				targetY,
-				Duration.millis(ms),
-				e -> {
-					cardToSlide.getDropShadow().setRadius(2);
-					cardToSlide.getDropShadow().setOffsetX(0);
-					cardToSlide.getDropShadow().setOffsetY(0);
-				});
+		animateCardMovement(cardToSlide, sourceX, sourceY, Duration.millis(ms), null);
 	}
 
 	/**
@@ -661,19 +637,9 @@ public class InputManager {
 		targetX = view.getLayoutX();
 		targetY = view.getLayoutY();
 		if (sourceX != targetX && sourceY != targetY) {
-			animateCardMovement(view, sourceX, sourceY, targetX,
-					targetY,
-					Duration.millis(400),
-					e -> {
-						view.getDropShadow().setRadius(2);
-						view.getDropShadow().setOffsetX(0);
-						view.getDropShadow().setOffsetY(0);
-
-					});
+			animateCardMovement(view, sourceX, sourceY, Duration.millis(400), null);
 		} else {
-			view.getDropShadow().setRadius(2);
-			view.getDropShadow().setOffsetX(0);
-			view.getDropShadow().setOffsetY(0);
+			view.setResting();
 		}
 	}
 
@@ -705,22 +671,11 @@ public class InputManager {
 		}
 
 		for (int i = 0; i < cards.size(); i++) {
-			final int tempIndex = i;
-
 			// Only move items that need to be moved
-			if (sourceX[tempIndex] == targetX[tempIndex] && sourceY[tempIndex] == targetY[tempIndex]) {
+			if (sourceX[i] == targetX[i] && sourceY[i] == targetY[i]) {
 				continue;
 			}
-			animateCardMovement(cards.get(tempIndex), sourceX[tempIndex], sourceY[tempIndex], targetX[tempIndex],
-					targetY[tempIndex],
-					Duration.millis(400),
-					e -> {
-						cards.get(tempIndex).getDropShadow().setRadius(2);
-						cards.get(tempIndex).getDropShadow().setOffsetX(0);
-						cards.get(tempIndex).getDropShadow().setOffsetY(0);
-						restack(pile);
-
-					});
+			animateCardMovement(cards.get(i), sourceX[i], sourceY[i], Duration.millis(400), null);
 		}
 
 	}
@@ -750,22 +705,11 @@ public class InputManager {
 		}
 
 		for (int i = 0; i < cards.size(); i++) {
-			final int tempIndex = i;
-
 			// Only move items that need to be moved
-			if (sourceX[tempIndex] == targetX[tempIndex] && sourceY[tempIndex] == targetY[tempIndex]) {
+			if (sourceX[i] == targetX[i] && sourceY[i] == targetY[i]) {
 				continue;
 			}
-			animateCardMovement(cards.get(tempIndex), sourceX[tempIndex], sourceY[tempIndex], targetX[tempIndex],
-					targetY[tempIndex],
-					Duration.millis(400),
-					e -> {
-						cards.get(tempIndex).getDropShadow().setRadius(2);
-						cards.get(tempIndex).getDropShadow().setOffsetX(0);
-						cards.get(tempIndex).getDropShadow().setOffsetY(0);
-						restack(pile);
-
-					});
+			animateCardMovement(cards.get(i), sourceX[i], sourceY[i], Duration.millis(400), null);
 		}
 	}
 
@@ -812,6 +756,7 @@ public class InputManager {
 			cardGapHorizontal *= 2;
 			cardGapVertical *= 2;
 		}
+		gameBoard.pileRestacked(pile);
 	}
 
 	/**
@@ -823,10 +768,7 @@ public class InputManager {
 	public void slideToPosition(CardView cardToSlide, double newX, double newY) {
 		if (cardToSlide == null)
 			return;
-		double targetX, targetY, sourceX, sourceY;
-
-		targetX = newX;
-		targetY = newY;
+		double sourceX, sourceY;
 
 		sourceX = cardToSlide.getLayoutX() + cardToSlide.getTranslateX();
 		sourceY = cardToSlide.getLayoutY() + cardToSlide.getTranslateY();
@@ -834,15 +776,7 @@ public class InputManager {
 		cardToSlide.setLayoutX(newX);
 		cardToSlide.setLayoutY(newY);
 
-		animateCardMovement(cardToSlide, sourceX, sourceY, targetX,
-				targetY,
-				Duration.millis(400),
-				e -> {
-					cardToSlide.getDropShadow().setRadius(2);
-					cardToSlide.getDropShadow().setOffsetX(0);
-					cardToSlide.getDropShadow().setOffsetY(0);
-				});
-
+		animateCardMovement(cardToSlide, sourceX, sourceY, Duration.millis(400), null);
 	}
 
 	/**
@@ -862,9 +796,6 @@ public class InputManager {
 		if (cardToSlide == null)
 			return;
 
-		double targetX;
-		double targetY;
-
 		CardView currentCardView = cardToSlide;
 		double sourceX = currentCardView.getLayoutX() + currentCardView.getTranslateX();
 		double sourceY = currentCardView.getLayoutY() + currentCardView.getTranslateY();
@@ -876,18 +807,8 @@ public class InputManager {
 		}
 
 		restack(destPile);
-		targetX = cardToSlide.getLayoutX();
-		targetY = cardToSlide.getLayoutY();
-
-		animateCardMovement(currentCardView, sourceX, sourceY, targetX,
-				targetY,
-				Duration.millis(300),
-				e -> {
-					currentCardView.getDropShadow().setRadius(2);
-					currentCardView.getDropShadow().setOffsetX(0);
-					currentCardView.getDropShadow().setOffsetY(0);
-
-				});
+
+		animateCardMovement(currentCardView, sourceX, sourceY, Duration.millis(300), null);
 	}
 	
 	/**
@@ -895,25 +816,14 @@ public class InputManager {
 	 * @param view card view to remove
 	 */
 	public void fadeOutAndRemove(CardView view) {
-		final FadeTransition fadeout = new FadeTransition(new Duration(400));
-		fadeout.setNode(view);
-		fadeout.setToValue(0.0);
-		fadeout.setOnFinished(e -> {
-			gameBoard.getChildren().remove(view);
-		});
-
-		Timeline timeline = new Timeline(
-
-				new KeyFrame(
-						new Duration(400),
-						e -> {
-							fadeout.play();
-						}));
-		timeline.play();
+		animator.fadeOut(view, new Duration(400), new Duration(400),
+				() -> gameBoard.getChildren().remove(view));
 	}
 
 	/**
-	 * Animates card movements.
+	 * Animates card movements. The card view has to be laid out at its
+	 * destination already; moves of the same frame are run together by the
+	 * {@link CardAnimator}.
 	 *
 	 * @param card
 	 *            The card view to animate.
@@ -921,87 +831,16 @@ public class InputManager {
 	 *            Source X coordinate of the card view.
 	 * @param sourceY
 	 *            Source Y coordinate of the card view.
-	 * @param targetX
-	 *            Destination X coordinate of the card view.
-	 * @param targetY
-	 *            Destination Y coordinate of the card view.
 	 * @param duration
 	 *            The duration of the animation.
 	 * @param doAfter
-	 *            The action to perform after the animation has been completed.
+	 *            The action to perform after the animation has been completed,
+	 *            or null.
 	 */
 	private void animateCardMovement(
 			CardView card, double sourceX, double sourceY,
-			double targetX, double targetY, Duration duration,
-			EventHandler<ActionEvent> doAfter) {
-
-		Path path = new Path();
-		path.getElements().add(new MoveToAbs(card, sourceX, sourceY));
-		path.getElements().add(new LineToAbs(card, targetX, targetY));
-
-		PathTransition pathTransition = new PathTransition(duration, path, card);
-		pathTransition.setInterpolator(Interpolator.EASE_OUT);
-		pathTransition.setOnFinished(doAfter);
-
-		Timeline blurReset = new Timeline();
-		KeyValue bx = new KeyValue(card.getDropShadow().offsetXProperty(), 0,
-				Interpolator.EASE_OUT);
-		KeyValue by = new KeyValue(card.getDropShadow().offsetYProperty(), 0,
-				Interpolator.EASE_OUT);
-		KeyValue br = new KeyValue(card.getDropShadow().radiusProperty(), 2,
-				Interpolator.EASE_OUT);
-		KeyFrame bKeyFrame = new KeyFrame(duration, bx, by, br);
-		blurReset.getKeyFrames().add(bKeyFrame);
-
-		ParallelTransition pt = new ParallelTransition(card, pathTransition,
-				blurReset);
-		pt.play();
-	}
-
-	/**
-	 * Helper class for calculating card positions.
-	 */
-	private static class MoveToAbs extends MoveTo {
-		/**
-		 * Creates a new instance.
-		 *
-		 * @param node
-		 *            The {@link Node} object to calculate position for.
-		 * @param x
-		 *            The x coordinate.
-		 * @param y
-		 *            The y coordinate.
-		 */
-		public MoveToAbs(Node node, double x, double y) {
-			super(
-					x - node.getLayoutX() + node.getLayoutBounds().getWidth()
-							/ 2,
-					y - node.getLayoutY() + node.getLayoutBounds().getHeight()
-							/ 2);
-		}
-	}
-
-	/**
-	 * Helper class for calculating card positions.
-	 */
-	private static class LineToAbs extends LineTo {
-		/**
-		 * Creates a new instance.
-		 *
-		 * @param node
-		 *            The {@link Node} object to calculate position for.
-		 * @param x
-		 *            The x coordinate.
-		 * @param y
-		 *            The y coordinate.
-		 */
-		public LineToAbs(Node node, double x, double y) {
-			super(
-					x - node.getLayoutX() + node.getLayoutBounds().getWidth()
-							/ 2,
-					y - node.getLayoutY() + node.getLayoutBounds().getHeight()
-							/ 2);
-		}
+			Duration duration, Runnable doAfter) {
+		animator.slide(card, sourceX, sourceY, duration, doAfter);
 	}
 
 	/**
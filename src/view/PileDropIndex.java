@@ -0,0 +1,192 @@
+package view;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Uniform grid over the drop zones of the piles on a board, for finding the pile a
+ * card is dropped on without measuring every pile. A zone is entered in every grid
+ * cell it overlaps and only changes when its pile is restacked. Cells are hashed by
+ * their coordinates, so any layout size works, and with cells about the size of a
+ * card a lookup only reads the few zones around the point.
+ *
+ * @param <P> type of the piles
+ */
+public class PileDropIndex<P> {
+
+	private final double cellWidth;
+	private final double cellHeight;
+
+	/**
+	 * Zones overlapping each cell, by cell key
+	 */
+	private final Map<Long, List<Zone<P>>> cells = new HashMap<>();
+
+	private final Map<P, Zone<P>> zones = new HashMap<>();
+
+	/**
+	 * Order the piles were first indexed in, which settles ties
+	 */
+	private final Map<P, Integer> order = new HashMap<>();
+
+	/**
+	 * Range of cells holding any zone, which bounds a nearest pile search
+	 */
+	private int minCellX = Integer.MAX_VALUE, minCellY = Integer.MAX_VALUE;
+	private int maxCellX = Integer.MIN_VALUE, maxCellY = Integer.MIN_VALUE;
+
+	/**
+	 * @param cellWidth Width of a grid cell, e.g. the width of a card
+	 * @param cellHeight Height of a grid cell, e.g. the height of a card
+	 */
+	public PileDropIndex(double cellWidth, double cellHeight) {
+		this.cellWidth = cellWidth;
+		this.cellHeight = cellHeight;
+	}
+
+	/**
+	 * Sets the drop zone of a pile, replacing the one it had.
+	 *
+	 * @param pile Pile
+	 * @param minX Left edge of the zone
+	 * @param minY Top edge of the zone
+	 * @param maxX Right edge of the zone
+	 * @param maxY Bottom edge of the zone
+	 */
+	public void update(P pile, double minX, double minY, double maxX, double maxY) {
+		Zone<P> zone = zones.get(pile);
+		if (zone != null) {
+			if (zone.minX == minX && zone.minY == minY && zone.maxX == maxX && zone.maxY == maxY) {
+				return;
+			}
+			remove(pile);
+		}
+
+		zone = new Zone<>(pile, order.computeIfAbsent(pile, p -> order.size()), minX, minY, maxX, maxY);
+		zones.put(pile, zone);
+		for (int cellX = cellX(minX); cellX <= cellX(maxX); cellX++) {
+			for (int cellY = cellY(minY); cellY <= cellY(maxY); cellY++) {
+				cells.computeIfAbsent(key(cellX, cellY), k -> new ArrayList<>(2)).add(zone);
+			}
+		}
+		minCellX = Math.min(minCellX, cellX(minX));
+		minCellY = Math.min(minCellY, cellY(minY));
+		maxCellX = Math.max(maxCellX, cellX(maxX));
+		maxCellY = Math.max(maxCellY, cellY(maxY));
+	}
+
+	/**
+	 * @param pile Pile to take out of the index
+	 */
+	public void remove(P pile) {
+		Zone<P> zone = zones.remove(pile);
+		if (zone == null) {
+			return;
+		}
+		for (int cellX = cellX(zone.minX); cellX <= cellX(zone.maxX); cellX++) {
+			for (int cellY = cellY(zone.minY); cellY <= cellY(zone.maxY); cellY++) {
+				List<Zone<P>> cell = cells.get(key(cellX, cellY));
+				cell.remove(zone);
+				if (cell.isEmpty()) {
+					cells.remove(key(cellX, cellY));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Finds the pile to drop on at a point: a pile whose zone holds the point,
+	 * otherwise the pile with the zone closest to it. Of overlapping zones, the one
+	 * of the pile indexed first wins.
+	 *
+	 * @param x X coordinate
+	 * @param y Y coordinate
+	 * @return Nearest pile, or null if the index is empty
+	 */
+	public P nearest(double x, double y) {
+		if (zones.isEmpty()) {
+			return null;
+		}
+		int centerX = cellX(x);
+		int centerY = cellY(y);
+		int maxRing = Math.max(Math.max(centerX - minCellX, maxCellX - centerX), Math.max(centerY - minCellY, maxCellY - centerY));
+
+		Zone<P> best = null;
+		for (int ring = 0; ring <= maxRing; ring++) {
+			// zones in this ring or beyond are at least this far away
+			double ringDistance = (ring - 1) * Math.min(cellWidth, cellHeight);
+			if (best != null && best.distanceTo(x, y) < ringDistance) {
+				break;
+			}
+			for (int cellX = centerX - ring; cellX <= centerX + ring; cellX++) {
+				best = closest(best, cellX, centerY - ring, x, y);
+				if (ring > 0) {
+					best = closest(best, cellX, centerY + ring, x, y);
+				}
+			}
+			for (int cellY = centerY - ring + 1; cellY < centerY + ring; cellY++) {
+				best = closest(best, centerX - ring, cellY, x, y);
+				best = closest(best, centerX + ring, cellY, x, y);
+			}
+		}
+		return best.pile;
+	}
+
+	/**
+	 * @return The closest to the point of the best zone so far and the zones in the cell
+	 */
+	private Zone<P> closest(Zone<P> best, int cellX, int cellY, double x, double y) {
+		List<Zone<P>> cell = cells.get(key(cellX, cellY));
+		if (cell == null) {
+			return best;
+		}
+		double bestDistance = best == null ? Double.MAX_VALUE : best.distanceTo(x, y);
+		for (Zone<P> zone : cell) {
+			double distance = zone.distanceTo(x, y);
+			if (distance < bestDistance || distance == bestDistance && zone.order < best.order) {
+				best = zone;
+				bestDistance = distance;
+			}
+		}
+		return best;
+	}
+
+	private int cellX(double x) {
+		return (int) Math.floor(x / cellWidth);
+	}
+
+	private int cellY(double y) {
+		return (int) Math.floor(y / cellHeight);
+	}
+
+	private static long key(int cellX, int cellY) {
+		return (long) cellX << 32 | (cellY & 0xFFFFFFFFL);
+	}
+
+	private static class Zone<P> {
+
+		final P pile;
+		final int order;
+		final double minX, minY, maxX, maxY;
+
+		Zone(P pile, int order, double minX, double minY, double maxX, double maxY) {
+			this.pile = pile;
+			this.order = order;
+			this.minX = minX;
+			this.minY = minY;
+			this.maxX = maxX;
+			this.maxY = maxY;
+		}
+
+		/**
+		 * @return Distance from the point to the zone, 0 inside it
+		 */
+		double distanceTo(double x, double y) {
+			double dx = Math.max(Math.max(minX - x, 0), x - maxX);
+			double dy = Math.max(Math.max(minY - y, 0), y - maxY);
+			return Math.hypot(dx, dy);
+		}
+	}
+}